@@ -0,0 +1,269 @@
+package com.nsbm.group03.kitchenManagementService.client;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Circuit breaker with a bulkhead for calls to another service.
+ *
+ * CLOSED: calls go through and the outcome of the last window-size calls is kept.
+ * Once at least minimum-calls are recorded and failure-rate-threshold percent of them
+ * failed, the breaker OPENs and every call goes straight to its fallback. After
+ * open-duration the next call is let through as a HALF_OPEN probe: success closes the
+ * breaker, failure opens it again. Only the probe's own outcome does that; a call let
+ * through while CLOSED that finishes later is counted but does not move the breaker.
+ * The bulkhead caps concurrent calls at
+ * max-concurrent; a call that cannot get a slot within max-wait goes to its fallback.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    // What acquirePermission handed out: nothing, an ordinary call, or the half-open probe
+    private enum Permit {
+        REFUSED, CALL, PROBE
+    }
+
+    /**
+     * Passed to the fallback when the breaker is open or a probe is already running.
+     */
+    public static class CallNotPermittedException extends RuntimeException {
+        public CallNotPermittedException(String name) {
+            super("Circuit breaker '" + name + "' is open");
+        }
+    }
+
+    /**
+     * Passed to the fallback when the bulkhead has no free slot.
+     */
+    public static class BulkheadFullException extends RuntimeException {
+        public BulkheadFullException(String name, int maxConcurrent) {
+            super("Bulkhead '" + name + "' is full (" + maxConcurrent + " concurrent calls)");
+        }
+    }
+
+    private final String name;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long openNanos;
+    private final int maxConcurrent;
+    private final long maxWaitNanos;
+    private final Predicate<RuntimeException> recordFailure;
+    private final Semaphore bulkhead;
+
+    // ring of the last window-size outcomes, true = failed
+    private final boolean[] window;
+    private int windowNext;
+    private int windowCalls;
+    private int windowFailures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private boolean probeRunning;
+
+    private final AtomicLong successful = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong notPermitted = new AtomicLong();
+    private final AtomicLong bulkheadFull = new AtomicLong();
+
+    public CircuitBreaker(String name, int windowSize, int minimumCalls, int failureRateThreshold,
+                          Duration openDuration, int maxConcurrent, Duration maxWait,
+                          Predicate<RuntimeException> recordFailure) {
+        this.name = name;
+        this.window = new boolean[Math.max(1, windowSize)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, window.length));
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.recordFailure = recordFailure;
+        this.bulkhead = new Semaphore(this.maxConcurrent, true);
+    }
+
+    /**
+     * Run the call if the breaker and the bulkhead allow it. Any exception from the
+     * call, or a refusal, is handed to the fallback; only exceptions matching
+     * recordFailure count against the breaker. An Error is rethrown and counts as a failure.
+     */
+    public <T> T execute(Supplier<T> call, Function<RuntimeException, T> fallback) {
+        if (!acquireBulkhead()) {
+            bulkheadFull.incrementAndGet();
+            return fallback.apply(new BulkheadFullException(name, maxConcurrent));
+        }
+        try {
+            Permit permit = acquirePermission();
+            if (permit == Permit.REFUSED) {
+                notPermitted.incrementAndGet();
+                return fallback.apply(new CallNotPermittedException(name));
+            }
+            boolean probe = permit == Permit.PROBE;
+            boolean recorded = false;
+            try {
+                T result = call.get();
+                onComplete(false, probe);
+                recorded = true;
+                return result;
+            } catch (RuntimeException e) {
+                onComplete(recordFailure.test(e), probe);
+                recorded = true;
+                return fallback.apply(e);
+            } finally {
+                // an Error is not handed to the fallback, but still counts as a failure so a
+                // half-open probe is released instead of blocking every later call
+                if (!recorded) onComplete(true, probe);
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    // True when a call would be let through now, without taking a slot
+    public synchronized boolean isCallPermitted() {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> System.nanoTime() - openedAt >= openNanos;
+            case HALF_OPEN -> !probeRunning;
+        };
+    }
+
+    public synchronized State getState() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    // Close the breaker and forget recorded outcomes
+    public synchronized void reset() {
+        toClosed();
+    }
+
+    public long getSuccessfulCalls() {
+        return successful.get();
+    }
+
+    public long getFailedCalls() {
+        return failed.get();
+    }
+
+    public long getNotPermittedCalls() {
+        return notPermitted.get();
+    }
+
+    public long getBulkheadFullCalls() {
+        return bulkheadFull.get();
+    }
+
+    private boolean acquireBulkhead() {
+        if (maxWaitNanos <= 0) {
+            return bulkhead.tryAcquire();
+        }
+        try {
+            return bulkhead.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private synchronized Permit acquirePermission() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < openNanos) {
+                return Permit.REFUSED;
+            }
+            state = State.HALF_OPEN;
+        }
+        if (state == State.HALF_OPEN) {
+            // one probe at a time; everyone else fails fast until it answers
+            if (probeRunning) {
+                return Permit.REFUSED;
+            }
+            probeRunning = true;
+            return Permit.PROBE;
+        }
+        return Permit.CALL;
+    }
+
+    private synchronized void onComplete(boolean failure, boolean probe) {
+        (failure ? failed : successful).incrementAndGet();
+        if (probe) {
+            // still HALF_OPEN unless reset() ran meanwhile, which has already decided
+            if (state == State.HALF_OPEN) {
+                if (failure) {
+                    toOpen();
+                } else {
+                    toClosed();
+                }
+            }
+            return;
+        }
+        if (state != State.CLOSED) {
+            // a call that started before the breaker opened; only the probe decides from here
+            return;
+        }
+
+        if (windowCalls == window.length) {
+            if (window[windowNext]) windowFailures--;
+        } else {
+            windowCalls++;
+        }
+        window[windowNext] = failure;
+        if (failure) windowFailures++;
+        windowNext = (windowNext + 1) % window.length;
+
+        if (windowCalls >= minimumCalls && windowFailures * 100 >= failureRateThreshold * windowCalls) {
+            toOpen();
+        }
+    }
+
+    private void toOpen() {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+        probeRunning = false;
+    }
+
+    private void toClosed() {
+        state = State.CLOSED;
+        probeRunning = false;
+        windowNext = 0;
+        windowCalls = 0;
+        windowFailures = 0;
+    }
+
+    /**
+     * Breaker state as one gauge per state (1 for the current one) and call outcomes
+     * as counters, all tagged with the breaker's name.
+     */
+    public void bindTo(MeterRegistry registry, String prefix) {
+        for (State s : State.values()) {
+            Gauge.builder(prefix + ".circuit.state", this, cb -> cb.getState() == s ? 1 : 0)
+                    .description("1 for the circuit breaker's current state")
+                    .tag("name", name)
+                    .tag("state", s.name().toLowerCase())
+                    .register(registry);
+        }
+        FunctionCounter.builder(prefix + ".calls", successful, AtomicLong::get)
+                .description("Calls by outcome").tag("name", name).tag("outcome", "successful").register(registry);
+        FunctionCounter.builder(prefix + ".calls", failed, AtomicLong::get)
+                .description("Calls by outcome").tag("name", name).tag("outcome", "failed").register(registry);
+        FunctionCounter.builder(prefix + ".calls", notPermitted, AtomicLong::get)
+                .description("Calls by outcome").tag("name", name).tag("outcome", "not_permitted").register(registry);
+        FunctionCounter.builder(prefix + ".calls", bulkheadFull, AtomicLong::get)
+                .description("Calls by outcome").tag("name", name).tag("outcome", "bulkhead_full").register(registry);
+        Gauge.builder(prefix + ".bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .description("Free bulkhead slots")
+                .tag("name", name)
+                .register(registry);
+    }
+}
@@ -1,95 +1,357 @@
 package com.nsbm.group03.kitchenManagementService.client;
 
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import com.nsbm.group03.kitchenManagementService.dto.InventoryItemDTO;
 import com.nsbm.group03.kitchenManagementService.dto.InventoryRequestDTO;
+import com.nsbm.group03.kitchenManagementService.entity.PendingInventoryDeduction;
+import com.nsbm.group03.kitchenManagementService.repository.PendingInventoryDeductionRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 
 /**
  * REST client to communicate with the Inventory Management Service.
  * Kitchen does NOT store inventory — it sends requests to Inventory Service.
+ *
+ * Every call goes through a circuit breaker and bulkhead, so when the Inventory
+ * Service is down or slow, orders fail over to a fallback at once instead of each
+ * waiting out a timeout:
+ * - checkStock answers from the last stock levels read from the Inventory Service
+ * - deductInventory saves the deduction to inventory_deduction_queue, replayed later
+ * - item lookups answer from the same stock cache
+ *
+ * Deductions are delivered at least once. A deduction that timed out waiting for the
+ * response may already have been applied by the Inventory Service, which has no
+ * idempotency key to recognise the replay; such timeouts are counted separately as
+ * inventory.client.deduction.ambiguous so they can be reconciled by hand.
  */
 @Component
-public class InventoryClient {
+public class InventoryClient implements MeterBinder {
 
     private static final Logger logger = LoggerFactory.getLogger(InventoryClient.class);
 
+    private record CachedItem(InventoryItemDTO item, long loadedAt) {
+    }
+
+    private enum Outcome {
+        SENT, REJECTED, FAILED
+    }
+
     private final RestTemplate restTemplate;
+    private final PendingInventoryDeductionRepository deductionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CircuitBreaker circuitBreaker;
+    private final long stockCacheTtlNanos;
+    private final int replayBatchSize;
 
     @Value("${inventory.service.url}")
     private String inventoryServiceUrl;
 
-    public InventoryClient(RestTemplate restTemplate) {
+    // last known stock by item id, filled by every successful read
+    private final Map<Long, CachedItem> stock = new ConcurrentHashMap<>();
+    private final AtomicLong queuedDeductions = new AtomicLong();
+    private final AtomicLong ambiguousDeductions = new AtomicLong();
+
+    public InventoryClient(RestTemplate restTemplate,
+                           PendingInventoryDeductionRepository deductionRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${inventory.client.circuit-breaker.window-size:20}") int windowSize,
+                           @Value("${inventory.client.circuit-breaker.minimum-calls:10}") int minimumCalls,
+                           @Value("${inventory.client.circuit-breaker.failure-rate-threshold:50}") int failureRateThreshold,
+                           @Value("${inventory.client.circuit-breaker.open-duration:30s}") Duration openDuration,
+                           @Value("${inventory.client.bulkhead.max-concurrent:10}") int maxConcurrent,
+                           @Value("${inventory.client.bulkhead.max-wait:0ms}") Duration maxWait,
+                           @Value("${inventory.client.stock-cache.ttl:15m}") Duration stockCacheTtl,
+                           @Value("${inventory.client.deduction-queue.batch-size:100}") int replayBatchSize) {
         this.restTemplate = restTemplate;
+        this.deductionRepository = deductionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // 4xx means the Inventory Service is up and answered; only I/O errors and 5xx trip the breaker
+        this.circuitBreaker = new CircuitBreaker("inventory", windowSize, minimumCalls, failureRateThreshold,
+                openDuration, maxConcurrent, maxWait, e -> !(e instanceof HttpClientErrorException));
+        this.stockCacheTtlNanos = stockCacheTtl.toNanos();
+        this.replayBatchSize = Math.max(1, replayBatchSize);
     }
 
     /**
      * Send inventory consumption request when a kitchen order is created.
-     * Deducts ingredient quantities from the Inventory Service.
+     * Deducts ingredient quantities from the Inventory Service. If the Inventory
+     * Service cannot take it now, the deduction is queued in the caller's transaction
+     * as one batch and replayed later; returns false in that case.
      */
     public boolean deductInventory(List<InventoryRequestDTO> items) {
-        try {
-            String url = inventoryServiceUrl + "/api/inventory/deduct";
-            restTemplate.postForEntity(url, items, Void.class);
+        return circuitBreaker.execute(() -> {
+            postDeduction(items);
             logger.info("Inventory deduction request sent successfully for {} items", items.size());
             return true;
-        } catch (RestClientException e) {
-            logger.warn("Failed to connect to Inventory Service: {}. Order will proceed without inventory deduction.", e.getMessage());
+        }, e -> {
+            if (e instanceof HttpClientErrorException) {
+                logger.warn("Inventory Service rejected deduction of {} items: {}", items.size(), e.getMessage());
+                return false;
+            }
+            String batchId = UUID.randomUUID().toString();
+            countIfAmbiguous(e, batchId);
+            List<PendingInventoryDeduction> rows = new ArrayList<>(items.size());
+            for (InventoryRequestDTO item : items) {
+                rows.add(new PendingInventoryDeduction(batchId, item.getItemName(), item.getQuantity()));
+            }
+            deductionRepository.saveAll(rows);
+            queuedDeductions.addAndGet(rows.size());
+            logger.warn("Inventory Service unavailable ({}). Queued deduction of {} items for retry.",
+                    e.getMessage(), items.size());
             return false;
-        }
+        });
     }
 
     /**
      * Get all inventory items from Inventory Service.
      */
     public List<InventoryItemDTO> getAllInventoryItems() {
-        try {
+        return circuitBreaker.execute(() -> {
             String url = inventoryServiceUrl + "/api/inventory";
             InventoryItemDTO[] items = restTemplate.getForObject(url, InventoryItemDTO[].class);
             if (items != null) {
                 logger.info("Retrieved {} inventory items from Inventory Service", items.length);
+                long now = System.nanoTime();
+                Map<Long, CachedItem> loaded = new HashMap<>();
+                for (InventoryItemDTO item : items) {
+                    if (item.getId() != null) loaded.put(item.getId(), new CachedItem(item, now));
+                }
+                stock.putAll(loaded);
+                stock.keySet().retainAll(loaded.keySet());
                 return Arrays.asList(items);
             }
-            return Collections.emptyList();
-        } catch (RestClientException e) {
-            logger.warn("Failed to fetch inventory items: {}", e.getMessage());
-            return Collections.emptyList();
-        }
+            return Collections.<InventoryItemDTO>emptyList();
+        }, e -> {
+            logger.warn("Failed to fetch inventory items: {}. Returning {} cached items.", e.getMessage(), stock.size());
+            List<InventoryItemDTO> cached = new ArrayList<>(stock.size());
+            for (CachedItem entry : stock.values()) {
+                cached.add(entry.item());
+            }
+            return cached;
+        });
     }
 
     /**
      * Get a specific inventory item by ID from Inventory Service.
      */
     public InventoryItemDTO getInventoryItemById(Long itemId) {
-        try {
-            String url = inventoryServiceUrl + "/api/inventory/" + itemId;
-            return restTemplate.getForObject(url, InventoryItemDTO.class);
-        } catch (RestClientException e) {
-            logger.warn("Failed to fetch inventory item {}: {}", itemId, e.getMessage());
-            return null;
-        }
+        return circuitBreaker.execute(() -> {
+            String url = inventoryServiceUrl + "/api/inventory/{itemId}";
+            InventoryItemDTO item = restTemplate.getForObject(url, InventoryItemDTO.class, itemId);
+            if (item != null && item.getId() != null) {
+                stock.put(item.getId(), new CachedItem(item, System.nanoTime()));
+            }
+            return item;
+        }, e -> {
+            if (e instanceof HttpClientErrorException) {
+                logger.warn("Failed to fetch inventory item {}: {}", itemId, e.getMessage());
+                return null;
+            }
+            CachedItem cached = stock.get(itemId);
+            logger.warn("Failed to fetch inventory item {}: {}. Cached copy {}.", itemId, e.getMessage(),
+                    cached == null ? "not available" : "used");
+            return cached == null ? null : cached.item();
+        });
     }
 
     /**
-     * Check if a specific inventory item has enough stock.
+     * Check if a specific inventory item has enough stock. Falls back to the cached
+     * stock level while the Inventory Service is unavailable, and allows the order
+     * when the item's stock is not known.
      */
     public boolean checkStock(String itemName, int requiredQuantity) {
-        try {
-            String url = inventoryServiceUrl + "/api/inventory/check-stock?itemName=" + itemName + "&quantity=" + requiredQuantity;
-            Boolean result = restTemplate.getForObject(url, Boolean.class);
+        return circuitBreaker.execute(() -> {
+            String url = inventoryServiceUrl + "/api/inventory/check-stock?itemName={itemName}&quantity={quantity}";
+            Boolean result = restTemplate.getForObject(url, Boolean.class, itemName, requiredQuantity);
             return result != null && result;
-        } catch (RestClientException e) {
-            logger.warn("Failed to check inventory stock for {}: {}", itemName, e.getMessage());
-            return true; // Allow order to proceed if inventory service is unreachable
+        }, e -> {
+            InventoryItemDTO cached = cachedByName(itemName);
+            if (cached == null) {
+                logger.warn("Failed to check inventory stock for {}: {}. No cached stock, allowing.", itemName, e.getMessage());
+                return true; // Allow order to proceed if inventory service is unreachable
+            }
+            logger.warn("Failed to check inventory stock for {}: {}. Using cached stock of {}.",
+                    itemName, e.getMessage(), cached.getQuantity());
+            return cached.getQuantity() >= requiredQuantity;
+        });
+    }
+
+    // Keeps the stock cache warm for checkStock's fallback
+    @Scheduled(fixedDelayString = "${inventory.client.stock-cache.refresh-interval-ms:60000}")
+    public void refreshStockCache() {
+        if (circuitBreaker.isCallPermitted()) {
+            getAllInventoryItems();
+        }
+    }
+
+    /**
+     * Replay queued deductions, oldest first, reading deduction-queue.batch-size rows at a
+     * time. Each page is locked, sent and deleted in one transaction, so two instances never
+     * send the same rows. Stops at the first deduction that cannot be sent.
+     */
+    @Scheduled(fixedDelayString = "${inventory.client.deduction-queue.poll-interval-ms:5000}")
+    public void replayQueuedDeductions() {
+        try {
+            while (circuitBreaker.isCallPermitted()) {
+                Boolean more = transactionTemplate.execute(status -> replayPage());
+                if (more == null || !more) break;
+            }
+            queuedDeductions.set(deductionRepository.count());
+        } catch (RuntimeException e) {
+            logger.warn("Failed to replay queued inventory deductions: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Send the oldest page of queued rows as one POST per batch (one original
+     * deductInventory call), so rows of different orders are never merged. When the page is
+     * full its last batch may continue on the next page; it is left for the next round
+     * unless it is the only one. Returns true when more rows may be waiting.
+     */
+    private boolean replayPage() {
+        List<PendingInventoryDeduction> rows =
+                deductionRepository.findAllByOrderByIdAsc(PageRequest.of(0, replayBatchSize));
+        if (rows.isEmpty()) return false;
+        LinkedHashMap<String, List<PendingInventoryDeduction>> batches = new LinkedHashMap<>();
+        for (PendingInventoryDeduction row : rows) {
+            String key = row.getBatchId() != null ? row.getBatchId() : "row-" + row.getId();
+            batches.computeIfAbsent(key, k -> new ArrayList<>()).add(row);
         }
+        boolean full = rows.size() == replayBatchSize;
+        if (full && batches.size() > 1) {
+            batches.pollLastEntry();
+        }
+
+        for (Map.Entry<String, List<PendingInventoryDeduction>> batch : batches.entrySet()) {
+            List<PendingInventoryDeduction> done = replayBatch(batch.getKey(), batch.getValue());
+            deductionRepository.deleteAllInBatch(done);
+            if (done.size() < batch.getValue().size()) return false;
+        }
+        return full;
+    }
+
+    /**
+     * Send one batch and return its rows that are finished with: all of them once sent.
+     * A batch rejected with 4xx is sent again row by row, so one unknown item does not
+     * drop the rest of the order; only rows rejected on their own are dropped. This relies
+     * on a rejected deduction applying nothing. Stops at the first row that cannot be sent.
+     */
+    private List<PendingInventoryDeduction> replayBatch(String batchId, List<PendingInventoryDeduction> rows) {
+        Outcome outcome = send(batchId, rows);
+        if (outcome == Outcome.SENT) {
+            logger.info("Replayed queued inventory deduction {} of {} items", batchId, rows.size());
+            return rows;
+        }
+        if (outcome == Outcome.FAILED) return List.of();
+        if (rows.size() == 1) {
+            logger.warn("Inventory Service rejected queued deduction of {} in {}, dropping it",
+                    rows.get(0).getItemName(), batchId);
+            return rows;
+        }
+
+        List<PendingInventoryDeduction> done = new ArrayList<>(rows.size());
+        for (PendingInventoryDeduction row : rows) {
+            Outcome single = send(batchId, List.of(row));
+            if (single == Outcome.FAILED) break;
+            if (single == Outcome.REJECTED) {
+                logger.warn("Inventory Service rejected queued deduction of {} in {}, dropping it",
+                        row.getItemName(), batchId);
+            }
+            done.add(row);
+        }
+        return done;
+    }
+
+    private Outcome send(String batchId, List<PendingInventoryDeduction> rows) {
+        List<InventoryRequestDTO> items = new ArrayList<>(rows.size());
+        for (PendingInventoryDeduction row : rows) {
+            items.add(new InventoryRequestDTO(row.getItemName(), row.getQuantity()));
+        }
+        return circuitBreaker.execute(() -> {
+            postDeduction(items);
+            return Outcome.SENT;
+        }, e -> {
+            if (e instanceof HttpClientErrorException) return Outcome.REJECTED;
+            countIfAmbiguous(e, batchId);
+            return Outcome.FAILED;
+        });
+    }
+
+    /**
+     * A response timeout means the request reached the Inventory Service, which may have
+     * applied it; queuing or keeping the rows then risks deducting them twice.
+     */
+    private void countIfAmbiguous(RuntimeException e, String batchId) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SocketTimeoutException) {
+                ambiguousDeductions.incrementAndGet();
+                logger.warn("Inventory deduction {} timed out after it was sent and may already be applied", batchId);
+                return;
+            }
+        }
+    }
+
+    private void postDeduction(List<InventoryRequestDTO> items) throws RestClientException {
+        String url = inventoryServiceUrl + "/api/inventory/deduct";
+        restTemplate.postForEntity(url, items, Void.class);
+    }
+
+    private InventoryItemDTO cachedByName(String itemName) {
+        long now = System.nanoTime();
+        for (CachedItem entry : stock.values()) {
+            if (entry.item().getName() != null && entry.item().getName().equalsIgnoreCase(itemName)) {
+                return now - entry.loadedAt() <= stockCacheTtlNanos ? entry.item() : null;
+            }
+        }
+        return null;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public long getAmbiguousDeductions() {
+        return ambiguousDeductions.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        circuitBreaker.bindTo(registry, "inventory.client");
+        Gauge.builder("inventory.client.deduction.queue", queuedDeductions, AtomicLong::get)
+                .description("Ingredient deductions waiting to be replayed to the Inventory Service")
+                .register(registry);
+        FunctionCounter.builder("inventory.client.deduction.ambiguous", ambiguousDeductions, AtomicLong::get)
+                .description("Deductions that timed out after being sent and may have been applied as well as retried")
+                .register(registry);
+        Gauge.builder("inventory.client.stock.cached", stock, Map::size)
+                .description("Inventory items in the stock cache used when the Inventory Service is unavailable")
+                .register(registry);
     }
 }
@@ -1,17 +1,116 @@
 package com.nsbm.group03.kitchenManagementService.config;
 
+import java.time.Duration;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.micrometer.observation.ObservationRegistry;
+
 @Configuration
 public class AppConfig {
 
+    private final int maxTotal;
+    private final int maxPerRoute;
+    private final Duration connectTimeout;
+    private final Duration readTimeout;
+    private final Duration responseTimeout;
+    private final Duration poolTimeout;
+    private final Duration keepAlive;
+    private final Duration idleTimeout;
+
+    public AppConfig(@Value("${http-client.max-total:50}") int maxTotal,
+            @Value("${http-client.max-per-route:20}") int maxPerRoute,
+            @Value("${http-client.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${http-client.read-timeout:5s}") Duration readTimeout,
+            @Value("${http-client.response-timeout:5s}") Duration responseTimeout,
+            @Value("${http-client.pool-timeout:1s}") Duration poolTimeout,
+            @Value("${http-client.keep-alive:30s}") Duration keepAlive,
+            @Value("${http-client.idle-timeout:60s}") Duration idleTimeout) {
+        this.maxTotal = Math.max(1, maxTotal);
+        this.maxPerRoute = Math.max(1, Math.min(maxPerRoute, this.maxTotal));
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+        this.responseTimeout = responseTimeout;
+        this.poolTimeout = poolTimeout;
+        this.keepAlive = keepAlive;
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * Bounded connection pool for calls to the Inventory Service. Connections are kept
+     * alive between calls; LIFO reuse keeps the busiest ones warm and lets the rest
+     * go idle and be evicted.
+     */
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager httpConnectionManager() {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setConnPoolPolicy(PoolReusePolicy.LIFO)
+                .setPoolConcurrencyPolicy(PoolConcurrencyPolicy.STRICT)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+    }
+
+    /**
+     * Every call fails after connect-timeout, after response-timeout without data from
+     * the server, or after pool-timeout waiting for a free connection, so a slow
+     * Inventory Service cannot pin the request threads.
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager httpConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(httpConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(poolTimeout))
+                        .setResponseTimeout(Timeout.of(responseTimeout))
+                        .setConnectionKeepAlive(TimeValue.of(keepAlive))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleTimeout))
+                .build();
+    }
+
+    /**
+     * Pool usage as httpcomponents.httpclient.pool.* metrics.
+     */
+    @Bean
+    public MeterBinder httpClientPoolMetrics(PoolingHttpClientConnectionManager httpConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(httpConnectionManager, "kitchen");
+    }
+
+    /**
+     * Latency of each call is recorded as http.client.requests, tagged with the URI template.
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(CloseableHttpClient httpClient,
+            ObjectProvider<ObservationRegistry> observationRegistry) {
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+        observationRegistry.ifAvailable(restTemplate::setObservationRegistry);
+        return restTemplate;
     }
 
     @Bean
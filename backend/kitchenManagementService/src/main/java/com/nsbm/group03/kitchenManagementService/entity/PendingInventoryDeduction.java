@@ -0,0 +1,95 @@
+package com.nsbm.group03.kitchenManagementService.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+
+/**
+ * An ingredient deduction the Inventory Service could not take when the order was
+ * created. Saved in the order's transaction and replayed by InventoryClient once
+ * the Inventory Service answers again. Rows queued by the same deductInventory call
+ * share a batchId and are replayed together, never merged with another order's rows.
+ */
+@Entity
+@Table(name = "inventory_deduction_queue")
+public class PendingInventoryDeduction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // null for rows queued before batches were recorded; each such row is replayed on its own
+    @Column(length = 36)
+    private String batchId;
+
+    @Column(nullable = false)
+    private String itemName;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    private LocalDateTime createdAt;
+
+    // ── Lifecycle callbacks ──
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // ── Constructors ──
+    public PendingInventoryDeduction() {
+    }
+
+    public PendingInventoryDeduction(String batchId, String itemName, int quantity) {
+        this.batchId = batchId;
+        this.itemName = itemName;
+        this.quantity = quantity;
+    }
+
+    // ── Getters and Setters ──
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getBatchId() {
+        return batchId;
+    }
+
+    public void setBatchId(String batchId) {
+        this.batchId = batchId;
+    }
+
+    public String getItemName() {
+        return itemName;
+    }
+
+    public void setItemName(String itemName) {
+        this.itemName = itemName;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
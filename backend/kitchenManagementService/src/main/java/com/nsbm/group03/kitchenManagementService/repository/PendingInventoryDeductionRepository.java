@@ -0,0 +1,23 @@
+package com.nsbm.group03.kitchenManagementService.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import com.nsbm.group03.kitchenManagementService.entity.PendingInventoryDeduction;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface PendingInventoryDeductionRepository extends JpaRepository<PendingInventoryDeduction, Long> {
+
+    // ── Oldest queued deductions, locked; rows another instance is replaying are skipped ──
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    List<PendingInventoryDeduction> findAllByOrderByIdAsc(Pageable pageable);
+}
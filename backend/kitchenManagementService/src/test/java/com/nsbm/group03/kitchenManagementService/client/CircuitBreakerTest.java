@@ -0,0 +1,64 @@
+package com.nsbm.group03.kitchenManagementService.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Breaker state transitions that need calls to overlap, driven without a server.
+ */
+class CircuitBreakerTest {
+
+    private final CircuitBreaker breaker = new CircuitBreaker("test", 4, 2, 50, Duration.ofMillis(50), 10,
+            Duration.ZERO, e -> true);
+
+    @Test
+    void lateCallFromBeforeTheBreakerOpenedDoesNotDecideTheProbe() throws Exception {
+        CountDownLatch lateStarted = new CountDownLatch(1);
+        CountDownLatch releaseLate = new CountDownLatch(1);
+        CompletableFuture<String> late = CompletableFuture.supplyAsync(() ->
+                breaker.execute(blockingCall("late", lateStarted, releaseLate), e -> "fallback"));
+        lateStarted.await(5, TimeUnit.SECONDS);
+
+        for (int i = 0; i < 2; i++) {
+            breaker.execute(() -> { throw new IllegalStateException("down"); }, e -> "fallback");
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        Thread.sleep(60);
+
+        CountDownLatch probeStarted = new CountDownLatch(1);
+        CountDownLatch releaseProbe = new CountDownLatch(1);
+        CompletableFuture<String> probe = CompletableFuture.supplyAsync(() ->
+                breaker.execute(blockingCall("probe", probeStarted, releaseProbe), e -> "fallback"));
+        probeStarted.await(5, TimeUnit.SECONDS);
+
+        // the call from the CLOSED period succeeds while the probe is still out
+        releaseLate.countDown();
+        assertEquals("late", late.get(5, TimeUnit.SECONDS));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertEquals("refused", breaker.execute(() -> "second probe",
+                e -> e instanceof CircuitBreaker.CallNotPermittedException ? "refused" : "other"));
+
+        releaseProbe.countDown();
+        assertEquals("probe", probe.get(5, TimeUnit.SECONDS));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    private static Supplier<String> blockingCall(String result, CountDownLatch started, CountDownLatch release) {
+        return () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return result;
+        };
+    }
+}
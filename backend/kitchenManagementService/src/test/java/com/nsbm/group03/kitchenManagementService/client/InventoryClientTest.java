@@ -0,0 +1,275 @@
+package com.nsbm.group03.kitchenManagementService.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.nsbm.group03.kitchenManagementService.dto.InventoryRequestDTO;
+import com.nsbm.group03.kitchenManagementService.repository.PendingInventoryDeductionRepository;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Runs InventoryClient against a stub Inventory Service that can be made slow or failing.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:inventoryclient;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "http-client.response-timeout=1s",
+        "inventory.client.circuit-breaker.window-size=4",
+        "inventory.client.circuit-breaker.minimum-calls=2",
+        "inventory.client.circuit-breaker.open-duration=500ms",
+        "inventory.client.bulkhead.max-concurrent=2",
+        "inventory.client.stock-cache.refresh-interval-ms=3600000",
+        "inventory.client.deduction-queue.poll-interval-ms=100"})
+class InventoryClientTest {
+
+    private static final AtomicBoolean failing = new AtomicBoolean();
+    private static final AtomicLong delayMillis = new AtomicLong();
+    private static final AtomicInteger requests = new AtomicInteger();
+    private static final AtomicInteger inFlight = new AtomicInteger();
+    private static final AtomicInteger maxInFlight = new AtomicInteger();
+    // deductions naming this item are answered 400
+    private static final AtomicReference<String> rejectedItem = new AtomicReference<>();
+    private static final List<String> deductions = new CopyOnWriteArrayList<>();
+    private static final HttpServer inventoryService = startStub();
+
+    @DynamicPropertySource
+    static void inventoryServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("inventory.service.url", () -> "http://localhost:" + inventoryService.getAddress().getPort());
+    }
+
+    @Autowired
+    private InventoryClient inventoryClient;
+
+    @Autowired
+    private PendingInventoryDeductionRepository deductionRepository;
+
+    @BeforeEach
+    void reset() {
+        failing.set(false);
+        delayMillis.set(0);
+        maxInFlight.set(0);
+        rejectedItem.set(null);
+        deductions.clear();
+        deductionRepository.deleteAll();
+        inventoryClient.getCircuitBreaker().reset();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        inventoryService.stop(0);
+    }
+
+    @Test
+    void openBreakerFailsFastUntilAProbeSucceeds() throws Exception {
+        CircuitBreaker breaker = inventoryClient.getCircuitBreaker();
+        failing.set(true);
+        inventoryClient.checkStock("Saffron", 1);
+        inventoryClient.checkStock("Saffron", 1);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        int sent = requests.get();
+        long started = System.nanoTime();
+        assertTrue(inventoryClient.checkStock("Saffron", 1));
+        long millis = (System.nanoTime() - started) / 1_000_000;
+        // the fallback did not reach the stub, and did not wait out the 1 s response timeout
+        assertEquals(sent, requests.get());
+        assertTrue(millis < 1000, "open breaker took " + millis + " ms to fall back");
+
+        failing.set(false);
+        Thread.sleep(600);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(inventoryClient.checkStock("Saffron", 1));
+        assertEquals(sent + 1, requests.get());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void checkStockFallsBackToCachedStock() {
+        assertEquals(1, inventoryClient.getAllInventoryItems().size());
+
+        failing.set(true);
+        assertFalse(inventoryClient.checkStock("Flour", 10));
+        assertTrue(inventoryClient.checkStock("flour", 3));
+    }
+
+    @Test
+    void failedDeductionIsQueuedAndReplayed() throws Exception {
+        failing.set(true);
+        assertFalse(inventoryClient.deductInventory(List.of(new InventoryRequestDTO("Flour", 2))));
+        assertEquals(1, deductionRepository.count());
+
+        failing.set(false);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while ((deductionRepository.count() > 0 || deductions.isEmpty()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(0, deductionRepository.count());
+        assertEquals(1, deductions.size());
+        assertTrue(deductions.get(0).contains("Flour"));
+    }
+
+    @Test
+    void queuedOrdersAreReplayedSeparately() throws Exception {
+        failing.set(true);
+        inventoryClient.deductInventory(List.of(new InventoryRequestDTO("Flour", 2), new InventoryRequestDTO("Sugar", 1)));
+        inventoryClient.deductInventory(List.of(new InventoryRequestDTO("Rice", 4)));
+        assertEquals(3, deductionRepository.count());
+
+        failing.set(false);
+        awaitEmptyQueue(2);
+        assertEquals(2, deductions.size());
+        assertTrue(deductions.get(0).contains("Flour") && deductions.get(0).contains("Sugar"));
+        assertFalse(deductions.get(0).contains("Rice"));
+        assertTrue(deductions.get(1).contains("Rice"));
+    }
+
+    @Test
+    void rejectedBatchIsRetriedRowByRow() throws Exception {
+        failing.set(true);
+        inventoryClient.deductInventory(List.of(new InventoryRequestDTO("Flour", 2), new InventoryRequestDTO("Unobtainium", 1)));
+
+        rejectedItem.set("Unobtainium");
+        failing.set(false);
+        awaitEmptyQueue(1);
+        assertEquals(1, deductions.size());
+        assertTrue(deductions.get(0).contains("Flour"));
+        assertFalse(deductions.get(0).contains("Unobtainium"));
+    }
+
+    @Test
+    void responseTimeoutIsCountedAsAmbiguous() {
+        // a 503 is a clear answer that nothing was applied
+        long before = inventoryClient.getAmbiguousDeductions();
+        failing.set(true);
+        assertFalse(inventoryClient.deductInventory(List.of(new InventoryRequestDTO("Flour", 2))));
+        assertEquals(before, inventoryClient.getAmbiguousDeductions());
+
+        inventoryClient.getCircuitBreaker().reset();
+        failing.set(false);
+        delayMillis.set(1500);
+        assertFalse(inventoryClient.deductInventory(List.of(new InventoryRequestDTO("Flour", 2))));
+        delayMillis.set(0);
+        assertTrue(inventoryClient.getAmbiguousDeductions() > before);
+    }
+
+    @Test
+    void bulkheadCapsConcurrentCalls() throws Exception {
+        delayMillis.set(300);
+        ExecutorService callers = Executors.newFixedThreadPool(5);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(5);
+        for (int i = 0; i < 5; i++) {
+            callers.execute(() -> {
+                try {
+                    start.await();
+                    inventoryClient.getInventoryItemById(1L);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        callers.shutdown();
+
+        assertTrue(maxInFlight.get() <= 2, maxInFlight.get() + " concurrent calls with a bulkhead of 2");
+        assertTrue(inventoryClient.getCircuitBreaker().getBulkheadFullCalls() >= 1);
+        assertEquals(CircuitBreaker.State.CLOSED, inventoryClient.getCircuitBreaker().getState());
+    }
+
+    private void awaitEmptyQueue(int expectedDeductions) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while ((deductionRepository.count() > 0 || deductions.size() < expectedDeductions)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(0, deductionRepository.count());
+    }
+
+    // Answers like the Inventory Service: list, item by id, check-stock and deduct; 503 while failing
+    private static HttpServer startStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.createContext("/api/inventory", exchange -> {
+                requests.incrementAndGet();
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(delayMillis.get());
+                    if (failing.get()) {
+                        exchange.sendResponseHeaders(503, -1);
+                        exchange.close();
+                        return;
+                    }
+                    String path = exchange.getRequestURI().getPath();
+                    String item = "{\"id\":1,\"name\":\"Flour\",\"category\":\"Dry\",\"quantity\":5,\"lowStock\":2}";
+                    if (path.equals("/api/inventory/deduct")) {
+                        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+                        String rejected = rejectedItem.get();
+                        if (rejected != null && body.contains(rejected)) {
+                            exchange.sendResponseHeaders(400, -1);
+                            exchange.close();
+                            return;
+                        }
+                        deductions.add(body);
+                        respond(exchange, "");
+                    } else if (path.equals("/api/inventory/check-stock")) {
+                        respond(exchange, "true");
+                    } else if (path.equals("/api/inventory/1")) {
+                        respond(exchange, item);
+                    } else {
+                        respond(exchange, "[" + item + "]");
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start inventory service stub", e);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
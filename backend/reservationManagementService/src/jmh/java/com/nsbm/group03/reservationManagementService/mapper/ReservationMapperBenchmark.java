@@ -0,0 +1,128 @@
+package com.nsbm.group03.reservationManagementService.mapper;
+
+import com.nsbm.group03.reservationManagementService.dto.GuestDTO;
+import com.nsbm.group03.reservationManagementService.dto.ReservationDTO;
+import com.nsbm.group03.reservationManagementService.entity.Guest;
+import com.nsbm.group03.reservationManagementService.entity.Reservation;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.TypeToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the list endpoints' mapping: ModelMapper with a TypeToken (the previous
+ * reflective path) against GuestMapper / ReservationMapper.
+ *
+ * map*       entity list → DTO list only
+ * serialize* mapping plus Jackson writing to a discarding stream, as the endpoints do
+ *
+ * Reservations are spread over rows / 10 guests, as in a real booking table.
+ * Run with: mvn -Pjmh test-compile exec:exec (the GC profiler reports allocation rate and bytes per op)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReservationMapperBenchmark {
+
+    private static final Type GUEST_LIST = new TypeToken<List<GuestDTO>>() {
+    }.getType();
+    private static final Type RESERVATION_LIST = new TypeToken<List<ReservationDTO>>() {
+    }.getType();
+
+    @Param({"1000", "10000"})
+    private int rows;
+
+    private List<Guest> guests;
+    private List<Reservation> reservations;
+    private ModelMapper modelMapper;
+    private ObjectMapper json;
+
+    @Setup
+    public void setUp() {
+        guests = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            guests.add(new Guest((long) i + 1, "First" + i, "Last" + i, "07" + (10_000_000 + i),
+                    (900_000_000L + i) + "V", "guest" + i + "@example.com"));
+        }
+        String[] statuses = {"PENDING", "CONFIRMED", "CHECKED-IN", "CHECKED-OUT", "CANCELLED"};
+        LocalDate start = LocalDate.of(2026, 1, 1);
+        LocalDateTime createdAt = start.atTime(10, 15);
+        reservations = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            LocalDate checkIn = start.plusDays(i % 365);
+            reservations.add(new Reservation((long) i + 1, guests.get(i % Math.max(1, rows / 10)),
+                    String.valueOf(101 + i % 30), checkIn, checkIn.plusDays(1 + i % 5), 5000.0 + i % 7000,
+                    i % 3 == 0 ? "Late arrival" : null, statuses[i % statuses.length], createdAt.plusMinutes(i)));
+        }
+        modelMapper = new ModelMapper();
+        json = JsonMapper.builder().build();
+    }
+
+    // ---------- mapping only ----------
+
+    @Benchmark
+    public List<GuestDTO> mapGuestsReflective() {
+        return modelMapper.map(guests, GUEST_LIST);
+    }
+
+    @Benchmark
+    public List<GuestDTO> mapGuests() {
+        return GuestMapper.toDTOList(guests);
+    }
+
+    @Benchmark
+    public List<ReservationDTO> mapReservationsReflective() {
+        return modelMapper.map(reservations, RESERVATION_LIST);
+    }
+
+    @Benchmark
+    public List<ReservationDTO> mapReservations() {
+        return ReservationMapper.toDTOList(reservations);
+    }
+
+    // ---------- mapping + serialization ----------
+
+    @Benchmark
+    public void serializeReservationsReflective() {
+        List<ReservationDTO> dtos = modelMapper.map(reservations, RESERVATION_LIST);
+        json.writeValue(OutputStream.nullOutputStream(), dtos);
+    }
+
+    @Benchmark
+    public void serializeReservations() {
+        json.writeValue(OutputStream.nullOutputStream(), ReservationMapper.toDTOList(reservations));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ReservationMapperBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
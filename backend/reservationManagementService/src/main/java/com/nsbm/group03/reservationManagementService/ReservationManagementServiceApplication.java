@@ -2,9 +2,11 @@ package com.nsbm.group03.reservationManagementService;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 
 @SpringBootApplication
+@EnableScheduling
 public class ReservationManagementServiceApplication {
 
 	public static void main(String[] args) {
@@ -1,15 +1,110 @@
 package com.nsbm.group03.reservationManagementService.config;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
+/**
+ * The RestTemplate used for calls to other services. Connections come from a bounded
+ * pool and are kept alive between calls. Every call is bounded by connect-timeout,
+ * by response-timeout while waiting for each part of the response (HttpClient applies
+ * it in place of read-timeout, the socket timeout, during an exchange) and by
+ * pool-timeout while waiting for a free connection, so a slow downstream fails its
+ * callers instead of holding request threads.
+ *
+ * Pool usage is published as httpcomponents.httpclient.pool.* and the latency of each
+ * call as http.client.requests, tagged with the URI template.
+ */
 @Configuration
 public class RestTemplateConfig {
 
+    private final int maxTotal;
+    private final int maxPerRoute;
+    private final Duration connectTimeout;
+    private final Duration readTimeout;
+    private final Duration responseTimeout;
+    private final Duration poolTimeout;
+    private final Duration keepAlive;
+    private final Duration idleTimeout;
+
+    public RestTemplateConfig(@Value("${http-client.max-total:50}") int maxTotal,
+            @Value("${http-client.max-per-route:20}") int maxPerRoute,
+            @Value("${http-client.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${http-client.read-timeout:5s}") Duration readTimeout,
+            @Value("${http-client.response-timeout:5s}") Duration responseTimeout,
+            @Value("${http-client.pool-timeout:1s}") Duration poolTimeout,
+            @Value("${http-client.keep-alive:30s}") Duration keepAlive,
+            @Value("${http-client.idle-timeout:60s}") Duration idleTimeout) {
+        this.maxTotal = Math.max(1, maxTotal);
+        this.maxPerRoute = Math.max(1, Math.min(maxPerRoute, this.maxTotal));
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+        this.responseTimeout = responseTimeout;
+        this.poolTimeout = poolTimeout;
+        this.keepAlive = keepAlive;
+        this.idleTimeout = idleTimeout;
+    }
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager httpConnectionManager() {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                // LIFO keeps the busiest connections warm and lets the rest go idle and be evicted
+                .setConnPoolPolicy(PoolReusePolicy.LIFO)
+                .setPoolConcurrencyPolicy(PoolConcurrencyPolicy.STRICT)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        // a connection idle this long is checked before reuse, in case the server closed it
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager httpConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(httpConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(poolTimeout))
+                        .setResponseTimeout(Timeout.of(responseTimeout))
+                        // used when the server does not send a Keep-Alive header
+                        .setConnectionKeepAlive(TimeValue.of(keepAlive))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleTimeout))
+                .build();
+    }
+
+    @Bean
+    public MeterBinder httpClientPoolMetrics(PoolingHttpClientConnectionManager httpConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(httpConnectionManager, "reservation");
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate(new HttpComponentsClientHttpRequestFactory());
+    public RestTemplate restTemplate(CloseableHttpClient httpClient,
+            ObjectProvider<ObservationRegistry> observationRegistry) {
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+        observationRegistry.ifAvailable(restTemplate::setObservationRegistry);
+        return restTemplate;
     }
-}
\ No newline at end of file
+}
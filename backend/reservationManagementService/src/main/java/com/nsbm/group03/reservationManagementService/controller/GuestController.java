@@ -13,6 +13,8 @@ import java.util.List;
 
 public class GuestController {
 
+    private static final int MAX_SEARCH_LIMIT = 100;
+
     @Autowired
     private GuestService guestService;
 
@@ -39,6 +41,13 @@ public class GuestController {
         return guestService.findGuestById(id);
     }
 
+    // front desk search box: ranked matches on name, phone number, NIC or email
+    @GetMapping("/search")
+    public List<GuestDTO> searchGuests(@RequestParam String q,
+                                       @RequestParam(defaultValue = "20") int limit) {
+        return guestService.searchGuests(q, Math.min(Math.max(1, limit), MAX_SEARCH_LIMIT));
+    }
+
     @GetMapping("/findGuestByNic/{nic}")
     public GuestDTO findGuestByNic(@PathVariable String nic) {
         return guestService.findGuestByNic(nic);
@@ -0,0 +1,73 @@
+package com.nsbm.group03.reservationManagementService.controller;
+
+import com.nsbm.group03.reservationManagementService.dto.EmailOutboxDTO;
+import com.nsbm.group03.reservationManagementService.entity.EmailOutboxMessage;
+import com.nsbm.group03.reservationManagementService.entity.OutboxStatus;
+import com.nsbm.group03.reservationManagementService.mapper.EmailOutboxMapper;
+import com.nsbm.group03.reservationManagementService.repository.EmailOutboxRepository;
+import com.nsbm.group03.reservationManagementService.service.EmailDispatcher;
+import com.nsbm.group03.reservationManagementService.service.EmailOutbox;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Inspect and replay queued confirmation emails
+@RestController
+@RequestMapping("/api/admin/outbox/emails")
+@CrossOrigin(origins = "*")
+public class OutboxAdminController {
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private EmailOutbox emailOutbox;
+
+    @Autowired
+    private EmailDispatcher emailDispatcher;
+
+    // Newest first, optionally only one status (PENDING, SENT, DEAD)
+    @GetMapping
+    public List<EmailOutboxDTO> list(@RequestParam(required = false) OutboxStatus status,
+                                     @RequestParam(defaultValue = "0") int page,
+                                     @RequestParam(defaultValue = "50") int size) {
+        PageRequest pageRequest = PageRequest.of(Math.max(0, page), Math.min(Math.max(1, size), MAX_PAGE_SIZE));
+        List<EmailOutboxMessage> messages = status == null
+                ? outboxRepository.findAllByOrderByCreatedAtDesc(pageRequest)
+                : outboxRepository.findByStatusOrderByCreatedAtDesc(status, pageRequest);
+        return EmailOutboxMapper.toDTOList(messages);
+    }
+
+    @GetMapping("/reservation/{reservationId}")
+    public List<EmailOutboxDTO> byReservation(@PathVariable Long reservationId) {
+        return EmailOutboxMapper.toDTOList(outboxRepository.findByReservationIdOrderByCreatedAtDesc(reservationId));
+    }
+
+    // Message counts per status plus what the workers currently hold
+    @GetMapping("/stats")
+    public Map<String, Long> stats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        for (OutboxStatus status : OutboxStatus.values()) {
+            stats.put(status.name(), outboxRepository.countByStatus(status));
+        }
+        stats.put("IN_FLIGHT", (long) emailDispatcher.getQueueDepth());
+        return stats;
+    }
+
+    @PostMapping("/{id}/replay")
+    public EmailOutboxDTO replay(@PathVariable Long id) {
+        return EmailOutboxMapper.toDTO(emailOutbox.replay(id));
+    }
+
+    // Replay every DEAD message; returns how many were queued again
+    @PostMapping("/replay-dead")
+    public int replayDead() {
+        return emailOutbox.replayDead();
+    }
+}
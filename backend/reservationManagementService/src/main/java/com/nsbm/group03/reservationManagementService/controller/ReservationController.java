@@ -1,30 +1,98 @@
 package com.nsbm.group03.reservationManagementService.controller;
 
+import com.nsbm.group03.reservationManagementService.dto.CalendarNightDTO;
 import com.nsbm.group03.reservationManagementService.dto.ReservationDTO;
+import com.nsbm.group03.reservationManagementService.dto.ReservationPageDTO;
+import com.nsbm.group03.reservationManagementService.dto.ReservationSearchDTO;
+import com.nsbm.group03.reservationManagementService.service.IdempotencyStore;
+import com.nsbm.group03.reservationManagementService.service.OccupancyCalendar;
 import com.nsbm.group03.reservationManagementService.service.ReservationService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/reservations")
 @CrossOrigin(origins = "*")
 public class ReservationController {
 
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
     @Autowired
     private ReservationService reservationService;
 
+    @Autowired
+    private OccupancyCalendar occupancyCalendar;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    // With an Idempotency-Key a retried request returns the first response instead of booking again
     @PostMapping
-    public ReservationDTO saveReservation(@RequestBody ReservationDTO dto) {
-        return reservationService.saveReservation(dto);
+    public ReservationDTO saveReservation(@RequestBody ReservationDTO dto,
+                                          @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                          HttpServletResponse response) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return reservationService.saveReservation(dto);
+        }
+        if (idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be at most " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+        IdempotencyStore.Outcome outcome = idempotencyStore.execute(idempotencyKey, dto,
+                () -> reservationService.saveReservation(dto, idempotencyKey));
+        if (outcome.replayed()) {
+            response.setHeader("Idempotent-Replayed", "true");
+        }
+        return outcome.reservation();
     }
 
+    // Every reservation ever made; opt-in with ?all=true, use /search for anything paged or filtered
     @GetMapping
-    public List<ReservationDTO> getAll() {
+    public List<ReservationDTO> getAll(@RequestParam(defaultValue = "false") boolean all) {
+        if (!all) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "The full list must be requested with all=true; use /api/reservations/search for paged results");
+        }
         return reservationService.getAllReservations();
     }
 
+    // Filters: status (repeatable), roomId, guestId, checkInFrom/To, checkOutFrom/To (yyyy-MM-dd, inclusive)
+    @GetMapping("/search")
+    public ReservationPageDTO search(@ModelAttribute ReservationSearchDTO filter,
+                                     @RequestParam(required = false) String cursor,
+                                     @RequestParam(defaultValue = "50") int size) {
+        return reservationService.searchReservations(filter, cursor, Math.min(Math.max(1, size), MAX_PAGE_SIZE));
+    }
+
+    @GetMapping("/search/count")
+    public long count(@ModelAttribute ReservationSearchDTO filter) {
+        return reservationService.countReservations(filter);
+    }
+
+    // Booked rooms per night (yyyy-MM-dd, inclusive); defaults to the next 90 nights, rooms=true lists them
+    @GetMapping("/calendar")
+    public List<CalendarNightDTO> calendar(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean rooms) {
+        LocalDate start = from != null ? from : LocalDate.now();
+        return occupancyCalendar.getCalendar(start, to != null ? to : start.plusDays(89), rooms);
+    }
+
+    // Correct the calendar against the reservation table in place; returns the reservations corrected
+    @PostMapping("/calendar/reconcile")
+    public int reconcileCalendar() {
+        return occupancyCalendar.reconcile();
+    }
+
     @GetMapping("/guest/{guestId}")
     public List<ReservationDTO> getByGuest(@PathVariable Long guestId) {
         return reservationService.getReservationsByGuest(guestId);
@@ -39,4 +107,11 @@ public class ReservationController {
     public boolean delete(@PathVariable Long id) {
         return reservationService.deleteReservation(id);
     }
+
+    // Invalid input, such as a malformed cursor or a check-out before check-in
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> badRequest(IllegalArgumentException e) {
+        return Map.of("message", String.valueOf(e.getMessage()));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.nsbm.group03.reservationManagementService.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarNightDTO {
+
+        private LocalDate date;
+        private long bookedRooms;
+
+        // Room numbers booked that night; only filled when asked for
+        private List<String> rooms;
+}
@@ -0,0 +1,24 @@
+package com.nsbm.group03.reservationManagementService.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailOutboxDTO {
+
+        private Long id;
+        private Long reservationId;
+        private String recipient;
+        private String subject;
+
+        private String status;
+        private int attempts;
+        private LocalDateTime nextAttemptAt;
+        private String lastError;
+
+        private LocalDateTime createdAt;
+        private LocalDateTime sentAt;
+}
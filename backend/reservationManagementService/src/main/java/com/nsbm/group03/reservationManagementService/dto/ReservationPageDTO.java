@@ -0,0 +1,16 @@
+package com.nsbm.group03.reservationManagementService.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationPageDTO {
+
+        private List<ReservationDTO> items;
+
+        // Pass back as ?cursor= for the next page; null on the last page
+        private String nextCursor;
+}
@@ -0,0 +1,27 @@
+package com.nsbm.group03.reservationManagementService.dto;
+
+import lombok.*;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Filters of GET /api/reservations/search and /search/count; null means "any"
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationSearchDTO {
+
+        private List<String> status;
+        private String roomId;
+        private Long guestId;
+
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        private LocalDate checkInFrom;
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        private LocalDate checkInTo;
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        private LocalDate checkOutFrom;
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        private LocalDate checkOutTo;
+}
@@ -0,0 +1,32 @@
+package com.nsbm.group03.reservationManagementService.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// An Idempotency-Key seen by POST /api/reservations, shared by all instances when the table is enabled
+@Entity
+@Table(name = "idempotency_key", indexes = @Index(name = "idx_idempotency_key_created", columnList = "created_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "idempotency_key", length = 255)
+    private String key;
+
+    // hash of the request body the key was first used with
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    // set in the same transaction once the reservation is saved
+    @Column(name = "reservation_id")
+    private Long reservationId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
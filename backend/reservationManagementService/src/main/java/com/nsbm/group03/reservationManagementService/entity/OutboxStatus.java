@@ -0,0 +1,9 @@
+package com.nsbm.group03.reservationManagementService.entity;
+
+// Delivery state of an outbox message
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    // gave up after the configured number of attempts; replay from the admin endpoint
+    DEAD
+}
@@ -7,6 +7,11 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = {
+        // search: filter by status / room / guest, then page by check-in date (the primary key breaks ties)
+        @Index(name = "idx_reservation_status_check_in", columnList = "status, check_in_date"),
+        @Index(name = "idx_reservation_room_check_in", columnList = "room_id, check_in_date"),
+        @Index(name = "idx_reservation_guest_check_in", columnList = "guest_id, check_in_date")})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
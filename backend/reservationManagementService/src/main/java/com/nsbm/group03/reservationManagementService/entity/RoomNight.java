@@ -0,0 +1,35 @@
+package com.nsbm.group03.reservationManagementService.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// One booked night of a room; the unique key stops two reservations holding the same night
+@Entity
+@Table(name = "room_night",
+        uniqueConstraints = @UniqueConstraint(name = "uk_room_night", columnNames = {"room_id", "night"}),
+        indexes = {
+                @Index(name = "idx_room_night_reservation", columnList = "reservation_id"),
+                // the occupancy calendar reads nights by date
+                @Index(name = "idx_room_night_night", columnList = "night, room_id")})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomNight {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "room_id", nullable = false)
+    private String roomId;
+
+    @Column(nullable = false)
+    private LocalDate night;
+
+    @Column(name = "reservation_id", nullable = false)
+    private Long reservationId;
+}
@@ -0,0 +1,55 @@
+package com.nsbm.group03.reservationManagementService.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Room status still to be pushed to the room service. One row per room: a newer
+ * change overwrites the status and bumps version, so only the latest state is
+ * sent. The row is deleted once that version has been delivered.
+ */
+@Entity
+@Table(name = "room_status_outbox", indexes = @Index(name = "idx_room_status_outbox_due", columnList = "state, next_attempt_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomStatusOutbox {
+
+    @Id
+    @Column(name = "room_id")
+    private String roomId;
+
+    @Column(nullable = false, length = 32)
+    private String status;
+
+    @Column(name = "changed_by")
+    private String changedBy;
+
+    // bumped on every change; delivery only clears the version it sent
+    @Column(nullable = false)
+    private long version;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    // oldest change not yet delivered, for the sync lag metric
+    @Column(name = "first_queued_at", nullable = false)
+    private LocalDateTime firstQueuedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private OutboxStatus state;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+}
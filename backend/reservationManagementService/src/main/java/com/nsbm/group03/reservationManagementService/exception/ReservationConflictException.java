@@ -0,0 +1,13 @@
+package com.nsbm.group03.reservationManagementService.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// The room is already booked for some of the requested nights
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ReservationConflictException extends RuntimeException {
+
+    public ReservationConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,37 @@
+package com.nsbm.group03.reservationManagementService.mapper;
+
+import com.nsbm.group03.reservationManagementService.dto.EmailOutboxDTO;
+import com.nsbm.group03.reservationManagementService.entity.EmailOutboxMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Outbox messages as shown by the admin endpoints; the email body is left out
+public class EmailOutboxMapper {
+
+    private EmailOutboxMapper() {
+    }
+
+    public static EmailOutboxDTO toDTO(EmailOutboxMessage message) {
+        if (message == null) return null;
+        return new EmailOutboxDTO(
+                message.getId(),
+                message.getReservationId(),
+                message.getRecipient(),
+                message.getSubject(),
+                message.getStatus() != null ? message.getStatus().name() : null,
+                message.getAttempts(),
+                message.getNextAttemptAt(),
+                message.getLastError(),
+                message.getCreatedAt(),
+                message.getSentAt());
+    }
+
+    public static List<EmailOutboxDTO> toDTOList(List<EmailOutboxMessage> messages) {
+        List<EmailOutboxDTO> dtos = new ArrayList<>(messages.size());
+        for (EmailOutboxMessage message : messages) {
+            dtos.add(toDTO(message));
+        }
+        return dtos;
+    }
+}
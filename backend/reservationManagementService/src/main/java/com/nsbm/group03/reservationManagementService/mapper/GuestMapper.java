@@ -0,0 +1,46 @@
+package com.nsbm.group03.reservationManagementService.mapper;
+
+import com.nsbm.group03.reservationManagementService.dto.GuestDTO;
+import com.nsbm.group03.reservationManagementService.entity.Guest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Converts between Guest and GuestDTO with plain getters and setters
+public class GuestMapper {
+
+    private GuestMapper() {
+    }
+
+    // Entity → GuestDTO
+    public static GuestDTO toDTO(Guest guest) {
+        if (guest == null) return null;
+        return new GuestDTO(
+                guest.getGuestId(),
+                guest.getFirstName(),
+                guest.getLastName(),
+                guest.getPhoneNumber(),
+                guest.getNic(),
+                guest.getEmail());
+    }
+
+    // GuestDTO → Entity
+    public static Guest toEntity(GuestDTO dto) {
+        if (dto == null) return null;
+        return new Guest(
+                dto.getGuestId(),
+                dto.getFirstName(),
+                dto.getLastName(),
+                dto.getPhoneNumber(),
+                dto.getNic(),
+                dto.getEmail());
+    }
+
+    public static List<GuestDTO> toDTOList(List<Guest> guests) {
+        List<GuestDTO> dtos = new ArrayList<>(guests.size());
+        for (Guest guest : guests) {
+            dtos.add(toDTO(guest));
+        }
+        return dtos;
+    }
+}
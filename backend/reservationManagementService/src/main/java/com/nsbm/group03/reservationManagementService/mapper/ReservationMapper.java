@@ -0,0 +1,69 @@
+package com.nsbm.group03.reservationManagementService.mapper;
+
+import com.nsbm.group03.reservationManagementService.dto.GuestDTO;
+import com.nsbm.group03.reservationManagementService.dto.ReservationDTO;
+import com.nsbm.group03.reservationManagementService.entity.Guest;
+import com.nsbm.group03.reservationManagementService.entity.Reservation;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Converts between Reservation and ReservationDTO; guestId and guest come from the reservation's guest
+public class ReservationMapper {
+
+    private ReservationMapper() {
+    }
+
+    // Entity → ReservationDTO
+    public static ReservationDTO toDTO(Reservation reservation) {
+        if (reservation == null) return null;
+        return toDTO(reservation, GuestMapper.toDTO(reservation.getGuest()));
+    }
+
+    // ReservationDTO → Entity; the guest is only a reference, callers load the managed one
+    public static Reservation toEntity(ReservationDTO dto) {
+        if (dto == null) return null;
+        Guest guest = GuestMapper.toEntity(dto.getGuest());
+        if (guest == null && dto.getGuestId() != null) {
+            guest = new Guest();
+            guest.setGuestId(dto.getGuestId());
+        }
+        return new Reservation(
+                dto.getReservationId(),
+                guest,
+                dto.getRoomId(),
+                dto.getCheckInDate(),
+                dto.getCheckOutDate(),
+                dto.getTotalAmount(),
+                dto.getSpecialRequests(),
+                dto.getStatus(),
+                dto.getCreatedAt());
+    }
+
+    // Reservations of the same guest share one GuestDTO, as the guest is the same row
+    public static List<ReservationDTO> toDTOList(List<Reservation> reservations) {
+        List<ReservationDTO> dtos = new ArrayList<>(reservations.size());
+        Map<Guest, GuestDTO> guests = new IdentityHashMap<>();
+        for (Reservation reservation : reservations) {
+            Guest guest = reservation.getGuest();
+            dtos.add(toDTO(reservation, guest == null ? null : guests.computeIfAbsent(guest, GuestMapper::toDTO)));
+        }
+        return dtos;
+    }
+
+    private static ReservationDTO toDTO(Reservation reservation, GuestDTO guest) {
+        return new ReservationDTO(
+                reservation.getReservationId(),
+                guest != null ? guest.getGuestId() : null,
+                guest,
+                reservation.getRoomId(),
+                reservation.getCheckInDate(),
+                reservation.getCheckOutDate(),
+                reservation.getTotalAmount(),
+                reservation.getSpecialRequests(),
+                reservation.getStatus(),
+                reservation.getCreatedAt());
+    }
+}
@@ -0,0 +1,47 @@
+package com.nsbm.group03.reservationManagementService.repository;
+
+import com.nsbm.group03.reservationManagementService.entity.EmailOutboxMessage;
+import com.nsbm.group03.reservationManagementService.entity.OutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+    // Pending messages that are due, oldest first
+    @Query("SELECT m FROM EmailOutboxMessage m WHERE m.status = 'PENDING' AND m.nextAttemptAt <= :now "
+            + "ORDER BY m.nextAttemptAt")
+    List<EmailOutboxMessage> findDue(@Param("now") LocalDateTime now, Pageable page);
+
+    /**
+     * Take a due message by moving its next attempt to the end of a lease; returns 0 when
+     * another worker or instance took it first. A worker that dies leaves it due again once the lease ends.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE EmailOutboxMessage m SET m.nextAttemptAt = :leaseUntil "
+            + "WHERE m.id = :id AND m.status = 'PENDING' AND m.nextAttemptAt = :seen")
+    int claim(@Param("id") Long id, @Param("seen") LocalDateTime seen, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    List<EmailOutboxMessage> findByStatusOrderByCreatedAtDesc(OutboxStatus status, Pageable page);
+
+    List<EmailOutboxMessage> findAllByOrderByCreatedAtDesc(Pageable page);
+
+    List<EmailOutboxMessage> findByReservationIdOrderByCreatedAtDesc(Long reservationId);
+
+    long countByStatus(OutboxStatus status);
+
+    // Put every dead message back in the queue
+    @Modifying
+    @Transactional
+    @Query("UPDATE EmailOutboxMessage m SET m.status = 'PENDING', m.attempts = 0, m.nextAttemptAt = :now "
+            + "WHERE m.status = 'DEAD'")
+    int replayDead(@Param("now") LocalDateTime now);
+
+}
@@ -1,11 +1,17 @@
 package com.nsbm.group03.reservationManagementService.repository;
 
 import com.nsbm.group03.reservationManagementService.entity.Guest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
+
 public interface GuestRepository extends JpaRepository<Guest, Long> {
 
     Guest findByNic(String nic);
 
+    // Keyset pages in id order, for loading the search index
+    List<Guest> findByGuestIdGreaterThanOrderByGuestId(Long afterId, Pageable page);
+
 }
@@ -1,12 +1,41 @@
 package com.nsbm.group03.reservationManagementService.repository;
 
 import com.nsbm.group03.reservationManagementService.entity.Reservation;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
-public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+public interface ReservationRepository extends JpaRepository<Reservation, Long>, JpaSpecificationExecutor<Reservation> {
 
     List<Reservation> findByGuest_GuestId(Long guestId);
 
-}
\ No newline at end of file
+    // [reservationId, roomId, checkInDate, checkOutDate] of reservations holding their room, in id order
+    @Query("SELECT r.reservationId, r.roomId, r.checkInDate, r.checkOutDate FROM Reservation r "
+            + "WHERE r.reservationId > :afterId AND (r.status IS NULL OR UPPER(r.status) <> 'CANCELLED') "
+            + "ORDER BY r.reservationId")
+    List<Object[]> findActiveIntervalsAfter(@Param("afterId") Long afterId, Pageable page);
+
+    // Same rows for a single room
+    @Query("SELECT r.reservationId, r.roomId, r.checkInDate, r.checkOutDate FROM Reservation r "
+            + "WHERE r.roomId = :roomId AND (r.status IS NULL OR UPPER(r.status) <> 'CANCELLED')")
+    List<Object[]> findActiveIntervalsByRoom(@Param("roomId") String roomId);
+
+    // Reservations holding their room on or after a date, for backfilling room nights
+    @Query("SELECT r FROM Reservation r WHERE r.checkOutDate > :date "
+            + "AND (r.status IS NULL OR UPPER(r.status) <> 'CANCELLED')")
+    List<Reservation> findActiveEndingAfter(@Param("date") LocalDate date);
+
+    // The reservation with its row locked until commit, so a concurrent cancel or date change waits
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Reservation r WHERE r.reservationId = :id")
+    Optional<Reservation> lockById(@Param("id") Long id);
+
+}
@@ -0,0 +1,71 @@
+package com.nsbm.group03.reservationManagementService.repository;
+
+import com.nsbm.group03.reservationManagementService.entity.Reservation;
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+// Filters for the reservation search; each one is left out of the query when its value is null
+public class ReservationSpecifications {
+
+    private ReservationSpecifications() {
+    }
+
+    public static Specification<Reservation> statusIn(Collection<String> statuses) {
+        return (root, query, cb) -> statuses == null || statuses.isEmpty() ? null : root.get("status").in(statuses);
+    }
+
+    public static Specification<Reservation> roomId(String roomId) {
+        return (root, query, cb) -> roomId == null ? null : cb.equal(root.get("roomId"), roomId);
+    }
+
+    public static Specification<Reservation> guestId(Long guestId) {
+        return (root, query, cb) -> guestId == null ? null : cb.equal(root.get("guest").get("guestId"), guestId);
+    }
+
+    // Check-in on or after from and on or before to
+    public static Specification<Reservation> checkInBetween(LocalDate from, LocalDate to) {
+        return (root, query, cb) -> {
+            if (from == null && to == null) return null;
+            if (to == null) return cb.greaterThanOrEqualTo(root.get("checkInDate"), from);
+            if (from == null) return cb.lessThanOrEqualTo(root.get("checkInDate"), to);
+            return cb.between(root.get("checkInDate"), from, to);
+        };
+    }
+
+    // Check-out on or after from and on or before to
+    public static Specification<Reservation> checkOutBetween(LocalDate from, LocalDate to) {
+        return (root, query, cb) -> {
+            if (from == null && to == null) return null;
+            if (to == null) return cb.greaterThanOrEqualTo(root.get("checkOutDate"), from);
+            if (from == null) return cb.lessThanOrEqualTo(root.get("checkOutDate"), to);
+            return cb.between(root.get("checkOutDate"), from, to);
+        };
+    }
+
+    /**
+     * Keyset position: rows after (checkInDate, reservationId) in search order.
+     * Without a cursor it only drops rows that have no check-in date, which cannot be paged by it.
+     */
+    public static Specification<Reservation> after(LocalDate checkInDate, Long reservationId) {
+        return (root, query, cb) -> {
+            if (checkInDate == null) return cb.isNotNull(root.get("checkInDate"));
+            return cb.or(
+                    cb.greaterThan(root.get("checkInDate"), checkInDate),
+                    cb.and(cb.equal(root.get("checkInDate"), checkInDate),
+                            cb.greaterThan(root.get("reservationId"), reservationId)));
+        };
+    }
+
+    // Load the guest in the same query instead of one select per row; skipped for count queries
+    public static Specification<Reservation> fetchGuest() {
+        return (root, query, cb) -> {
+            if (query != null && query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("guest", JoinType.INNER);
+            }
+            return null;
+        };
+    }
+}
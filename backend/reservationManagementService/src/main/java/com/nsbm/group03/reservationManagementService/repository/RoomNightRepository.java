@@ -0,0 +1,45 @@
+package com.nsbm.group03.reservationManagementService.repository;
+
+import com.nsbm.group03.reservationManagementService.entity.RoomNight;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface RoomNightRepository extends JpaRepository<RoomNight, Long> {
+
+    @Modifying
+    @Query("DELETE FROM RoomNight n WHERE n.reservationId = :reservationId")
+    int deleteByReservationId(@Param("reservationId") Long reservationId);
+
+    boolean existsByReservationId(Long reservationId);
+
+    List<RoomNight> findByReservationId(Long reservationId);
+
+    // Every reservation holding at least one night, for reconciling against the reservation table
+    @Query("SELECT DISTINCT n.reservationId FROM RoomNight n")
+    List<Long> findReservationIds();
+
+    // Reservations holding any of the given nights of a room
+    @Query("SELECT DISTINCT n.reservationId FROM RoomNight n WHERE n.roomId = :roomId AND n.night IN :nights")
+    List<Long> findHolders(@Param("roomId") String roomId, @Param("nights") List<LocalDate> nights);
+
+    // Booked rooms per night between from and to, inclusive; nights with no booking are absent
+    @Query("SELECT n.night AS night, COUNT(n) AS rooms FROM RoomNight n "
+            + "WHERE n.night BETWEEN :from AND :to GROUP BY n.night ORDER BY n.night")
+    List<NightCount> countByNight(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // [night, roomId] of every booked room night between from and to, inclusive
+    @Query("SELECT n.night, n.roomId FROM RoomNight n WHERE n.night BETWEEN :from AND :to ORDER BY n.night, n.roomId")
+    List<Object[]> findRoomsByNight(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    interface NightCount {
+        LocalDate getNight();
+
+        long getRooms();
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.nsbm.group03.reservationManagementService.repository;
+
+import com.nsbm.group03.reservationManagementService.entity.OutboxStatus;
+import com.nsbm.group03.reservationManagementService.entity.RoomStatusOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RoomStatusOutboxRepository extends JpaRepository<RoomStatusOutbox, String> {
+
+    /**
+     * Queue a room's new status in one statement, replacing any status not yet sent.
+     * A single upsert avoids the insert race between two bookings for the same room.
+     * A DEAD row queued again starts a new wait, so first_queued_at is reset with it;
+     * it is assigned before state, as MySQL evaluates the assignments left to right.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO room_status_outbox (room_id, status, changed_by, version, attempts, next_attempt_at, "
+            + "first_queued_at, updated_at, state) VALUES (:roomId, :status, :changedBy, 1, 0, :now, :now, :now, 'PENDING') "
+            + "ON DUPLICATE KEY UPDATE status = VALUES(status), changed_by = VALUES(changed_by), version = version + 1, "
+            + "attempts = 0, next_attempt_at = VALUES(next_attempt_at), updated_at = VALUES(updated_at), "
+            + "first_queued_at = CASE WHEN state = 'DEAD' THEN VALUES(first_queued_at) ELSE first_queued_at END, "
+            + "state = 'PENDING', last_error = NULL",
+            nativeQuery = true)
+    int upsert(@Param("roomId") String roomId, @Param("status") String status, @Param("changedBy") String changedBy,
+               @Param("now") LocalDateTime now);
+
+    @Query("SELECT r FROM RoomStatusOutbox r WHERE r.state = 'PENDING' AND r.nextAttemptAt <= :now "
+            + "ORDER BY r.nextAttemptAt")
+    List<RoomStatusOutbox> findDue(@Param("now") LocalDateTime now, Pageable page);
+
+    // Lease a due row for one batch; 0 when another instance took it or the room changed again
+    @Modifying
+    @Transactional
+    @Query("UPDATE RoomStatusOutbox r SET r.nextAttemptAt = :leaseUntil WHERE r.roomId = :roomId "
+            + "AND r.version = :version AND r.state = 'PENDING' AND r.nextAttemptAt = :seen")
+    int claim(@Param("roomId") String roomId, @Param("version") long version, @Param("seen") LocalDateTime seen,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // Drop a delivered row unless a newer change arrived meanwhile
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RoomStatusOutbox r WHERE r.roomId = :roomId AND r.version = :version")
+    int deleteDelivered(@Param("roomId") String roomId, @Param("version") long version);
+
+    // Record a failed delivery of a version; a newer change keeps its own schedule
+    @Modifying
+    @Transactional
+    @Query("UPDATE RoomStatusOutbox r SET r.attempts = :attempts, r.nextAttemptAt = :nextAttemptAt, "
+            + "r.state = :state, r.lastError = :lastError WHERE r.roomId = :roomId AND r.version = :version")
+    int recordFailure(@Param("roomId") String roomId, @Param("version") long version, @Param("attempts") int attempts,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("state") OutboxStatus state,
+                      @Param("lastError") String lastError);
+
+    long countByState(OutboxStatus state);
+
+    @Query("SELECT MIN(r.firstQueuedAt) FROM RoomStatusOutbox r WHERE r.state = 'PENDING'")
+    LocalDateTime findOldestPending();
+
+}
@@ -0,0 +1,158 @@
+package com.nsbm.group03.reservationManagementService.service;
+
+import com.nsbm.group03.reservationManagementService.entity.EmailOutboxMessage;
+import com.nsbm.group03.reservationManagementService.entity.OutboxStatus;
+import com.nsbm.group03.reservationManagementService.repository.EmailOutboxRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sends queued emails from the outbox on a bounded worker pool. Due messages are
+ * claimed with a lease so several instances can run the dispatcher safely.
+ * A failed send is retried with exponential backoff and jitter; after
+ * max-attempts the message is marked DEAD and waits for a manual replay.
+ */
+@Component
+public class EmailDispatcher {
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private EmailService emailService;
+
+    private final int workers;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final ThreadPoolExecutor pool;
+    // one poll at a time; a wake-up during a poll sets rerun so nothing is missed
+    private final ExecutorService poller = Executors.newSingleThreadExecutor(r -> new Thread(r, "email-outbox-poller"));
+    private final AtomicBoolean polling = new AtomicBoolean();
+    private final AtomicBoolean rerun = new AtomicBoolean();
+
+    public EmailDispatcher(@Value("${reservation.mail.outbox.workers:4}") int workers,
+            @Value("${reservation.mail.outbox.max-attempts:8}") int maxAttempts,
+            @Value("${reservation.mail.outbox.initial-backoff:30s}") Duration initialBackoff,
+            @Value("${reservation.mail.outbox.max-backoff:1h}") Duration maxBackoff,
+            @Value("${reservation.mail.outbox.lease:5m}") Duration lease) {
+        this.workers = Math.max(1, workers);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.lease = lease;
+        // the queue only ever holds what the poller claimed for free slots
+        this.pool = new ThreadPoolExecutor(this.workers, this.workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.workers), r -> new Thread(r, "email-outbox-worker"));
+    }
+
+    // Send right after the booking commits instead of waiting for the next poll
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMessageQueued(EmailOutbox.MessageQueued event) {
+        wake();
+    }
+
+    // Safety net for retries that became due and anything a wake-up missed
+    @Scheduled(fixedDelayString = "${reservation.mail.outbox.poll-interval-ms:5000}")
+    public void wake() {
+        rerun.set(true);
+        if (polling.compareAndSet(false, true)) {
+            poller.execute(this::pollLoop);
+        }
+    }
+
+    private void pollLoop() {
+        try {
+            while (rerun.getAndSet(false)) {
+                poll();
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Email outbox poll failed: " + e.getMessage());
+        } finally {
+            polling.set(false);
+            if (rerun.get()) wake();
+        }
+    }
+
+    // Claim as many due messages as there are free workers and hand them over
+    private void poll() {
+        int free = workers - pool.getActiveCount() + pool.getQueue().remainingCapacity();
+        if (free <= 0) return;
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutboxMessage> due = outboxRepository.findDue(now, PageRequest.of(0, free));
+        for (EmailOutboxMessage message : due) {
+            if (outboxRepository.claim(message.getId(), message.getNextAttemptAt(), now.plus(lease)) == 1) {
+                try {
+                    pool.execute(() -> send(message));
+                } catch (RejectedExecutionException e) {
+                    // pool busier than it looked; the lease brings the message back
+                    return;
+                }
+            }
+        }
+        // a full batch means more may be waiting
+        if (due.size() == free) rerun.set(true);
+    }
+
+    private void send(EmailOutboxMessage message) {
+        message.setAttempts(message.getAttempts() + 1);
+        try {
+            emailService.deliver(message.getRecipient(), message.getSubject(), message.getBody());
+            message.setStatus(OutboxStatus.SENT);
+            message.setSentAt(LocalDateTime.now());
+            message.setLastError(null);
+        } catch (RuntimeException e) {
+            String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            message.setLastError(error.length() > 1000 ? error.substring(0, 1000) : error);
+            if (message.getAttempts() >= maxAttempts) {
+                message.setStatus(OutboxStatus.DEAD);
+                System.err.println("Email " + message.getId() + " to " + message.getRecipient() + " is dead after "
+                        + message.getAttempts() + " attempts: " + error);
+            } else {
+                message.setNextAttemptAt(LocalDateTime.now().plus(backoff(message.getAttempts())));
+            }
+        }
+        outboxRepository.save(message);
+        // a worker is free again
+        wake();
+    }
+
+    // initial * 2^(attempt-1), capped, with +-20% jitter so retries of one outage spread out
+    Duration backoff(int attempt) {
+        long base = initialBackoff.toMillis() << Math.min(attempt - 1, 30);
+        if (base <= 0 || base > maxBackoff.toMillis()) base = maxBackoff.toMillis();
+        long jitter = (long) (base * 0.2 * (ThreadLocalRandom.current().nextDouble() * 2 - 1));
+        return Duration.ofMillis(Math.max(0, base + jitter));
+    }
+
+    public int getQueueDepth() {
+        return pool.getQueue().size() + pool.getActiveCount();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        poller.shutdownNow();
+        pool.shutdown();
+        // unfinished messages stay leased and are picked up again when the lease ends
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,58 @@
+package com.nsbm.group03.reservationManagementService.service;
+
+import com.nsbm.group03.reservationManagementService.entity.EmailOutboxMessage;
+import com.nsbm.group03.reservationManagementService.entity.OutboxStatus;
+import com.nsbm.group03.reservationManagementService.repository.EmailOutboxRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Writes emails to the email_outbox table instead of sending them. Enqueueing joins
+ * the caller's transaction, so a message exists exactly when the booking it reports
+ * was committed; EmailDispatcher delivers it afterwards.
+ */
+@Service
+public class EmailOutbox {
+
+    // Published on enqueue; EmailDispatcher picks it up after commit to send without waiting for the next poll
+    public record MessageQueued(Long id) {
+    }
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    public EmailOutboxMessage enqueue(String recipient, String subject, String body, Long reservationId) {
+        LocalDateTime now = LocalDateTime.now();
+        EmailOutboxMessage message = new EmailOutboxMessage(null, reservationId, recipient, subject, body,
+                OutboxStatus.PENDING, 0, now, null, now, null);
+        outboxRepository.save(message);
+        eventPublisher.publishEvent(new MessageQueued(message.getId()));
+        return message;
+    }
+
+    // Put a message back in the queue, due now, with a fresh attempt budget
+    public EmailOutboxMessage replay(Long id) {
+        EmailOutboxMessage message = outboxRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Outbox message not found"));
+        message.setStatus(OutboxStatus.PENDING);
+        message.setAttempts(0);
+        message.setNextAttemptAt(LocalDateTime.now());
+        outboxRepository.save(message);
+        eventPublisher.publishEvent(new MessageQueued(id));
+        return message;
+    }
+
+    public int replayDead() {
+        int replayed = outboxRepository.replayDead(LocalDateTime.now());
+        if (replayed > 0) {
+            eventPublisher.publishEvent(new MessageQueued(null));
+        }
+        return replayed;
+    }
+}
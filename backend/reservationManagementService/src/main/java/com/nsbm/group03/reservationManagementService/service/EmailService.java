@@ -11,21 +11,30 @@ public class EmailService {
     @Autowired
     private JavaMailSender mailSender;
 
+    @Autowired
+    private EmailOutbox emailOutbox;
+
     public void sendEmail(String to, String subject, String body) {
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom("ආලකමන්දා Manager <noreply@luxestay.com>");
-            message.setTo(to);
-            message.setSubject(subject);
-            message.setText(body);
-            mailSender.send(message);
-            System.out.println("Email sent successfully to " + to);
+            deliver(to, subject, body);
         } catch (Exception e) {
             System.err.println("Failed to send email to " + to + ": " + e.getMessage());
         }
     }
 
-    public void sendReservationConfirmationEmail(String recipientEmail, String guestName, String reservationId,
+    // Send now over SMTP; failures are thrown so the outbox dispatcher can retry
+    public void deliver(String to, String subject, String body) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom("ආලකමන්දා Manager <noreply@luxestay.com>");
+        message.setTo(to);
+        message.setSubject(subject);
+        message.setText(body);
+        mailSender.send(message);
+        System.out.println("Email sent successfully to " + to);
+    }
+
+    // Queued in the caller's transaction and sent by EmailDispatcher after commit
+    public void sendReservationConfirmationEmail(String recipientEmail, String guestName, Long reservationId,
             String checkIn, String checkOut, String roomNumber, String amount) {
         String subject = "Reservation Confirmed - ආලකමන්දා Hotel ";
         String body = "Dear " + guestName + ",\n\n" +
@@ -40,6 +49,6 @@ public class EmailService {
                 "Best regards,\n" +
                 "The ආලකමන්දා Team";
 
-        sendEmail(recipientEmail, subject, body);
+        emailOutbox.enqueue(recipientEmail, subject, body, reservationId);
     }
 }
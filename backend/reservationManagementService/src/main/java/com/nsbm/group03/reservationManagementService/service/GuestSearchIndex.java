@@ -0,0 +1,382 @@
+package com.nsbm.group03.reservationManagementService.service;
+
+import com.nsbm.group03.reservationManagementService.dto.GuestDTO;
+import com.nsbm.group03.reservationManagementService.entity.Guest;
+import com.nsbm.group03.reservationManagementService.repository.GuestRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over guests' first name, last name, phone number, NIC
+ * and email, for the front desk search box. Every word is indexed by its
+ * trigrams plus a leading " xy" trigram, so "jo" finds John by prefix, "4567"
+ * finds a phone number by its tail and "jonh" still finds John.
+ *
+ * Loaded from the database at startup and kept in step by GuestService after
+ * each commit. Guests are stored in slots that only ever grow, so every posting
+ * list stays sorted: a query walks its rarest lists newest first and probes the
+ * others with cursors that only move down. Removed slots are reclaimed by compaction.
+ */
+@Component
+public class GuestSearchIndex {
+
+    private static final int LOAD_PAGE_SIZE = 10_000;
+    private static final int MIN_COMPACT = 1024;
+    // candidates looked at for typo matches before giving up on filling the limit
+    private static final int MAX_FUZZY_SCAN = 20_000;
+
+    @Autowired
+    private GuestRepository guestRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // slot → guest; null once the guest was removed or re-indexed into a newer slot
+    private Entry[] entries = new Entry[1024];
+    private int slots;
+    private int dead;
+    private final Map<Long, Integer> slotByGuest = new HashMap<>();
+    private final Map<Long, IntList> postings = new HashMap<>();
+    // normalized NIC, phone digits and email → slots holding it, for exact lookups; guests
+    // can share a value (a family's phone or email), so each maps to every such slot
+    private final Map<String, NavigableSet<Integer>> exactSlots = new HashMap<>();
+
+    private record Entry(GuestDTO guest, long[] keys, String nic, String phone, String email) {
+    }
+
+    private record Hit(int slot, double score) {
+    }
+
+    @PostConstruct
+    public void load() {
+        long started = System.currentTimeMillis();
+        long afterId = 0;
+        while (true) {
+            List<Guest> page = guestRepository.findByGuestIdGreaterThanOrderByGuestId(afterId,
+                    PageRequest.of(0, LOAD_PAGE_SIZE));
+            for (Guest guest : page) {
+                put(guest);
+            }
+            if (page.size() < LOAD_PAGE_SIZE) break;
+            afterId = page.get(page.size() - 1).getGuestId();
+        }
+        System.out.println("Indexed " + size() + " guests for search in "
+                + (System.currentTimeMillis() - started) + " ms");
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotByGuest.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Add a guest, or replace what is indexed for it
+    public void put(Guest guest) {
+        if (guest == null || guest.getGuestId() == null) return;
+        Entry entry = entry(guest);
+        lock.writeLock().lock();
+        try {
+            drop(guest.getGuestId());
+            if (slots == entries.length) {
+                entries = Arrays.copyOf(entries, slots * 2);
+            }
+            int slot = slots++;
+            entries[slot] = entry;
+            slotByGuest.put(guest.getGuestId(), slot);
+            index(entry, slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long guestId) {
+        if (guestId == null) return;
+        lock.writeLock().lock();
+        try {
+            drop(guestId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Up to limit guests matching the query, best first. An exact NIC, phone number or
+     * email returns just the guests holding it, newest first. Otherwise guests having every trigram of the query
+     * come first, then guests missing up to half of them (typos). Within a tier the
+     * newest guests are found first and the scan stops once limit guests are found, so
+     * a broad query such as "jo" costs no more than a precise one; the hits are then
+     * ordered by score and record length.
+     */
+    public List<GuestDTO> search(String query, int limit) {
+        String digits = digits(query);
+        // a query with only digits and separators is (part of) a phone number or NIC:
+        // "077 123-4567" → 0771234567, matched anywhere in the number and without typos
+        boolean numeric = digits.length() >= 3 && query.chars().noneMatch(Character::isLetter);
+        long[] keys = numeric ? keys(List.of(digits), false) : keys(words(query), true);
+        if (keys.length == 0 || limit <= 0) return Collections.emptyList();
+        int misses = numeric ? 0 : (keys.length - 1) / 2;
+
+        lock.readLock().lock();
+        try {
+            // an exact NIC, phone number or email names its guests; nothing else is relevant
+            NavigableSet<Integer> exact = exact(normalize(query));
+            if (exact.isEmpty() && digits.length() >= 6) exact = exact(digits);
+            if (!exact.isEmpty()) {
+                List<GuestDTO> results = new ArrayList<>(Math.min(limit, exact.size()));
+                for (Integer slot : exact.descendingSet()) {
+                    if (results.size() == limit) break;
+                    results.add(entries[slot].guest());
+                }
+                return results;
+            }
+
+            IntList[] lists = new IntList[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                IntList list = postings.get(keys[i]);
+                lists[i] = list != null ? list : IntList.EMPTY;
+            }
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+            List<Hit> hits = new ArrayList<>(limit);
+            // every trigram: walk the rarest list and probe the others
+            IntList rarest = lists[0];
+            int[] cursors = cursors(lists, lists.length);
+            for (int i = rarest.size - 1; i >= 0 && hits.size() < limit; i--) {
+                int slot = rarest.values[i];
+                if (entries[slot] != null && matched(lists, cursors, slot, 0) == lists.length) {
+                    hits.add(new Hit(slot, 1));
+                }
+            }
+
+            // typos: a guest missing at most `misses` trigrams is in one of the misses + 1 rarest lists
+            if (misses > 0 && hits.size() < limit) {
+                int[] union = cursors(lists, misses + 1);
+                cursors = cursors(lists, lists.length);
+                int slot;
+                for (int scanned = 0; hits.size() < limit && scanned < MAX_FUZZY_SCAN
+                        && (slot = nextDescending(lists, union)) >= 0; scanned++) {
+                    if (entries[slot] == null) continue;
+                    // guests with every trigram were taken above
+                    int matched = matched(lists, cursors, slot, misses);
+                    if (matched >= lists.length - misses && matched < lists.length) {
+                        hits.add(new Hit(slot, (double) matched / lists.length));
+                    }
+                }
+            }
+
+            hits.sort(this::bestFirst);
+            List<GuestDTO> results = new ArrayList<>(hits.size());
+            for (Hit hit : hits) {
+                results.add(entries[hit.slot()].guest());
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Live slots whose NIC, phone number or email is exactly the value
+    private NavigableSet<Integer> exact(String value) {
+        NavigableSet<Integer> matches = new TreeSet<>();
+        for (Integer slot : exactSlots.getOrDefault(value, Collections.emptyNavigableSet())) {
+            Entry entry = entries[slot];
+            if (entry != null && (value.equals(entry.nic()) || value.equals(entry.phone()) || value.equals(entry.email()))) {
+                matches.add(slot);
+            }
+        }
+        return matches;
+    }
+
+    // How many lists hold the slot; gives up early once more than `misses` lack it
+    private static int matched(IntList[] lists, int[] cursors, int slot, int misses) {
+        int matched = 0;
+        for (int i = 0; i < lists.length; i++) {
+            if (probe(lists[i], cursors, i, slot)) matched++;
+            else if (i + 1 - matched > misses) break;
+        }
+        return matched;
+    }
+
+    // A cursor at the end of each of the first n lists
+    private static int[] cursors(IntList[] lists, int n) {
+        int[] cursors = new int[n];
+        for (int i = 0; i < n; i++) cursors[i] = lists[i].size - 1;
+        return cursors;
+    }
+
+    /**
+     * Whether list i holds the slot. Slots are probed in descending order, so the
+     * cursor only moves down: gallop back from it, then binary search the last step.
+     */
+    private static boolean probe(IntList list, int[] cursors, int i, int slot) {
+        int[] values = list.values;
+        int hi = cursors[i];
+        if (hi < 0) return false;
+        if (values[hi] <= slot) return values[hi] == slot;
+        int lo = hi - 1;
+        for (int step = 1; lo >= 0 && values[lo] > slot; step <<= 1) {
+            hi = lo;
+            lo -= step;
+        }
+        int found = Arrays.binarySearch(values, Math.max(lo, 0), hi, slot);
+        // on a miss, park on the last value below the slot
+        cursors[i] = found >= 0 ? found : -found - 2;
+        return found >= 0;
+    }
+
+    // Largest slot not yet returned across the first cursors.length lists, or -1 when all are drained
+    private static int nextDescending(IntList[] lists, int[] cursors) {
+        int max = -1;
+        for (int i = 0; i < cursors.length; i++) {
+            if (cursors[i] >= 0) max = Math.max(max, lists[i].values[cursors[i]]);
+        }
+        if (max < 0) return -1;
+        for (int i = 0; i < cursors.length; i++) {
+            if (cursors[i] >= 0 && lists[i].values[cursors[i]] == max) cursors[i]--;
+        }
+        return max;
+    }
+
+    // Higher score, then the shorter (more specific) record, then the newer guest
+    private int bestFirst(Hit a, Hit b) {
+        int c = Double.compare(b.score(), a.score());
+        if (c != 0) return c;
+        c = Integer.compare(entries[a.slot()].keys().length, entries[b.slot()].keys().length);
+        return c != 0 ? c : Integer.compare(b.slot(), a.slot());
+    }
+
+    // Caller holds the write lock
+    private void index(Entry entry, int slot) {
+        for (long key : entry.keys()) {
+            postings.computeIfAbsent(key, k -> new IntList()).add(slot);
+        }
+        for (String value : new String[]{entry.nic(), entry.phone(), entry.email()}) {
+            if (!value.isEmpty()) exactSlots.computeIfAbsent(value, v -> new TreeSet<>()).add(slot);
+        }
+    }
+
+    // Caller holds the write lock
+    private void drop(Long guestId) {
+        Integer slot = slotByGuest.remove(guestId);
+        if (slot == null) return;
+        Entry entry = entries[slot];
+        for (String value : new String[]{entry.nic(), entry.phone(), entry.email()}) {
+            // only this guest's slot; others sharing the value stay findable
+            NavigableSet<Integer> holders = exactSlots.get(value);
+            if (holders != null && holders.remove(slot) && holders.isEmpty()) {
+                exactSlots.remove(value);
+            }
+        }
+        entries[slot] = null;
+        dead++;
+        if (dead >= MIN_COMPACT && dead > slots / 4) {
+            compact();
+        }
+    }
+
+    // Renumber live guests into consecutive slots and rebuild the posting lists
+    private void compact() {
+        Entry[] live = new Entry[Math.max(1024, Integer.highestOneBit(Math.max(1, slots - dead)) * 2)];
+        int count = 0;
+        for (int i = 0; i < slots; i++) {
+            if (entries[i] != null) live[count++] = entries[i];
+        }
+        entries = live;
+        slots = count;
+        dead = 0;
+        slotByGuest.clear();
+        postings.clear();
+        exactSlots.clear();
+        for (int slot = 0; slot < count; slot++) {
+            slotByGuest.put(entries[slot].guest().getGuestId(), slot);
+            index(entries[slot], slot);
+        }
+    }
+
+    // ---------- normalization ----------
+
+    private static Entry entry(Guest guest) {
+        GuestDTO dto = new GuestDTO(guest.getGuestId(), guest.getFirstName(), guest.getLastName(),
+                guest.getPhoneNumber(), guest.getNic(), guest.getEmail());
+        List<String> words = new ArrayList<>();
+        words.addAll(words(guest.getFirstName()));
+        words.addAll(words(guest.getLastName()));
+        // a phone number is one word however it was typed: "077 123-4567" → 0771234567
+        String phone = digits(guest.getPhoneNumber());
+        if (!phone.isEmpty()) words.add(phone);
+        words.addAll(words(guest.getNic()));
+        words.addAll(words(guest.getEmail()));
+        return new Entry(dto, keys(words, true), normalize(guest.getNic()), phone, normalize(guest.getEmail()));
+    }
+
+    // Lower-case alphanumeric runs: "Perera-Silva" → [perera, silva], "a.b@mail.com" → [a, b, mail, com]
+    private static List<String> words(String text) {
+        if (text == null) return Collections.emptyList();
+        List<String> words = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            if (Character.isLetterOrDigit(c)) {
+                word.append(c);
+            } else if (!word.isEmpty()) {
+                words.add(word.toString());
+                word.setLength(0);
+            }
+        }
+        if (!word.isEmpty()) words.add(word.toString());
+        return words;
+    }
+
+    // Distinct trigram keys of the words; padded adds each word's leading " xy" trigram
+    private static long[] keys(List<String> words, boolean padded) {
+        Set<Long> keys = new LinkedHashSet<>();
+        for (String word : words) {
+            String text = padded ? " " + word : word;
+            for (int i = 0; i + 3 <= text.length(); i++) {
+                keys.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+            }
+        }
+        long[] result = new long[keys.size()];
+        int i = 0;
+        for (Long key : keys) result[i++] = key;
+        return result;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    private static String digits(String text) {
+        return text == null ? "" : text.replaceAll("\\D", "");
+    }
+
+    // Growable sorted int array; slots are appended in increasing order
+    private static final class IntList {
+        static final IntList EMPTY = new IntList();
+
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+    }
+}
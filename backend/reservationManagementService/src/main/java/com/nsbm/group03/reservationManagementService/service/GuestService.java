@@ -2,12 +2,13 @@ package com.nsbm.group03.reservationManagementService.service;
 
 import com.nsbm.group03.reservationManagementService.dto.GuestDTO;
 import com.nsbm.group03.reservationManagementService.entity.Guest;
+import com.nsbm.group03.reservationManagementService.mapper.GuestMapper;
 import com.nsbm.group03.reservationManagementService.repository.GuestRepository;
 import jakarta.transaction.Transactional;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 
@@ -19,42 +20,62 @@ public class GuestService {
     private GuestRepository guestRepository;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private GuestSearchIndex guestSearchIndex;
 
     public GuestDTO saveGuest(GuestDTO guestDTO) {
-        Guest guest = guestRepository.save(modelMapper.map(guestDTO, Guest.class));
-        return modelMapper.map(guest, GuestDTO.class);
+        Guest guest = guestRepository.save(GuestMapper.toEntity(guestDTO));
+        afterCommit(() -> guestSearchIndex.put(guest));
+        return GuestMapper.toDTO(guest);
 
     }
 
     public List<GuestDTO> findAllGuests() {
         List<Guest> guestList = guestRepository.findAll();
-        return modelMapper.map(guestList, new TypeToken<List<GuestDTO>>() {
-        }.getType());
+        return GuestMapper.toDTOList(guestList);
     }
 
     public GuestDTO updateGuest(GuestDTO guestDTO) {
         if (!guestRepository.existsById(guestDTO.getGuestId())) {
             throw new RuntimeException("Guest not found");
         }
-        guestRepository.save(modelMapper.map(guestDTO, Guest.class));
+        Guest guest = guestRepository.save(GuestMapper.toEntity(guestDTO));
+        afterCommit(() -> guestSearchIndex.put(guest));
         return guestDTO;
     }
 
     public GuestDTO findGuestById(Long id) {
         Guest guest = guestRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Guest not found"));
-        return modelMapper.map(guest, GuestDTO.class);
+        return GuestMapper.toDTO(guest);
     }
 
     public GuestDTO findGuestByNic(String nic) {
         Guest guest = guestRepository.findByNic(nic);
-        return guest != null ? modelMapper.map(guest, GuestDTO.class) : null;
+        return guest != null ? GuestMapper.toDTO(guest) : null;
     }
 
     public boolean deleteGuest(GuestDTO guestDTO) {
-        guestRepository.delete(modelMapper.map(guestDTO, Guest.class));
+        guestRepository.delete(GuestMapper.toEntity(guestDTO));
+        afterCommit(() -> guestSearchIndex.remove(guestDTO.getGuestId()));
         return true;
     }
 
+    // Ranked matches on name, phone number, NIC or email from the in-memory index
+    public List<GuestDTO> searchGuests(String query, int limit) {
+        return guestSearchIndex.search(query, limit);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
 }
\ No newline at end of file
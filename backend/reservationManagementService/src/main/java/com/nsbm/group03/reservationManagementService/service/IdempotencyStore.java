@@ -0,0 +1,212 @@
+package com.nsbm.group03.reservationManagementService.service;
+
+import com.nsbm.group03.reservationManagementService.dto.ReservationDTO;
+import com.nsbm.group03.reservationManagementService.entity.IdempotencyRecord;
+import com.nsbm.group03.reservationManagementService.exception.IdempotencyKeyInProgressException;
+import com.nsbm.group03.reservationManagementService.exception.IdempotencyKeyMismatchException;
+import com.nsbm.group03.reservationManagementService.mapper.ReservationMapper;
+import com.nsbm.group03.reservationManagementService.repository.IdempotencyRecordRepository;
+import com.nsbm.group03.reservationManagementService.repository.ReservationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key handling for POST /api/reservations. The first request with a key
+ * runs; a retry with the same key and body gets the first response back from memory
+ * without touching the database, and a duplicate that arrives while the first is
+ * still running waits for it instead of booking again. Failed requests are forgotten
+ * so the client can retry them. Keys live for reservation.idempotency.ttl, at most
+ * reservation.idempotency.max-entries at a time.
+ *
+ * With reservation.idempotency.table.enabled=true each key is also written to the
+ * idempotency_key table in the booking's transaction, so a retry that lands on
+ * another instance finds the reservation there, and two instances racing on one key
+ * are serialized by its primary key.
+ */
+@Component
+public class IdempotencyStore {
+
+    public record Outcome(ReservationDTO reservation, boolean replayed) {
+    }
+
+    private static final class Entry {
+        final String fingerprint;
+        final CompletableFuture<ReservationDTO> response = new CompletableFuture<>();
+        final long createdAt = System.nanoTime();
+
+        Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    @Autowired
+    private IdempotencyRecordRepository recordRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    private final Duration ttl;
+    private final int maxEntries;
+    private final Duration waitTimeout;
+    private final boolean tableEnabled;
+
+    // insertion order, so the oldest (first to expire) entries are at the head
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    public IdempotencyStore(@Value("${reservation.idempotency.ttl:24h}") Duration ttl,
+            @Value("${reservation.idempotency.max-entries:10000}") int maxEntries,
+            @Value("${reservation.idempotency.wait-timeout:30s}") Duration waitTimeout,
+            @Value("${reservation.idempotency.table.enabled:false}") boolean tableEnabled) {
+        this.ttl = ttl;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.waitTimeout = waitTimeout;
+        this.tableEnabled = tableEnabled;
+    }
+
+    public boolean isTableEnabled() {
+        return tableEnabled;
+    }
+
+    /**
+     * Run the booking once per key. The action must call claim(key, fingerprint) and
+     * complete(key, id) inside its transaction when the table is enabled.
+     */
+    public Outcome execute(String key, ReservationDTO request, Supplier<ReservationDTO> action) {
+        String fingerprint = fingerprint(request);
+        Entry entry;
+        boolean owner = false;
+        synchronized (entries) {
+            evict();
+            entry = entries.get(key);
+            if (entry == null) {
+                entry = new Entry(fingerprint);
+                entries.put(key, entry);
+                owner = true;
+            }
+        }
+        if (!entry.fingerprint.equals(fingerprint)) {
+            throw new IdempotencyKeyMismatchException("Idempotency-Key " + key + " was used with a different request");
+        }
+        if (!owner) {
+            return new Outcome(await(key, entry), true);
+        }
+
+        try {
+            ReservationDTO replay = tableEnabled ? findCommitted(key, fingerprint) : null;
+            ReservationDTO response = replay != null ? replay : action.get();
+            entry.response.complete(response);
+            return new Outcome(response, replay != null);
+        } catch (DataIntegrityViolationException e) {
+            // another instance holds the key; its row was committed before our insert failed
+            ReservationDTO replay = findCommitted(key, fingerprint);
+            if (replay == null) {
+                forget(key, entry, e);
+                throw e;
+            }
+            entry.response.complete(replay);
+            return new Outcome(replay, true);
+        } catch (RuntimeException e) {
+            forget(key, entry, e);
+            throw e;
+        }
+    }
+
+    // Insert the key row in the caller's transaction; fails on a key another instance already holds
+    public void claim(String key, ReservationDTO request) {
+        recordRepository.saveAndFlush(new IdempotencyRecord(key, fingerprint(request), null, LocalDateTime.now()));
+    }
+
+    public void complete(String key, Long reservationId) {
+        recordRepository.findById(key).ifPresent(record -> record.setReservationId(reservationId));
+    }
+
+    // Drop expired key rows; the in-memory entries expire on access
+    @Scheduled(fixedDelayString = "${reservation.idempotency.table.purge-interval-ms:3600000}")
+    public void purgeTable() {
+        if (!tableEnabled) return;
+        recordRepository.deleteCreatedBefore(LocalDateTime.now().minus(ttl));
+    }
+
+    private ReservationDTO await(String key, Entry entry) {
+        try {
+            return entry.response.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyInProgressException("A request with Idempotency-Key " + key + " is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException("Interrupted waiting for Idempotency-Key " + key);
+        } catch (ExecutionException e) {
+            // the first request failed; fail the same way
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private ReservationDTO findCommitted(String key, String fingerprint) {
+        IdempotencyRecord record = recordRepository.findById(key).orElse(null);
+        if (record == null || record.getReservationId() == null) return null;
+        if (!record.getFingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyMismatchException("Idempotency-Key " + key + " was used with a different request");
+        }
+        return reservationRepository.findById(record.getReservationId()).map(ReservationMapper::toDTO).orElse(null);
+    }
+
+    private void forget(String key, Entry entry, RuntimeException failure) {
+        synchronized (entries) {
+            entries.remove(key, entry);
+        }
+        entry.response.completeExceptionally(failure);
+    }
+
+    // Caller holds the lock. Drops expired entries, then the oldest finished ones over max-entries
+    private void evict() {
+        long now = System.nanoTime();
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next().getValue();
+            boolean expired = now - entry.createdAt > ttl.toNanos();
+            if (!expired && entries.size() < maxEntries) break;
+            // a request still running keeps its key so duplicates keep waiting on it
+            if (entry.response.isDone()) it.remove();
+            else if (expired) continue;
+            else break;
+        }
+    }
+
+    // SHA-256 over the fields that define the booking
+    static String fingerprint(ReservationDTO request) {
+        String canonical = String.join("\u0000",
+                Objects.toString(request.getGuestId(), ""),
+                Objects.toString(request.getRoomId(), ""),
+                Objects.toString(request.getCheckInDate(), ""),
+                Objects.toString(request.getCheckOutDate(), ""),
+                Double.toString(request.getTotalAmount()),
+                Objects.toString(request.getSpecialRequests(), ""),
+                Objects.toString(request.getStatus(), ""));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.nsbm.group03.reservationManagementService.service;
+
+import com.nsbm.group03.reservationManagementService.dto.CalendarNightDTO;
+import com.nsbm.group03.reservationManagementService.repository.RoomNightRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Booked rooms per night, read from room_night: one row per room and night of every
+ * stay that is not cancelled, written and removed by RoomNightGuard in the same
+ * transaction as saveReservation, updateStatus and deleteReservation. A forecast
+ * is an index range scan over that table and never touches reservation rows.
+ * Nights before today are not kept complete, so the calendar starts today.
+ */
+@Service
+public class OccupancyCalendar {
+
+    public static final int MAX_DAYS = 366;
+
+    @Autowired
+    private RoomNightRepository roomNightRepository;
+
+    @Autowired
+    private RoomNightGuard roomNightGuard;
+
+    // One entry per night from from to to inclusive, nights with no booking included
+    public List<CalendarNightDTO> getCalendar(LocalDate from, LocalDate to, boolean withRooms) {
+        if (from.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("The calendar starts today (" + LocalDate.now() + ")");
+        }
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_DAYS) {
+            throw new IllegalArgumentException("to must be on or after from and at most " + MAX_DAYS + " days later");
+        }
+
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        List<CalendarNightDTO> calendar = new ArrayList<>(days);
+        for (int i = 0; i < days; i++) {
+            calendar.add(new CalendarNightDTO(from.plusDays(i), 0, withRooms ? new ArrayList<>() : null));
+        }
+        if (withRooms) {
+            for (Object[] row : roomNightRepository.findRoomsByNight(from, to)) {
+                CalendarNightDTO night = calendar.get((int) ChronoUnit.DAYS.between(from, (LocalDate) row[0]));
+                night.getRooms().add((String) row[1]);
+                night.setBookedRooms(night.getBookedRooms() + 1);
+            }
+        } else {
+            for (RoomNightRepository.NightCount count : roomNightRepository.countByNight(from, to)) {
+                calendar.get((int) ChronoUnit.DAYS.between(from, count.getNight())).setBookedRooms(count.getRooms());
+            }
+        }
+        return calendar;
+    }
+
+    // Correct the calendar against the reservation table, in place
+    public int reconcile() {
+        return roomNightGuard.reconcile();
+    }
+}
@@ -0,0 +1,125 @@
+package com.nsbm.group03.reservationManagementService.service;
+
+import com.nsbm.group03.reservationManagementService.repository.ReservationRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory interval tree per room over the [checkInDate, checkOutDate) of every
+ * reservation that holds its room (anything not CANCELLED). Loaded from the
+ * database at startup and kept in step by ReservationService, so a double
+ * booking is found in O(log n) without querying the reservation table.
+ * The room_night unique key remains the guard across instances.
+ */
+@Component
+public class ReservationIntervalIndex {
+
+    private static final int LOAD_PAGE_SIZE = 10_000;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    private final Map<String, ReservationIntervalTree> trees = new ConcurrentHashMap<>();
+    // room and start day of every indexed reservation, so it can be removed by id
+    private final Map<Long, Booking> bookings = new ConcurrentHashMap<>();
+    // rooms whose tree was dropped and must be reloaded from the database on next use
+    private final Set<String> stale = ConcurrentHashMap.newKeySet();
+
+    private record Booking(String roomId, long start) {
+    }
+
+    @PostConstruct
+    public void load() {
+        long started = System.currentTimeMillis();
+        long afterId = 0;
+        int loaded = 0;
+        while (true) {
+            List<Object[]> page = reservationRepository.findActiveIntervalsAfter(afterId,
+                    PageRequest.of(0, LOAD_PAGE_SIZE));
+            for (Object[] row : page) {
+                if (row[1] == null) continue;
+                if (add(trees.computeIfAbsent((String) row[1], r -> new ReservationIntervalTree()), row)) loaded++;
+            }
+            if (page.size() < LOAD_PAGE_SIZE) break;
+            afterId = (Long) page.get(page.size() - 1)[0];
+        }
+        System.out.println("Indexed " + loaded + " reservations over " + trees.size() + " rooms in "
+                + (System.currentTimeMillis() - started) + " ms");
+    }
+
+    /**
+     * Index a reservation unless it overlaps another one on the same room.
+     * Returns the id of a conflicting reservation, or null when it was added.
+     */
+    public Long tryReserve(String roomId, Long reservationId, LocalDate checkIn, LocalDate checkOut) {
+        long start = checkIn.toEpochDay();
+        long end = checkOut.toEpochDay();
+        ReservationIntervalTree tree = tree(roomId);
+        synchronized (tree) {
+            long conflict = tree.findOverlap(start, end, reservationId);
+            if (conflict >= 0) {
+                return conflict;
+            }
+            tree.insert(start, end, reservationId);
+            bookings.put(reservationId, new Booking(roomId, start));
+            return null;
+        }
+    }
+
+    // Id of a reservation on the room overlapping [checkIn, checkOut), or null when the room is free
+    public Long findOverlap(String roomId, LocalDate checkIn, LocalDate checkOut) {
+        ReservationIntervalTree tree = tree(roomId);
+        synchronized (tree) {
+            long conflict = tree.findOverlap(checkIn.toEpochDay(), checkOut.toEpochDay(), -1);
+            return conflict >= 0 ? conflict : null;
+        }
+    }
+
+    // Release the room held by a reservation (cancelled, deleted or rolled back)
+    public void remove(Long reservationId) {
+        Booking booking = bookings.remove(reservationId);
+        if (booking == null) return;
+        ReservationIntervalTree tree = trees.get(booking.roomId());
+        if (tree == null) return;
+        synchronized (tree) {
+            tree.remove(booking.start(), reservationId);
+        }
+    }
+
+    // Forget a room so the next check reloads it, e.g. after another instance booked it
+    public void invalidate(String roomId) {
+        stale.add(roomId);
+        trees.remove(roomId);
+    }
+
+    private ReservationIntervalTree tree(String roomId) {
+        return trees.computeIfAbsent(roomId, r -> {
+            ReservationIntervalTree tree = new ReservationIntervalTree();
+            if (stale.remove(r)) {
+                for (Object[] row : reservationRepository.findActiveIntervalsByRoom(r)) {
+                    add(tree, row);
+                }
+            }
+            return tree;
+        });
+    }
+
+    // Rows without dates or with an empty stay cannot hold a room and are skipped
+    private boolean add(ReservationIntervalTree tree, Object[] row) {
+        Long id = (Long) row[0];
+        LocalDate checkIn = (LocalDate) row[2];
+        LocalDate checkOut = (LocalDate) row[3];
+        if (row[1] == null || checkIn == null || checkOut == null || !checkIn.isBefore(checkOut)) return false;
+        tree.insert(checkIn.toEpochDay(), checkOut.toEpochDay(), id);
+        bookings.put(id, new Booking((String) row[1], checkIn.toEpochDay()));
+        return true;
+    }
+}
@@ -0,0 +1,158 @@
+package com.nsbm.group03.reservationManagementService.service;
+
+/**
+ * Augmented AVL tree of half-open day intervals [start, end) for one room.
+ * Nodes are ordered by (start, reservationId) and each keeps the largest end
+ * in its subtree, so an overlap search can skip whole subtrees and runs in
+ * O(log n). Days are epoch days. Not thread-safe; callers lock per room.
+ */
+public class ReservationIntervalTree {
+
+    private static final class Node {
+        final long start;
+        final long end;
+        final long id;
+        long maxEnd;
+        int height = 1;
+        Node left;
+        Node right;
+
+        Node(long start, long end, long id) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.maxEnd = end;
+        }
+    }
+
+    private Node root;
+    private int size;
+    // set by insert/remove when the tree actually changed
+    private boolean changed;
+
+    public int size() {
+        return size;
+    }
+
+    public void insert(long start, long end, long id) {
+        if (start >= end) {
+            throw new IllegalArgumentException("Empty interval [" + start + ", " + end + ")");
+        }
+        changed = false;
+        root = insert(root, start, end, id);
+        if (changed) size++;
+    }
+
+    // Remove the interval of a reservation; start must match what was inserted
+    public boolean remove(long start, long id) {
+        changed = false;
+        root = remove(root, start, id);
+        if (changed) size--;
+        return changed;
+    }
+
+    /**
+     * Id of some interval overlapping [start, end), ignoring excludeId, or -1 when there is none
+     */
+    public long findOverlap(long start, long end, long excludeId) {
+        Node n = find(root, start, end, excludeId);
+        return n == null ? -1 : n.id;
+    }
+
+    private static Node find(Node n, long start, long end, long excludeId) {
+        // nothing in this subtree ends after the query starts
+        if (n == null || n.maxEnd <= start) return null;
+        if (n.left != null && n.left.maxEnd > start) {
+            Node found = find(n.left, start, end, excludeId);
+            if (found != null) return found;
+        }
+        if (n.start < end && start < n.end && n.id != excludeId) return n;
+        // the right subtree starts at or after n.start
+        if (n.start >= end) return null;
+        return find(n.right, start, end, excludeId);
+    }
+
+    // ---------- AVL maintenance ----------
+
+    private static int compare(long startA, long idA, Node b) {
+        int c = Long.compare(startA, b.start);
+        return c != 0 ? c : Long.compare(idA, b.id);
+    }
+
+    private Node insert(Node n, long start, long end, long id) {
+        if (n == null) {
+            changed = true;
+            return new Node(start, end, id);
+        }
+        int c = compare(start, id, n);
+        if (c == 0) return n;
+        if (c < 0) n.left = insert(n.left, start, end, id);
+        else n.right = insert(n.right, start, end, id);
+        return balance(n);
+    }
+
+    private Node remove(Node n, long start, long id) {
+        if (n == null) return null;
+        int c = compare(start, id, n);
+        if (c < 0) {
+            n.left = remove(n.left, start, id);
+        } else if (c > 0) {
+            n.right = remove(n.right, start, id);
+        } else {
+            changed = true;
+            if (n.left == null) return n.right;
+            if (n.right == null) return n.left;
+            Node successor = n.right;
+            while (successor.left != null) successor = successor.left;
+            Node replacement = new Node(successor.start, successor.end, successor.id);
+            replacement.right = remove(n.right, successor.start, successor.id);
+            replacement.left = n.left;
+            n = replacement;
+        }
+        return balance(n);
+    }
+
+    private static int height(Node n) {
+        return n == null ? 0 : n.height;
+    }
+
+    private static void update(Node n) {
+        n.height = 1 + Math.max(height(n.left), height(n.right));
+        long max = n.end;
+        if (n.left != null && n.left.maxEnd > max) max = n.left.maxEnd;
+        if (n.right != null && n.right.maxEnd > max) max = n.right.maxEnd;
+        n.maxEnd = max;
+    }
+
+    private static Node balance(Node n) {
+        update(n);
+        int factor = height(n.left) - height(n.right);
+        if (factor > 1) {
+            if (height(n.left.left) < height(n.left.right)) n.left = rotateLeft(n.left);
+            return rotateRight(n);
+        }
+        if (factor < -1) {
+            if (height(n.right.right) < height(n.right.left)) n.right = rotateRight(n.right);
+            return rotateLeft(n);
+        }
+        return n;
+    }
+
+    private static Node rotateRight(Node n) {
+        Node l = n.left;
+        n.left = l.right;
+        l.right = n;
+        update(n);
+        update(l);
+        return l;
+    }
+
+    private static Node rotateLeft(Node n) {
+        Node r = n.right;
+        n.right = r.left;
+        r.left = n;
+        update(n);
+        update(r);
+        return r;
+    }
+}
@@ -1,21 +1,28 @@
 package com.nsbm.group03.reservationManagementService.service;
 
 import com.nsbm.group03.reservationManagementService.dto.ReservationDTO;
+import com.nsbm.group03.reservationManagementService.dto.ReservationPageDTO;
+import com.nsbm.group03.reservationManagementService.dto.ReservationSearchDTO;
 import com.nsbm.group03.reservationManagementService.entity.Guest;
 import com.nsbm.group03.reservationManagementService.entity.Reservation;
+import com.nsbm.group03.reservationManagementService.exception.ReservationConflictException;
+import com.nsbm.group03.reservationManagementService.mapper.ReservationMapper;
 import com.nsbm.group03.reservationManagementService.repository.GuestRepository;
 import com.nsbm.group03.reservationManagementService.repository.ReservationRepository;
+import com.nsbm.group03.reservationManagementService.repository.ReservationSpecifications;
 import jakarta.transaction.Transactional;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeToken;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
-import java.util.HashMap;
-import java.util.Map;
-import org.springframework.web.client.RestTemplate;
 
 @Service
 @Transactional
@@ -28,89 +35,237 @@ public class ReservationService {
     private GuestRepository guestRepository;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private RoomStatusSync roomStatusSync;
 
     @Autowired
-    private RestTemplate restTemplate;
+    private EmailService emailService;
 
     @Autowired
-    private EmailService emailService;
+    private ReservationIntervalIndex intervalIndex;
+
+    @Autowired
+    private RoomNightGuard roomNightGuard;
 
-    private static final String ROOM_SERVICE_URL = "http://localhost:8082/api/rooms/updateStatus";
+    @Autowired
+    private IdempotencyStore idempotencyStore;
 
     // Save Reservation
     public ReservationDTO saveReservation(ReservationDTO reservationDTO) {
+        return saveReservation(reservationDTO, null);
+    }
+
+    /**
+     * Save a reservation sent with an Idempotency-Key. When the key table is enabled the
+     * key is claimed first, so a duplicate from another instance blocks on it and fails
+     * before doing any work, and it is linked to the reservation in the same transaction.
+     */
+    public ReservationDTO saveReservation(ReservationDTO reservationDTO, String idempotencyKey) {
+        boolean recordKey = idempotencyKey != null && idempotencyStore.isTableEnabled();
+        if (recordKey) {
+            idempotencyStore.claim(idempotencyKey, reservationDTO);
+        }
 
         Guest guest = guestRepository.findById(reservationDTO.getGuestId())
                 .orElseThrow(() -> new RuntimeException("Guest not found"));
 
-        Reservation reservation = modelMapper.map(reservationDTO, Reservation.class);
+        Reservation reservation = ReservationMapper.toEntity(reservationDTO);
+        if (reservation.getRoomId() == null || reservation.getCheckInDate() == null
+                || reservation.getCheckOutDate() == null
+                || !reservation.getCheckInDate().isBefore(reservation.getCheckOutDate())) {
+            throw new IllegalArgumentException("Room and a check-in date before the check-out date are required");
+        }
+        // POST always creates; an id sent by the client is ignored
+        reservation.setReservationId(null);
         reservation.setGuest(guest);
         reservation.setCreatedAt(LocalDateTime.now());
 
         reservationRepository.save(reservation);
+        if (!isCancelled(reservation.getStatus())) {
+            hold(reservation);
+        }
+        if (recordKey) {
+            idempotencyStore.complete(idempotencyKey, reservation.getReservationId());
+        }
 
-        // Send confirmation email
+        // Queue the confirmation email; it is sent after commit, off the request thread
         if (guest.getEmail() != null) {
             emailService.sendReservationConfirmationEmail(
                     guest.getEmail(),
                     guest.getFirstName() + " " + guest.getLastName(),
-                    reservation.getReservationId().toString(),
+                    reservation.getReservationId(),
                     reservation.getCheckInDate().toString(),
                     reservation.getCheckOutDate().toString(),
                     reservation.getRoomId(),
                     String.valueOf(reservation.getTotalAmount()));
         }
 
-        return modelMapper.map(reservation, ReservationDTO.class);
+        return ReservationMapper.toDTO(reservation);
     }
 
     // Get All Reservations
     public List<ReservationDTO> getAllReservations() {
         List<Reservation> list = reservationRepository.findAll();
-        return modelMapper.map(list, new TypeToken<List<ReservationDTO>>() {
-        }.getType());
+        return ReservationMapper.toDTOList(list);
+    }
+
+    /**
+     * One page of reservations matching the filter, ordered by check-in date then id.
+     * The cursor is the nextCursor of the previous page; keyset paging keeps every page
+     * as cheap as the first however deep the client goes.
+     */
+    public ReservationPageDTO searchReservations(ReservationSearchDTO filter, String cursor, int size) {
+        LocalDate afterCheckIn = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                afterCheckIn = LocalDate.parse(parts[0]);
+                afterId = Long.valueOf(parts[1]);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        Specification<Reservation> spec = Specification.allOf(searchFilter(filter),
+                ReservationSpecifications.after(afterCheckIn, afterId), ReservationSpecifications.fetchGuest());
+        Sort order = Sort.by("checkInDate", "reservationId");
+        // one extra row tells whether there is a next page without counting
+        List<Reservation> rows = reservationRepository.findBy(spec, q -> q.sortBy(order).limit(size + 1).all());
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            Reservation last = rows.get(size - 1);
+            nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                    (last.getCheckInDate() + "|" + last.getReservationId()).getBytes(StandardCharsets.UTF_8));
+        }
+        return new ReservationPageDTO(ReservationMapper.toDTOList(rows), nextCursor);
+    }
+
+    // Number of reservations matching the filter; a count query, no rows are loaded
+    public long countReservations(ReservationSearchDTO filter) {
+        return reservationRepository.count(searchFilter(filter));
+    }
+
+    private Specification<Reservation> searchFilter(ReservationSearchDTO filter) {
+        List<String> statuses = filter.getStatus() == null ? null
+                : filter.getStatus().stream().map(String::toUpperCase).toList();
+        return Specification.allOf(
+                ReservationSpecifications.statusIn(statuses),
+                ReservationSpecifications.roomId(filter.getRoomId()),
+                ReservationSpecifications.guestId(filter.getGuestId()),
+                ReservationSpecifications.checkInBetween(filter.getCheckInFrom(), filter.getCheckInTo()),
+                ReservationSpecifications.checkOutBetween(filter.getCheckOutFrom(), filter.getCheckOutTo()));
     }
 
     // Get Reservations By Guest
     public List<ReservationDTO> getReservationsByGuest(Long guestId) {
         List<Reservation> list = reservationRepository.findByGuest_GuestId(guestId);
-        return modelMapper.map(list, new TypeToken<List<ReservationDTO>>() {
-        }.getType());
+        return ReservationMapper.toDTOList(list);
     }
 
     // Update Status
     public ReservationDTO updateStatus(Long id, String status) {
-        Reservation reservation = reservationRepository.findById(id)
+        // locked so a running room_night reconcile corrects this reservation before or after us, never in between
+        Reservation reservation = reservationRepository.lockById(id)
                 .orElseThrow(() -> new RuntimeException("Reservation not found"));
 
+        boolean wasHolding = !isCancelled(reservation.getStatus());
         reservation.setStatus(status.toUpperCase());
         reservationRepository.save(reservation);
 
-        // Sync with Room Service
+        // Cancelling frees the room; reinstating a cancelled reservation must find it free again
+        boolean holding = !isCancelled(reservation.getStatus());
+        if (wasHolding && !holding) {
+            release(reservation.getReservationId());
+        } else if (!wasHolding && holding) {
+            hold(reservation);
+        }
+
+        // Sync with Room Service; delivered after commit by RoomStatusSync
         if (status.equalsIgnoreCase("CHECKED-IN")) {
-            syncRoomStatus(reservation.getRoomId(), "OCCUPIED");
+            roomStatusSync.enqueue(reservation.getRoomId(), "OCCUPIED", "RESERVATION");
         } else if (status.equalsIgnoreCase("CHECKED-OUT")) {
-            syncRoomStatus(reservation.getRoomId(), "MAINTENANCE");
+            roomStatusSync.enqueue(reservation.getRoomId(), "MAINTENANCE", "RESERVATION");
         }
 
-        return modelMapper.map(reservation, ReservationDTO.class);
-    }
-
-    private void syncRoomStatus(String roomNumber, String roomStatus) {
-        try {
-            Map<String, Object> request = new HashMap<>();
-            request.put("roomNumber", roomNumber);
-            request.put("status", roomStatus);
-            restTemplate.patchForObject(ROOM_SERVICE_URL, request, Object.class);
-        } catch (Exception e) {
-            System.err.println("Failed to sync room status for room " + roomNumber + ": " + e.getMessage());
-        }
+        return ReservationMapper.toDTO(reservation);
     }
 
     // Delete Reservation
     public boolean deleteReservation(Long id) {
+        reservationRepository.lockById(id);
+        release(id);
         reservationRepository.deleteById(id);
         return true;
     }
+
+    // ---------- double booking guard ----------
+
+    /**
+     * Claim the reservation's room for its stay: the interval index rejects an overlap
+     * with a reservation this instance knows about, the room_night unique key one made
+     * elsewhere. Throws ReservationConflictException (409) either way.
+     */
+    private void hold(Reservation reservation) {
+        String roomId = reservation.getRoomId();
+        Long id = reservation.getReservationId();
+        Long conflict = intervalIndex.tryReserve(roomId, id, reservation.getCheckInDate(), reservation.getCheckOutDate());
+        if (conflict != null && !stillHoldsRoom(conflict, roomId)) {
+            // cancelled or deleted by another instance; reload the room and look again
+            intervalIndex.invalidate(roomId);
+            conflict = intervalIndex.tryReserve(roomId, id, reservation.getCheckInDate(), reservation.getCheckOutDate());
+        }
+        if (conflict != null) {
+            throw new ReservationConflictException("Room " + roomId + " is already booked by reservation #"
+                    + conflict + " for overlapping dates");
+        }
+        afterRollback(() -> intervalIndex.remove(id));
+
+        try {
+            roomNightGuard.claim(reservation);
+        } catch (ReservationConflictException e) {
+            // booked through another instance; our view of the room is out of date
+            afterRollback(() -> intervalIndex.invalidate(roomId));
+            throw e;
+        }
+    }
+
+    private void release(Long reservationId) {
+        roomNightGuard.release(reservationId);
+        afterCommit(() -> intervalIndex.remove(reservationId));
+    }
+
+    private boolean stillHoldsRoom(Long reservationId, String roomId) {
+        return reservationRepository.findById(reservationId)
+                .filter(r -> roomId.equals(r.getRoomId()) && !isCancelled(r.getStatus()))
+                .isPresent();
+    }
+
+    private static boolean isCancelled(String status) {
+        return "CANCELLED".equalsIgnoreCase(status);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static void afterRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) action.run();
+            }
+        });
+    }
 }
\ No newline at end of file
@@ -0,0 +1,147 @@
+package com.nsbm.group03.reservationManagementService.service;
+
+import com.nsbm.group03.reservationManagementService.entity.Reservation;
+import com.nsbm.group03.reservationManagementService.entity.RoomNight;
+import com.nsbm.group03.reservationManagementService.exception.ReservationConflictException;
+import com.nsbm.group03.reservationManagementService.repository.ReservationRepository;
+import com.nsbm.group03.reservationManagementService.repository.RoomNightRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Database-side double booking guard. Each reservation writes one room_night row
+ * per night from today on, and the (room_id, night) unique key rejects a second
+ * reservation for the same night even when it comes from another instance whose
+ * interval index has not seen the first one. Past nights are not written: they
+ * can no longer be booked through the index and keeping them would only grow the table.
+ */
+@Component
+public class RoomNightGuard {
+
+    @Autowired
+    private RoomNightRepository roomNightRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Claim the reservation's nights; joins the caller's transaction
+    public void claim(Reservation reservation) {
+        List<RoomNight> nights = nightsOf(reservation);
+        if (nights.isEmpty()) return;
+        try {
+            roomNightRepository.saveAllAndFlush(nights);
+        } catch (DataIntegrityViolationException e) {
+            throw new ReservationConflictException("Room " + reservation.getRoomId()
+                    + " is already booked for some nights between " + reservation.getCheckInDate()
+                    + " and " + reservation.getCheckOutDate());
+        }
+    }
+
+    public void release(Long reservationId) {
+        roomNightRepository.deleteByReservationId(reservationId);
+    }
+
+    // Fill room_night for upcoming stays the first time the service runs with the table
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (roomNightRepository.count() > 0) return;
+        System.out.println("Backfilled room nights for " + reconcile() + " upcoming reservations");
+    }
+
+    /**
+     * Bring room_night in line with the reservation table in place, one reservation at a
+     * time: nights it should hold and does not are inserted, nights it holds but should not
+     * (cancelled, deleted, past) are deleted. Correct rows are never touched, so the unique
+     * key keeps guarding them for every instance while this runs. Returns the reservations
+     * whose nights were corrected.
+     *
+     * Each reservation is locked and reconciled in a transaction of its own, so it cannot
+     * interleave with a status change or delete of that reservation, and one clash does not
+     * undo the rest. Reconciles on one instance run one at a time.
+     */
+    public synchronized int reconcile() {
+        Set<Long> ids = new TreeSet<>(roomNightRepository.findReservationIds());
+        for (Reservation reservation : reservationRepository.findActiveEndingAfter(LocalDate.now())) {
+            ids.add(reservation.getReservationId());
+        }
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int corrected = 0;
+        for (Long id : ids) {
+            try {
+                if (Boolean.TRUE.equals(transaction.execute(status -> reconcile(id)))) corrected++;
+            } catch (DataIntegrityViolationException e) {
+                reportOverlap(id);
+            }
+        }
+        System.out.println("Reconciled room nights: " + corrected + " of " + ids.size() + " reservations corrected");
+        return corrected;
+    }
+
+    // Make one reservation's rows match its stay; true when anything changed
+    private boolean reconcile(Long id) {
+        Reservation reservation = reservationRepository.lockById(id).orElse(null);
+        List<RoomNight> expected = reservation == null || "CANCELLED".equalsIgnoreCase(reservation.getStatus())
+                ? List.of() : nightsOf(reservation);
+        List<RoomNight> held = roomNightRepository.findByReservationId(id);
+
+        Set<String> wanted = new HashSet<>();
+        expected.forEach(n -> wanted.add(key(n)));
+        Set<String> present = new HashSet<>();
+        List<RoomNight> stale = new ArrayList<>();
+        for (RoomNight night : held) {
+            present.add(key(night));
+            if (!wanted.contains(key(night))) stale.add(night);
+        }
+        List<RoomNight> missing = expected.stream().filter(n -> !present.contains(key(n))).toList();
+        if (stale.isEmpty() && missing.isEmpty()) return false;
+
+        roomNightRepository.deleteAllInBatch(stale);
+        roomNightRepository.saveAllAndFlush(missing);
+        return true;
+    }
+
+    // A reservation whose nights are held by another: both exist in the reservation table
+    private void reportOverlap(Long id) {
+        Reservation reservation = reservationRepository.findById(id).orElse(null);
+        if (reservation == null) return;
+        List<LocalDate> nights = nightsOf(reservation).stream().map(RoomNight::getNight).toList();
+        List<Long> holders = nights.isEmpty() ? List.of()
+                : roomNightRepository.findHolders(reservation.getRoomId(), nights);
+        System.err.println("Double booking: reservation " + id + " (room " + reservation.getRoomId() + ", "
+                + reservation.getCheckInDate() + " to " + reservation.getCheckOutDate()
+                + ") overlaps reservation(s) " + holders + "; it holds no room nights until one is moved or cancelled");
+    }
+
+    private static String key(RoomNight night) {
+        return night.getRoomId() + "|" + night.getNight();
+    }
+
+    private static List<RoomNight> nightsOf(Reservation reservation) {
+        List<RoomNight> nights = new ArrayList<>();
+        if (reservation.getRoomId() == null || reservation.getCheckInDate() == null
+                || reservation.getCheckOutDate() == null) {
+            return nights;
+        }
+        LocalDate today = LocalDate.now();
+        LocalDate night = reservation.getCheckInDate().isBefore(today) ? today : reservation.getCheckInDate();
+        for (; night.isBefore(reservation.getCheckOutDate()); night = night.plusDays(1)) {
+            nights.add(new RoomNight(null, reservation.getRoomId(), night, reservation.getReservationId()));
+        }
+        return nights;
+    }
+}
@@ -0,0 +1,242 @@
+package com.nsbm.group03.reservationManagementService.service;
+
+import com.nsbm.group03.reservationManagementService.entity.OutboxStatus;
+import com.nsbm.group03.reservationManagementService.entity.RoomStatusOutbox;
+import com.nsbm.group03.reservationManagementService.repository.RoomStatusOutboxRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pushes room status changes caused by reservations (check-in, check-out) to the
+ * room service. A change is queued in room_status_outbox inside the reservation's
+ * transaction, coalesced per room, and sent after commit in batches to the room
+ * service's bulk status endpoint. Failed rooms are retried with exponential
+ * backoff and marked DEAD after max-attempts, until the room changes again.
+ */
+@Service
+public class RoomStatusSync implements MeterBinder {
+
+    private static final String BULK_STATUS_PATH = "/api/rooms/status/bulk";
+
+    // Published on enqueue so the sender runs right after commit
+    public record StatusQueued(String roomId) {
+    }
+
+    @Autowired
+    private RoomStatusOutboxRepository outboxRepository;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final String bulkStatusUrl;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(r -> new Thread(r, "room-status-sync"));
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicBoolean rerun = new AtomicBoolean();
+
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong dead = new AtomicLong();
+    private final AtomicReference<LocalDateTime> oldestPending = new AtomicReference<>();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+
+    public RoomStatusSync(@Value("${reservation.room-service.url:http://localhost:8082}") String roomServiceUrl,
+            @Value("${reservation.room-sync.batch-size:100}") int batchSize,
+            @Value("${reservation.room-sync.max-attempts:10}") int maxAttempts,
+            @Value("${reservation.room-sync.initial-backoff:5s}") Duration initialBackoff,
+            @Value("${reservation.room-sync.max-backoff:10m}") Duration maxBackoff,
+            @Value("${reservation.room-sync.lease:2m}") Duration lease) {
+        this.bulkStatusUrl = roomServiceUrl.replaceAll("/+$", "") + BULK_STATUS_PATH;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.lease = lease;
+    }
+
+    // Queue a room's new status; joins the caller's transaction and replaces any unsent status of the room
+    public void enqueue(String roomId, String status, String changedBy) {
+        outboxRepository.upsert(roomId, status, changedBy, LocalDateTime.now());
+        eventPublisher.publishEvent(new StatusQueued(roomId));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStatusQueued(StatusQueued event) {
+        wake();
+    }
+
+    // Retries that became due, and anything a wake-up missed
+    @Scheduled(fixedDelayString = "${reservation.room-sync.poll-interval-ms:1000}")
+    public void wake() {
+        rerun.set(true);
+        if (running.compareAndSet(false, true)) {
+            sender.execute(this::run);
+        }
+    }
+
+    private void run() {
+        try {
+            while (rerun.getAndSet(false)) {
+                while (sendBatch() == batchSize) {
+                    // a full batch means more rooms are due
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Room status sync failed: " + e.getMessage());
+        } finally {
+            refreshGauges();
+            running.set(false);
+            if (rerun.get()) wake();
+        }
+    }
+
+    // Claim up to batch-size due rooms and send them in one request; returns how many were due
+    private int sendBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<RoomStatusOutbox> due = outboxRepository.findDue(now, PageRequest.of(0, batchSize));
+        List<RoomStatusOutbox> claimed = new ArrayList<>(due.size());
+        for (RoomStatusOutbox row : due) {
+            if (outboxRepository.claim(row.getRoomId(), row.getVersion(), row.getNextAttemptAt(), now.plus(lease)) == 1) {
+                claimed.add(row);
+            }
+        }
+        if (claimed.isEmpty()) return due.size();
+
+        List<Map<String, Object>> items = new ArrayList<>(claimed.size());
+        for (RoomStatusOutbox row : claimed) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("roomNumber", row.getRoomId());
+            item.put("status", row.getStatus());
+            item.put("changedBy", row.getChangedBy());
+            items.add(item);
+        }
+
+        batches.incrementAndGet();
+        List<Map<String, Object>> results;
+        try {
+            results = restTemplate.exchange(bulkStatusUrl, HttpMethod.POST, new HttpEntity<>(items),
+                    new ParameterizedTypeReference<List<Map<String, Object>>>() {
+                    }).getBody();
+        } catch (RuntimeException e) {
+            // the whole batch failed (room service down, timeout, 409, 5xx)
+            for (RoomStatusOutbox row : claimed) {
+                failed(row, e.getClass().getSimpleName() + ": " + e.getMessage());
+            }
+            return due.size();
+        }
+
+        for (int i = 0; i < claimed.size(); i++) {
+            RoomStatusOutbox row = claimed.get(i);
+            Map<String, Object> result = results != null && i < results.size() ? results.get(i) : null;
+            if (result != null && Boolean.TRUE.equals(result.get("success"))) {
+                outboxRepository.deleteDelivered(row.getRoomId(), row.getVersion());
+                sent.incrementAndGet();
+            } else {
+                failed(row, result == null ? "No result returned" : String.valueOf(result.get("message")));
+            }
+        }
+        return due.size();
+    }
+
+    private void failed(RoomStatusOutbox row, String error) {
+        failures.incrementAndGet();
+        int attempts = row.getAttempts() + 1;
+        OutboxStatus state = attempts >= maxAttempts ? OutboxStatus.DEAD : OutboxStatus.PENDING;
+        if (state == OutboxStatus.DEAD) {
+            System.err.println("Giving up syncing room " + row.getRoomId() + " to " + row.getStatus() + ": " + error);
+        }
+        String message = error.length() > 1000 ? error.substring(0, 1000) : error;
+        outboxRepository.recordFailure(row.getRoomId(), row.getVersion(), attempts,
+                LocalDateTime.now().plus(backoff(attempts)), state, message);
+    }
+
+    // initial * 2^(attempt-1), capped, with +-20% jitter
+    private Duration backoff(int attempt) {
+        long base = initialBackoff.toMillis() << Math.min(attempt - 1, 30);
+        if (base <= 0 || base > maxBackoff.toMillis()) base = maxBackoff.toMillis();
+        long jitter = (long) (base * 0.2 * (ThreadLocalRandom.current().nextDouble() * 2 - 1));
+        return Duration.ofMillis(Math.max(0, base + jitter));
+    }
+
+    private void refreshGauges() {
+        try {
+            pending.set(outboxRepository.countByState(OutboxStatus.PENDING));
+            dead.set(outboxRepository.countByState(OutboxStatus.DEAD));
+            oldestPending.set(outboxRepository.findOldestPending());
+        } catch (RuntimeException e) {
+            System.err.println("Failed to read room status sync backlog: " + e.getMessage());
+        }
+    }
+
+    // Seconds since the oldest undelivered change was queued; 0 when fully synced
+    public double getLagSeconds() {
+        LocalDateTime oldest = oldestPending.get();
+        return oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis() / 1000.0);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("reservation.room_sync.lag", this, RoomStatusSync::getLagSeconds)
+                .description("Age of the oldest room status change not yet delivered to the room service")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("reservation.room_sync.pending", pending, AtomicLong::get)
+                .description("Rooms with a status change waiting to be delivered")
+                .register(registry);
+        Gauge.builder("reservation.room_sync.dead", dead, AtomicLong::get)
+                .description("Rooms whose status change gave up after max-attempts")
+                .register(registry);
+        FunctionCounter.builder("reservation.room_sync.sent", sent, AtomicLong::get)
+                .description("Room status changes delivered")
+                .register(registry);
+        FunctionCounter.builder("reservation.room_sync.failures", failures, AtomicLong::get)
+                .description("Failed deliveries of a room status change, including retries")
+                .register(registry);
+        FunctionCounter.builder("reservation.room_sync.batches", batches, AtomicLong::get)
+                .description("Bulk status requests sent to the room service")
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // rows in flight stay leased and are sent again once the lease ends
+        sender.shutdownNow();
+    }
+}
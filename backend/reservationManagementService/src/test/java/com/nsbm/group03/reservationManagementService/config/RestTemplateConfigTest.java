@@ -0,0 +1,168 @@
+package com.nsbm.group03.reservationManagementService.config;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the pooled RestTemplate against a local stub that answers GET /delay/{ms}
+ * after sleeping that long.
+ */
+class RestTemplateConfigTest {
+
+    private static final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private static final HttpServer stub = startStub();
+    private static final String url = "http://localhost:" + stub.getAddress().getPort() + "/delay/{ms}";
+
+    private MeterRegistry meterRegistry;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() {
+        clientPorts.clear();
+        // two connections per route, 300 ms to answer, 200 ms to wait for a connection
+        RestTemplateConfig config = new RestTemplateConfig(10, 2, Duration.ofSeconds(1), Duration.ofSeconds(1),
+                Duration.ofMillis(300), Duration.ofMillis(200), Duration.ofSeconds(30), Duration.ofSeconds(60));
+        meterRegistry = new SimpleMeterRegistry();
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+
+        connectionManager = config.httpConnectionManager();
+        httpClient = config.httpClient(connectionManager);
+        config.httpClientPoolMetrics(connectionManager).bindTo(meterRegistry);
+        restTemplate = config.restTemplate(httpClient,
+                new StaticListableBeanFactory(Map.of("observationRegistry", observationRegistry))
+                        .getBeanProvider(ObservationRegistry.class));
+    }
+
+    @AfterEach
+    void close() throws IOException {
+        httpClient.close();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+    }
+
+    @Test
+    void sequentialCallsReuseOneConnection() {
+        for (int i = 0; i < 20; i++) {
+            assertEquals("ok", restTemplate.getForObject(url, String.class, 0));
+        }
+        assertEquals(1, clientPorts.size());
+    }
+
+    @Test
+    void slowResponseFailsAtTheResponseTimeout() {
+        long started = System.nanoTime();
+        assertThrows(ResourceAccessException.class, () -> restTemplate.getForObject(url, String.class, 3000));
+        long millis = (System.nanoTime() - started) / 1_000_000;
+        assertTrue(millis < 1500, "call took " + millis + " ms with a 300 ms response timeout");
+    }
+
+    @Test
+    void saturatedRouteFailsAtThePoolTimeout() throws Exception {
+        // both connections of the route busy on calls that will time out
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        CountDownLatch done = new CountDownLatch(2);
+        for (int i = 0; i < 2; i++) {
+            callers.execute(() -> {
+                try {
+                    restTemplate.getForObject(url, String.class, 1000);
+                } catch (ResourceAccessException expected) {
+                    // timed out, as intended
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        Thread.sleep(100);
+
+        long started = System.nanoTime();
+        assertThrows(ResourceAccessException.class, () -> restTemplate.getForObject(url, String.class, 0));
+        long millis = (System.nanoTime() - started) / 1_000_000;
+        assertTrue(millis < 290, "waited " + millis + " ms for a connection with a 200 ms pool timeout");
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        callers.shutdown();
+    }
+
+    @Test
+    void latencyIsRecordedPerUriTemplateAndPoolIsMetered() {
+        restTemplate.getForObject(url, String.class, 0);
+        restTemplate.getForObject(url, String.class, 50);
+
+        Timer timer = meterRegistry.find("http.client.requests").tag("uri", "/delay/{ms}").timer();
+        assertNotNull(timer);
+        assertEquals(2, timer.count());
+        assertTrue(timer.max(TimeUnit.MILLISECONDS) >= 50);
+
+        assertEquals(10, meterRegistry.get("httpcomponents.httpclient.pool.total.max").gauge().value());
+        assertEquals(1, meterRegistry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("state", "available").gauge().value());
+    }
+
+    private static HttpServer startStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.createContext("/delay/", exchange -> {
+                clientPorts.add(exchange.getRemoteAddress().getPort());
+                long delay = Long.parseLong(exchange.getRequestURI().getPath().substring("/delay/".length()));
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                byte[] bytes = "ok".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "text/plain");
+                try {
+                    exchange.sendResponseHeaders(200, bytes.length);
+                    try (OutputStream out = exchange.getResponseBody()) {
+                        out.write(bytes);
+                    }
+                } catch (IOException e) {
+                    // the client gave up waiting
+                    exchange.close();
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start stub server", e);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.nsbm.group03.reservationManagementService.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.nsbm.group03.reservationManagementService.dto.ReservationDTO;
+import com.nsbm.group03.reservationManagementService.entity.EmailOutboxMessage;
+import com.nsbm.group03.reservationManagementService.entity.Guest;
+import com.nsbm.group03.reservationManagementService.entity.OutboxStatus;
+import com.nsbm.group03.reservationManagementService.repository.EmailOutboxRepository;
+import com.nsbm.group03.reservationManagementService.repository.GuestRepository;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Books against an in-memory database with GreenMail as the SMTP server. The mail
+ * sender is wrapped so tests can make SMTP slow or failing.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "reservation.mail.outbox.max-attempts=2",
+        "reservation.mail.outbox.initial-backoff=100ms",
+        "reservation.mail.outbox.max-backoff=200ms",
+        "reservation.mail.outbox.poll-interval-ms=100"})
+class EmailOutboxTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private static final AtomicLong smtpDelayMillis = new AtomicLong();
+    private static final AtomicBoolean smtpDown = new AtomicBoolean();
+
+    @TestConfiguration
+    static class SlowSmtp {
+
+        @Bean
+        @Primary
+        JavaMailSender slowMailSender() {
+            JavaMailSenderImpl sender = new JavaMailSenderImpl() {
+                @Override
+                public void send(SimpleMailMessage... messages) {
+                    try {
+                        Thread.sleep(smtpDelayMillis.get());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    if (smtpDown.get()) throw new MailSendException("SMTP unavailable");
+                    super.send(messages);
+                }
+            };
+            sender.setHost("localhost");
+            sender.setPort(ServerSetupTest.SMTP.getPort());
+            return sender;
+        }
+    }
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private GuestRepository guestRepository;
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private EmailOutbox emailOutbox;
+
+    @AfterEach
+    void resetSmtp() {
+        smtpDelayMillis.set(0);
+        smtpDown.set(false);
+    }
+
+    @Test
+    void bookingDoesNotWaitForSlowSmtp() throws Exception {
+        smtpDelayMillis.set(3000);
+        ReservationDTO request = reservation("outbox-slow@example.com", "901");
+
+        long started = System.nanoTime();
+        ReservationDTO saved = reservationService.saveReservation(request);
+        long bookingMillis = (System.nanoTime() - started) / 1_000_000;
+
+        assertTrue(bookingMillis < 1000, "booking took " + bookingMillis + " ms with a 3000 ms SMTP server");
+        assertTrue(greenMail.waitForIncomingEmail(10_000, 1));
+        MimeMessage received = greenMail.getReceivedMessages()[0];
+        assertTrue(received.getSubject().startsWith("Reservation Confirmed"));
+        EmailOutboxMessage message = await(() -> single(saved.getReservationId()), OutboxStatus.SENT);
+        assertEquals(1, message.getAttempts());
+    }
+
+    @Test
+    void failedMailIsRetriedThenDeadLetteredAndReplayed() throws Exception {
+        smtpDown.set(true);
+        ReservationDTO saved = reservationService.saveReservation(reservation("outbox-down@example.com", "902"));
+
+        EmailOutboxMessage dead = await(() -> single(saved.getReservationId()), OutboxStatus.DEAD);
+        assertEquals(2, dead.getAttempts());
+        assertTrue(dead.getLastError().contains("SMTP unavailable"));
+        assertEquals(0, greenMail.getReceivedMessages().length);
+
+        smtpDown.set(false);
+        emailOutbox.replay(dead.getId());
+
+        assertTrue(greenMail.waitForIncomingEmail(10_000, 1));
+        await(() -> single(saved.getReservationId()), OutboxStatus.SENT);
+    }
+
+    private ReservationDTO reservation(String email, String roomId) {
+        Guest guest = guestRepository.save(new Guest(null, "Test", "Guest", null, null, email));
+        ReservationDTO dto = new ReservationDTO();
+        dto.setGuestId(guest.getGuestId());
+        dto.setRoomId(roomId);
+        dto.setCheckInDate(LocalDate.now().plusDays(10));
+        dto.setCheckOutDate(LocalDate.now().plusDays(12));
+        dto.setTotalAmount(10000);
+        dto.setStatus("CONFIRMED");
+        return dto;
+    }
+
+    private EmailOutboxMessage single(Long reservationId) {
+        List<EmailOutboxMessage> messages = outboxRepository.findByReservationIdOrderByCreatedAtDesc(reservationId);
+        assertEquals(1, messages.size());
+        return messages.get(0);
+    }
+
+    private static EmailOutboxMessage await(Supplier<EmailOutboxMessage> read, OutboxStatus status)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        EmailOutboxMessage message = read.get();
+        while (message.getStatus() != status && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            message = read.get();
+        }
+        assertEquals(status, message.getStatus());
+        return message;
+    }
+}
@@ -0,0 +1,121 @@
+package com.nsbm.group03.reservationManagementService.service;
+
+import com.nsbm.group03.reservationManagementService.dto.GuestDTO;
+import com.nsbm.group03.reservationManagementService.entity.Guest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GuestSearchIndexTest {
+
+    private static Guest guest(long id, String first, String last, String phone, String nic, String email) {
+        return new Guest(id, first, last, phone, nic, email);
+    }
+
+    private static List<Long> ids(List<GuestDTO> guests) {
+        return guests.stream().map(GuestDTO::getGuestId).toList();
+    }
+
+    private static GuestSearchIndex sample() {
+        GuestSearchIndex index = new GuestSearchIndex();
+        index.put(guest(1, "John", "Perera", "077 123 4567", "901234567V", "john.perera@gmail.com"));
+        index.put(guest(2, "Johnathan", "Silva", "0719876543", "199078901122", "jsilva@yahoo.com"));
+        index.put(guest(3, "Nimal", "Fernando", "0765551234", "881112223V", "nimal@hotel.lk"));
+        index.put(guest(4, "Kamala", "Johnson", "0701112233", "775554443V", "kamala.j@gmail.com"));
+        return index;
+    }
+
+    @Test
+    void findsByPrefixSubstringAndTypo() {
+        GuestSearchIndex index = sample();
+
+        assertEquals(List.of(1L, 2L, 4L), ids(index.search("joh", 10)).stream().sorted().toList());
+        assertEquals(List.of(3L), ids(index.search("fern", 10)));
+        assertEquals(List.of(1L), ids(index.search("4567", 10)));
+        assertTrue(ids(index.search("Jonh Perera", 10)).contains(1L));
+        assertTrue(index.search("x", 10).isEmpty());
+        assertTrue(index.search("zzzz", 10).isEmpty());
+    }
+
+    @Test
+    void exactIdentifierReturnsOnlyThatGuest() {
+        GuestSearchIndex index = sample();
+
+        assertEquals(List.of(1L), ids(index.search("077-123-4567", 10)));
+        assertEquals(List.of(3L), ids(index.search("881112223v", 10)));
+        assertEquals(List.of(4L), ids(index.search("KAMALA.J@gmail.com", 10)));
+        assertEquals(1L, index.search("john perera", 10).get(0).getGuestId());
+        assertEquals(2, index.search("joh", 2).size());
+    }
+
+    @Test
+    void sharedIdentifierReturnsEveryGuestHoldingIt() {
+        GuestSearchIndex index = new GuestSearchIndex();
+        index.put(guest(1, "Sunil", "Perera", "0771234567", "701234567V", "family@perera.lk"));
+        index.put(guest(2, "Malini", "Perera", "0771234567", "721234567V", "family@perera.lk"));
+        index.put(guest(3, "Ruwan", "Perera", "0779999999", "951234567V", "ruwan@perera.lk"));
+
+        assertEquals(List.of(2L, 1L), ids(index.search("077 123 4567", 10)));
+        assertEquals(List.of(2L, 1L), ids(index.search("family@perera.lk", 10)));
+        assertEquals(List.of(2L), ids(index.search("family@perera.lk", 1)));
+
+        // removing one holder keeps the other findable
+        index.remove(2L);
+        assertEquals(List.of(1L), ids(index.search("0771234567", 10)));
+        assertEquals(List.of(1L), ids(index.search("family@perera.lk", 10)));
+    }
+
+    @Test
+    void followsUpdatesAndRemovals() {
+        GuestSearchIndex index = sample();
+
+        index.put(guest(3, "Nimal", "Rajapaksa", "0765551234", "881112223V", "nimal@hotel.lk"));
+        assertTrue(index.search("fernando", 10).isEmpty());
+        assertEquals(List.of(3L), ids(index.search("rajapaksa", 10)));
+
+        index.remove(1L);
+        assertTrue(index.search("perera", 10).isEmpty());
+        assertEquals(3, index.size());
+
+        // enough churn to trigger compaction; results must not change
+        for (int i = 0; i < 5000; i++) {
+            index.put(guest(4, "Kamala", "Johnson", "0701112233", "775554443V", "kamala.j@gmail.com"));
+        }
+        assertEquals(List.of(4L), ids(index.search("johnson", 10)));
+        assertEquals(List.of(3L), ids(index.search("rajapaksa", 10)));
+        assertEquals(3, index.size());
+    }
+
+    // mvn test -Dtest=GuestSearchIndexTest -Dbenchmark=true
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void searchesHalfAMillionGuestsUnderAMillisecond() {
+        String[] first = {"Nimal", "Kamal", "Sunil", "Amara", "Dilani", "Ruwan", "Chamari", "Kasun", "Ishara", "Tharindu"};
+        String[] last = {"Perera", "Fernando", "Silva", "Bandara", "Jayasinghe", "Wickramasinghe", "Dissanayake", "Gunawardena"};
+        Random random = new Random(7);
+        GuestSearchIndex index = new GuestSearchIndex();
+        for (long id = 1; id <= 500_000; id++) {
+            String f = first[random.nextInt(first.length)] + (char) ('a' + random.nextInt(26));
+            String l = last[random.nextInt(last.length)];
+            index.put(guest(id, f, l, "07" + (10_000_000 + random.nextInt(90_000_000)), (800_000_000L + id) + "V",
+                    f.toLowerCase() + id + "@gmail.com"));
+        }
+        String[] queries = {"nimala perera", "0712345", "800012345v", "jayasin", "kasunx", "amra fernando", "dilani7@"};
+        for (int i = 0; i < 2000; i++) {
+            index.search(queries[i % queries.length], 20);
+        }
+        int runs = 5000;
+        long started = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            index.search(queries[i % queries.length], 20);
+        }
+        double micros = (System.nanoTime() - started) / 1000.0 / runs;
+        System.out.println("Guest search over 500k guests: " + micros + " us per query");
+        assertTrue(micros < 1000, "average query took " + micros + " us");
+    }
+}
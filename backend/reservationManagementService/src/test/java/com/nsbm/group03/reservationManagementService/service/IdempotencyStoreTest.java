@@ -0,0 +1,138 @@
+package com.nsbm.group03.reservationManagementService.service;
+
+import com.nsbm.group03.reservationManagementService.dto.ReservationDTO;
+import com.nsbm.group03.reservationManagementService.entity.Guest;
+import com.nsbm.group03.reservationManagementService.exception.IdempotencyKeyMismatchException;
+import com.nsbm.group03.reservationManagementService.repository.GuestRepository;
+import com.nsbm.group03.reservationManagementService.repository.IdempotencyRecordRepository;
+import com.nsbm.group03.reservationManagementService.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:idempotency;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "reservation.idempotency.table.enabled=true"})
+class IdempotencyStoreTest {
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository recordRepository;
+
+    @Autowired
+    private GuestRepository guestRepository;
+
+    private Long guestId;
+
+    @BeforeEach
+    void createGuest() {
+        String tag = UUID.randomUUID().toString().substring(0, 8);
+        guestId = guestRepository.save(new Guest(null, "Idem", "Potent", tag, tag, null)).getGuestId();
+    }
+
+    private ReservationDTO request(String room, int daysAhead) {
+        ReservationDTO dto = new ReservationDTO();
+        dto.setGuestId(guestId);
+        dto.setRoomId(room);
+        dto.setCheckInDate(LocalDate.now().plusDays(daysAhead));
+        dto.setCheckOutDate(LocalDate.now().plusDays(daysAhead + 2));
+        dto.setTotalAmount(10000);
+        dto.setStatus("CONFIRMED");
+        return dto;
+    }
+
+    // what POST /api/reservations does with an Idempotency-Key
+    private IdempotencyStore.Outcome post(String key, ReservationDTO dto) {
+        return idempotencyStore.execute(key, dto, () -> reservationService.saveReservation(dto, key));
+    }
+
+    @Test
+    void retryReturnsTheFirstReservation() {
+        String key = UUID.randomUUID().toString();
+        IdempotencyStore.Outcome first = post(key, request("601", 5));
+        IdempotencyStore.Outcome retry = post(key, request("601", 5));
+
+        assertFalse(first.replayed());
+        assertTrue(retry.replayed());
+        assertEquals(first.reservation().getReservationId(), retry.reservation().getReservationId());
+        assertEquals(1, reservationRepository.findByGuest_GuestId(guestId).size());
+        assertEquals(first.reservation().getReservationId(), recordRepository.findById(key).orElseThrow().getReservationId());
+    }
+
+    @Test
+    void concurrentDuplicatesWaitForTheFirst() throws Exception {
+        String key = UUID.randomUUID().toString();
+        int clients = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<IdempotencyStore.Outcome>> outcomes = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            outcomes.add(pool.submit(() -> {
+                start.await();
+                return post(key, request("602", 5));
+            }));
+        }
+        start.countDown();
+
+        Set<Long> ids = new HashSet<>();
+        int replayed = 0;
+        for (Future<IdempotencyStore.Outcome> outcome : outcomes) {
+            ids.add(outcome.get().reservation().getReservationId());
+            if (outcome.get().replayed()) replayed++;
+        }
+        pool.shutdown();
+
+        assertEquals(1, ids.size());
+        assertEquals(clients - 1, replayed);
+        assertEquals(1, reservationRepository.findByGuest_GuestId(guestId).size());
+    }
+
+    @Test
+    void keyReusedForAnotherRequestIsRejected() {
+        String key = UUID.randomUUID().toString();
+        post(key, request("603", 5));
+
+        assertThrows(IdempotencyKeyMismatchException.class, () -> post(key, request("603", 9)));
+    }
+
+    @Test
+    void failedRequestIsNotRemembered() {
+        String key = UUID.randomUUID().toString();
+        ReservationDTO invalid = request("604", 5);
+        invalid.setCheckOutDate(invalid.getCheckInDate());
+
+        assertThrows(IllegalArgumentException.class, () -> post(key, invalid));
+        assertFalse(recordRepository.existsById(key));
+        assertFalse(post(key, request("604", 5)).replayed());
+    }
+}
@@ -0,0 +1,100 @@
+package com.nsbm.group03.reservationManagementService.service;
+
+import com.nsbm.group03.reservationManagementService.dto.CalendarNightDTO;
+import com.nsbm.group03.reservationManagementService.dto.ReservationDTO;
+import com.nsbm.group03.reservationManagementService.entity.Guest;
+import com.nsbm.group03.reservationManagementService.entity.RoomNight;
+import com.nsbm.group03.reservationManagementService.repository.GuestRepository;
+import com.nsbm.group03.reservationManagementService.repository.RoomNightRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:calendar;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"})
+class OccupancyCalendarTest {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private OccupancyCalendar occupancyCalendar;
+
+    @Autowired
+    private GuestRepository guestRepository;
+
+    @Autowired
+    private RoomNightRepository roomNightRepository;
+
+    private ReservationDTO book(Long guestId, String room, LocalDate checkIn, int nights) {
+        ReservationDTO dto = new ReservationDTO();
+        dto.setGuestId(guestId);
+        dto.setRoomId(room);
+        dto.setCheckInDate(checkIn);
+        dto.setCheckOutDate(checkIn.plusDays(nights));
+        dto.setStatus("CONFIRMED");
+        return reservationService.saveReservation(dto);
+    }
+
+    private static List<Long> booked(List<CalendarNightDTO> calendar) {
+        return calendar.stream().map(CalendarNightDTO::getBookedRooms).toList();
+    }
+
+    @Test
+    void followsBookingsCancellationsAndReconcile() {
+        Long guestId = guestRepository.save(new Guest(null, "Cal", "Endar", "0700000001", "CAL001", null)).getGuestId();
+        LocalDate start = LocalDate.now().plusDays(10);
+        book(guestId, "701", start, 3);
+        ReservationDTO second = book(guestId, "702", start.plusDays(1), 3);
+        ReservationDTO third = book(guestId, "703", start.plusDays(2), 1);
+
+        assertEquals(List.of(0L, 1L, 2L, 3L, 1L, 0L), booked(occupancyCalendar.getCalendar(start.minusDays(1), start.plusDays(4), false)));
+        assertEquals(List.of("701", "702", "703"), occupancyCalendar.getCalendar(start.plusDays(2), start.plusDays(2), true).get(0).getRooms());
+
+        reservationService.updateStatus(second.getReservationId(), "CANCELLED");
+        reservationService.deleteReservation(third.getReservationId());
+        assertEquals(List.of(0L, 1L, 1L, 1L, 0L, 0L), booked(occupancyCalendar.getCalendar(start.minusDays(1), start.plusDays(4), false)));
+
+        occupancyCalendar.reconcile();
+        assertEquals(List.of(0L, 1L, 1L, 1L, 0L, 0L), booked(occupancyCalendar.getCalendar(start.minusDays(1), start.plusDays(4), false)));
+    }
+
+    @Test
+    void reconcileRestoresMissingNightsAndDropsOrphansInPlace() {
+        Long guestId = guestRepository.save(new Guest(null, "Re", "Concile", "0700000002", "CAL002", null)).getGuestId();
+        LocalDate start = LocalDate.now().plusDays(20);
+        ReservationDTO kept = book(guestId, "711", start, 2);
+        ReservationDTO damaged = book(guestId, "712", start, 2);
+        roomNightRepository.deleteAll(roomNightRepository.findByReservationId(damaged.getReservationId()));
+        roomNightRepository.save(new RoomNight(null, "713", start, -1L));
+        Set<RoomNight> untouched = Set.copyOf(roomNightRepository.findByReservationId(kept.getReservationId()));
+
+        assertEquals(2, occupancyCalendar.reconcile());
+
+        assertEquals(List.of(0L, 2L, 2L, 0L), booked(occupancyCalendar.getCalendar(start.minusDays(1), start.plusDays(2), false)));
+        // correct rows are left in place, so they guard their nights throughout
+        assertEquals(untouched, Set.copyOf(roomNightRepository.findByReservationId(kept.getReservationId())));
+        assertEquals(0, occupancyCalendar.reconcile());
+    }
+
+    @Test
+    void rejectsPastAndOversizedRanges() {
+        LocalDate today = LocalDate.now();
+        assertThrows(IllegalArgumentException.class, () -> occupancyCalendar.getCalendar(today.minusDays(1), today, false));
+        assertThrows(IllegalArgumentException.class, () -> occupancyCalendar.getCalendar(today, today.minusDays(1), false));
+        assertThrows(IllegalArgumentException.class,
+                () -> occupancyCalendar.getCalendar(today, today.plusDays(OccupancyCalendar.MAX_DAYS), false));
+    }
+}
@@ -0,0 +1,127 @@
+package com.nsbm.group03.reservationManagementService.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReservationIntervalTreeTest {
+
+    @Test
+    void stayEndingOnCheckInDayDoesNotOverlap() {
+        ReservationIntervalTree tree = new ReservationIntervalTree();
+        tree.insert(10, 13, 1);
+
+        assertEquals(-1, tree.findOverlap(13, 15, -1));
+        assertEquals(-1, tree.findOverlap(7, 10, -1));
+        assertEquals(1, tree.findOverlap(12, 14, -1));
+        assertEquals(1, tree.findOverlap(9, 20, -1));
+        assertEquals(-1, tree.findOverlap(11, 12, 1));
+    }
+
+    @Test
+    void matchesBruteForceThroughInsertsAndRemovals() {
+        Random random = new Random(42);
+        ReservationIntervalTree tree = new ReservationIntervalTree();
+        List<long[]> stays = new ArrayList<>();
+        for (long id = 1; id <= 5000; id++) {
+            long start = random.nextInt(3000);
+            long[] stay = {start, start + 1 + random.nextInt(14), id};
+            tree.insert(stay[0], stay[1], stay[2]);
+            stays.add(stay);
+            if (random.nextInt(3) == 0) {
+                long[] removed = stays.remove(random.nextInt(stays.size()));
+                assertTrue(tree.remove(removed[0], removed[2]));
+                assertFalse(tree.remove(removed[0], removed[2]));
+            }
+        }
+        assertEquals(stays.size(), tree.size());
+
+        for (int i = 0; i < 20000; i++) {
+            long start = random.nextInt(3100);
+            long end = start + 1 + random.nextInt(14);
+            long found = tree.findOverlap(start, end, -1);
+            boolean expected = stays.stream().anyMatch(s -> s[0] < end && start < s[1]);
+            assertEquals(expected, found != -1, "[" + start + ", " + end + ")");
+            if (found != -1) {
+                long[] hit = stays.stream().filter(s -> s[2] == found).findFirst().orElseThrow();
+                assertTrue(hit[0] < end && start < hit[1]);
+            }
+        }
+    }
+
+    /**
+     * 1M past and upcoming stays over 200 rooms (5,000 per room); compares the tree
+     * lookup with the per-room linear scan a "find overlapping reservations" query does.
+     * Opt-in: mvn test -Dtest=ReservationIntervalTreeTest -Dbenchmark=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkOverlapCheckWithOneMillionReservations() {
+        int rooms = 200;
+        int perRoom = 5000;
+        int checks = 200_000;
+        Random random = new Random(7);
+        ReservationIntervalTree[] trees = new ReservationIntervalTree[rooms];
+        long[][] starts = new long[rooms][perRoom];
+        long[][] ends = new long[rooms][perRoom];
+
+        long buildStart = System.nanoTime();
+        long id = 0;
+        for (int r = 0; r < rooms; r++) {
+            trees[r] = new ReservationIntervalTree();
+            long day = 0;
+            for (int i = 0; i < perRoom; i++) {
+                // back-to-back stays with the odd empty night, like a real room calendar
+                day += random.nextInt(2);
+                long end = day + 1 + random.nextInt(5);
+                trees[r].insert(day, end, ++id);
+                starts[r][i] = day;
+                ends[r][i] = end;
+                day = end;
+            }
+        }
+        long buildMillis = (System.nanoTime() - buildStart) / 1_000_000;
+
+        long[] queryStart = new long[checks];
+        long[] queryEnd = new long[checks];
+        int[] queryRoom = new int[checks];
+        for (int i = 0; i < checks; i++) {
+            queryRoom[i] = random.nextInt(rooms);
+            queryStart[i] = random.nextInt((int) ends[queryRoom[i]][perRoom - 1] + 30);
+            queryEnd[i] = queryStart[i] + 1 + random.nextInt(7);
+        }
+
+        long treeStart = System.nanoTime();
+        int treeHits = 0;
+        for (int i = 0; i < checks; i++) {
+            if (trees[queryRoom[i]].findOverlap(queryStart[i], queryEnd[i], -1) != -1) treeHits++;
+        }
+        long treeNanos = System.nanoTime() - treeStart;
+
+        long scanStart = System.nanoTime();
+        int scanHits = 0;
+        for (int i = 0; i < checks; i++) {
+            long[] s = starts[queryRoom[i]];
+            long[] e = ends[queryRoom[i]];
+            for (int j = 0; j < perRoom; j++) {
+                if (s[j] < queryEnd[i] && queryStart[i] < e[j]) {
+                    scanHits++;
+                    break;
+                }
+            }
+        }
+        long scanNanos = System.nanoTime() - scanStart;
+
+        assertEquals(scanHits, treeHits);
+        System.out.printf("[benchmark] %d reservations indexed in %d ms; overlap check: tree %.0f ns, scan %.0f ns (%.0fx)%n",
+                id, buildMillis, (double) treeNanos / checks, (double) scanNanos / checks,
+                (double) scanNanos / Math.max(1, treeNanos));
+    }
+}
@@ -0,0 +1,159 @@
+package com.nsbm.group03.reservationManagementService.service;
+
+import com.nsbm.group03.reservationManagementService.dto.ReservationDTO;
+import com.nsbm.group03.reservationManagementService.dto.ReservationPageDTO;
+import com.nsbm.group03.reservationManagementService.dto.ReservationSearchDTO;
+import com.nsbm.group03.reservationManagementService.entity.Guest;
+import com.nsbm.group03.reservationManagementService.entity.Reservation;
+import com.nsbm.group03.reservationManagementService.repository.GuestRepository;
+import com.nsbm.group03.reservationManagementService.repository.ReservationRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Keyset paging of the reservation search against an in-memory database.
+ * Background pollers are slowed down so statement counts only see the search.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:search;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "reservation.mail.outbox.poll-interval-ms=3600000",
+        "reservation.room-sync.poll-interval-ms=3600000"})
+class ReservationSearchTest {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private GuestRepository guestRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Guest guest(String nic) {
+        return guestRepository.save(new Guest(null, "Sea", "Rch", "07100" + nic, nic, null));
+    }
+
+    private ReservationDTO book(Long guestId, String room, LocalDate checkIn) {
+        ReservationDTO dto = new ReservationDTO();
+        dto.setGuestId(guestId);
+        dto.setRoomId(room);
+        dto.setCheckInDate(checkIn);
+        dto.setCheckOutDate(checkIn.plusDays(2));
+        dto.setStatus("CONFIRMED");
+        return reservationService.saveReservation(dto);
+    }
+
+    private static ReservationSearchDTO byGuest(Long guestId) {
+        ReservationSearchDTO filter = new ReservationSearchDTO();
+        filter.setGuestId(guestId);
+        return filter;
+    }
+
+    private static String cursor(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void pagesThroughEqualCheckInDatesByIdWithoutGapsOrRepeats() {
+        Long guestId = guest("SRCH01").getGuestId();
+        LocalDate day = LocalDate.now().plusDays(30);
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            expected.add(book(guestId, "80" + i, day).getReservationId());
+        }
+        expected.add(book(guestId, "810", day.plusDays(1)).getReservationId());
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            ReservationPageDTO page = reservationService.searchReservations(byGuest(guestId), cursor, 2);
+            page.getItems().forEach(r -> seen.add(r.getReservationId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(expected, seen);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void lastFullPageHasNoNextCursor() {
+        Long guestId = guest("SRCH02").getGuestId();
+        LocalDate day = LocalDate.now().plusDays(40);
+        book(guestId, "820", day);
+        book(guestId, "821", day);
+
+        ReservationPageDTO page = reservationService.searchReservations(byGuest(guestId), null, 2);
+        assertEquals(2, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void rejectsInvalidCursors() {
+        ReservationSearchDTO filter = byGuest(-1L);
+        assertThrows(IllegalArgumentException.class, () -> reservationService.searchReservations(filter, "%%%", 10));
+        assertThrows(IllegalArgumentException.class, () -> reservationService.searchReservations(filter, cursor("no-separator"), 10));
+        assertThrows(IllegalArgumentException.class, () -> reservationService.searchReservations(filter, cursor("2026-13-01|5"), 10));
+        assertThrows(IllegalArgumentException.class, () -> reservationService.searchReservations(filter, cursor("2026-01-01|x"), 10));
+    }
+
+    @Test
+    void pagingSkipsRowsWithoutCheckInDateButCountIncludesThem() {
+        Guest guest = guest("SRCH03");
+        book(guest.getGuestId(), "830", LocalDate.now().plusDays(50));
+        Reservation undated = new Reservation();
+        undated.setGuest(guest);
+        undated.setRoomId("831");
+        undated.setStatus("CONFIRMED");
+        reservationRepository.save(undated);
+
+        ReservationPageDTO page = reservationService.searchReservations(byGuest(guest.getGuestId()), null, 10);
+        assertEquals(1, page.getItems().size());
+        assertEquals(2, reservationService.countReservations(byGuest(guest.getGuestId())));
+    }
+
+    @Test
+    void pageIsOneStatementWithoutCountQuery() {
+        Long guestId = guest("SRCH04").getGuestId();
+        LocalDate day = LocalDate.now().plusDays(60);
+        for (int i = 0; i < 3; i++) {
+            book(guestId, "84" + i, day);
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        ReservationPageDTO first = reservationService.searchReservations(byGuest(guestId), null, 2);
+        assertNotNull(first.getNextCursor());
+        // rows and their guests in one select; the next page is found from the extra row, not a count
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        reservationService.searchReservations(byGuest(guestId), first.getNextCursor(), 2);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,162 @@
+package com.nsbm.group03.reservationManagementService.service;
+
+import com.nsbm.group03.reservationManagementService.entity.OutboxStatus;
+import com.nsbm.group03.reservationManagementService.repository.RoomStatusOutboxRepository;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the room status sync against a stub of the room service's bulk status endpoint.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:roomsync;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "reservation.room-sync.initial-backoff=100ms",
+        "reservation.room-sync.max-backoff=200ms",
+        "reservation.room-sync.poll-interval-ms=100"})
+class RoomStatusSyncTest {
+
+    private static final JsonMapper json = JsonMapper.builder().build();
+    private static final List<List<Map<String, Object>>> requests = new CopyOnWriteArrayList<>();
+    private static final AtomicInteger failNext = new AtomicInteger();
+    private static final HttpServer roomService = startStub();
+
+    @DynamicPropertySource
+    static void roomServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("reservation.room-service.url", () -> "http://localhost:" + roomService.getAddress().getPort());
+    }
+
+    @Autowired
+    private RoomStatusSync roomStatusSync;
+
+    @Autowired
+    private RoomStatusOutboxRepository outboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void reset() {
+        requests.clear();
+        failNext.set(0);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        roomService.stop(0);
+    }
+
+    @Test
+    void changesToTheSameRoomAreCoalescedIntoOneBatch() throws Exception {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            roomStatusSync.enqueue("801", "OCCUPIED", "RESERVATION");
+            roomStatusSync.enqueue("801", "MAINTENANCE", "RESERVATION");
+            roomStatusSync.enqueue("802", "OCCUPIED", "RESERVATION");
+        });
+
+        awaitSynced();
+        assertEquals(1, requests.size());
+        List<Map<String, Object>> batch = requests.get(0);
+        assertEquals(2, batch.size());
+        Map<String, Object> room801 = batch.stream().filter(i -> "801".equals(i.get("roomNumber"))).findFirst().orElseThrow();
+        assertEquals("MAINTENANCE", room801.get("status"));
+    }
+
+    @Test
+    void failedBatchIsRetriedWithBackoff() throws Exception {
+        failNext.set(2);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                roomStatusSync.enqueue("803", "OCCUPIED", "RESERVATION"));
+
+        awaitSynced();
+        assertEquals(3, requests.size());
+        assertEquals(0, roomStatusSync.getLagSeconds());
+    }
+
+    @Test
+    void requeuingADeadRowRestartsItsLagClock() throws Exception {
+        LocalDateTime deadSince = LocalDateTime.now().minusHours(1);
+        LocalDateTime requeued = LocalDateTime.now();
+        // one transaction, so the sender never sees the row in between
+        LocalDateTime firstQueuedAt = new TransactionTemplate(transactionManager).execute(status -> {
+            outboxRepository.upsert("804", "OCCUPIED", "RESERVATION", deadSince);
+            outboxRepository.recordFailure("804", 1, 5, deadSince, OutboxStatus.DEAD, "gave up");
+            outboxRepository.upsert("804", "AVAILABLE", "RESERVATION", requeued);
+            return outboxRepository.findById("804").orElseThrow().getFirstQueuedAt();
+        });
+
+        assertEquals(requeued.truncatedTo(ChronoUnit.SECONDS), firstQueuedAt.truncatedTo(ChronoUnit.SECONDS));
+        awaitSynced();
+    }
+
+    private void awaitSynced() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while ((outboxRepository.count() > 0 || requests.isEmpty()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(0, outboxRepository.count());
+        assertTrue(!requests.isEmpty());
+        // let the sender finish its pass so the gauges are current
+        Thread.sleep(200);
+    }
+
+    // Answers like POST /api/rooms/status/bulk: one result per item, or 503 while failNext > 0
+    private static HttpServer startStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/api/rooms/status/bulk", exchange -> {
+                @SuppressWarnings("unchecked")
+                List<Map<String, Object>> items = json.readValue(exchange.getRequestBody().readAllBytes(), List.class);
+                requests.add(items);
+                if (failNext.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                    exchange.sendResponseHeaders(503, -1);
+                    exchange.close();
+                    return;
+                }
+                StringBuilder body = new StringBuilder("[");
+                for (int i = 0; i < items.size(); i++) {
+                    if (i > 0) body.append(',');
+                    body.append("{\"index\":").append(i).append(",\"roomNumber\":\"").append(items.get(i).get("roomNumber"))
+                            .append("\",\"success\":true,\"message\":\"Status updated\"}");
+                }
+                byte[] bytes = body.append(']').toString().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, bytes.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(bytes);
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start room service stub", e);
+        }
+    }
+}
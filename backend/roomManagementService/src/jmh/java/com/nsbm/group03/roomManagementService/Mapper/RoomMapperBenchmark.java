@@ -0,0 +1,147 @@
+package com.nsbm.group03.roomManagementService.Mapper;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.nsbm.group03.roomManagementService.Dto.RoomDTO;
+import com.nsbm.group03.roomManagementService.Dto.RoomStatusHistoryDTO;
+import com.nsbm.group03.roomManagementService.Entity.Room;
+import com.nsbm.group03.roomManagementService.Entity.RoomStatusHistory;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Mapping and serialization cost of the list endpoints at 1k/10k/100k rows.
+ *
+ * map*       entity list → DTO list only
+ * serialize* mapping plus Jackson writing to a discarding stream, so the difference
+ *            to the matching map* result is the serialization share
+ *
+ * "legacy" variants reproduce the previous stream + Collectors.toList() mappers.
+ * Run with: mvn -Pjmh test-compile exec:exec (the GC profiler reports allocation per op)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoomMapperBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int rows;
+
+    private List<Room> rooms;
+    private List<RoomStatusHistory> history;
+    private ObjectMapper mapper;
+
+    @Setup
+    public void setUp() {
+        RoomType[] types = RoomType.values();
+        RoomStatus[] statuses = RoomStatus.values();
+        rooms = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            rooms.add(new Room(UUID.randomUUID().toString(), "R" + i, types[i % types.length], 80 + i % 50, 2,
+                    statuses[i % statuses.length]));
+        }
+        history = new ArrayList<>(rows);
+        LocalDate start = LocalDate.of(2026, 1, 1);
+        LocalDateTime changedAt = start.atTime(9, 30, 15, 123_000_000);
+        for (int i = 0; i < rows; i++) {
+            history.add(new RoomStatusHistory(UUID.randomUUID().toString(), rooms.get(i % Math.min(1000, rows)),
+                    start.plusDays(i % 365), statuses[i % statuses.length], "SYSTEM", changedAt.plusMinutes(i)));
+        }
+        mapper = JsonMapper.builder().build();
+    }
+
+    // ---------- mapping only ----------
+
+    @Benchmark
+    public List<RoomDTO> mapRoomsLegacy() {
+        return rooms.stream().map(RoomMapper::toRoomDTO).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<RoomDTO> mapRooms() {
+        return RoomMapper.toRoomDTOList(rooms);
+    }
+
+    @Benchmark
+    public List<RoomStatusHistoryDTO> mapHistoryLegacy() {
+        return history.stream().map(RoomMapper::toRoomStatusHistoryDTO).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<RoomStatusHistoryDTO> mapHistory() {
+        return RoomMapper.toRoomStatusHistoryDTOList(history);
+    }
+
+    @Benchmark
+    public Object mapAvailabilityFromHistory() {
+        return RoomMapper.toRoomAvailabilityDTOListFromHistory(history);
+    }
+
+    // ---------- mapping + serialization ----------
+
+    @Benchmark
+    public void serializeRooms() {
+        mapper.writeValue(OutputStream.nullOutputStream(), RoomMapper.toRoomDTOList(rooms));
+    }
+
+    @Benchmark
+    public void serializeHistoryLegacy() {
+        mapper.writeValue(OutputStream.nullOutputStream(),
+                history.stream().map(RoomMapper::toRoomStatusHistoryDTO).collect(Collectors.toList()));
+    }
+
+    // lazy DTO view used by the history list endpoints
+    @Benchmark
+    public void serializeHistoryView() {
+        mapper.writeValue(OutputStream.nullOutputStream(), RoomMapper.asRoomStatusHistoryDTOs(history));
+    }
+
+    // entities written straight to the generator, as the NDJSON exports do
+    @Benchmark
+    public void serializeHistoryDirect() {
+        try (JsonGenerator gen = mapper.createGenerator(OutputStream.nullOutputStream())) {
+            gen.writeStartArray();
+            for (RoomStatusHistory h : history) {
+                RoomStatusHistoryJsonSerializer.write(gen, h);
+            }
+            gen.writeEndArray();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RoomMapperBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -1,8 +1,20 @@
 package com.nsbm.group03.roomManagementService.Config;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
@@ -10,68 +22,160 @@ import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import com.nsbm.group03.roomManagementService.Entity.Room;
 import com.nsbm.group03.roomManagementService.Entity.RoomTypeEntity;
 import com.nsbm.group03.roomManagementService.Enum.RoomType;
+import com.nsbm.group03.roomManagementService.Repository.RoomRepository;
 import com.nsbm.group03.roomManagementService.Repository.RoomTypeRepository;
+import com.nsbm.group03.roomManagementService.Service.RoomAvailabilityIndex;
 import com.nsbm.group03.roomManagementService.Service.RoomService;
 
 /**
- * Populates the database with initial room types and a set of rooms.  
- * Uses createRoomWithHistory so histories are generated automatically.
+ * Populates the database with initial room types and a set of rooms.
  * The runner is idempotent - repeated starts will not insert duplicates.
+ *
+ * room.seed.mode=batched (default) inserts the missing room types and rooms with
+ * one lookup and one batched insert each, and generates their history on a
+ * background thread once the application is ready; SeedingState.COMPLETE is
+ * published when that finishes. room.seed.mode=legacy keeps the original
+ * one-room-at-a-time seeding with history, all before the app reports ready.
+ * Set room.seed.enabled=false to skip seeding entirely (production).
  */
 @Component
+@ConditionalOnProperty(name = "room.seed.enabled", havingValue = "true", matchIfMissing = true)
 public class DataInitializer implements CommandLineRunner {
 
+    private static final int ROOMS_PER_TYPE = 10;
+
     private final RoomTypeRepository typeRepo;
+    private final RoomRepository roomRepository;
     private final RoomService roomService;
+    private final ApplicationContext context;
+    private final boolean legacy;
+
+    // rooms inserted by this start, whose history is generated after ready
+    private volatile List<Room> pendingHistory = List.of();
 
-    public DataInitializer(RoomTypeRepository typeRepo, RoomService roomService) {
+    public DataInitializer(RoomTypeRepository typeRepo, RoomRepository roomRepository, RoomService roomService,
+            ApplicationContext context, @Value("${room.seed.mode:batched}") String mode) {
         this.typeRepo = typeRepo;
+        this.roomRepository = roomRepository;
         this.roomService = roomService;
+        this.context = context;
+        this.legacy = "legacy".equalsIgnoreCase(mode);
     }
 
     @Override
     public void run(String... args) throws Exception {
-        // Create three room types with fixed UUIDs for idempotency
-        
-        // SINGLE room type
-        RoomTypeEntity singleType = typeRepo.findByRoomType(RoomType.SINGLE);
-        if (singleType == null) {
+        long started = System.nanoTime();
+        if (legacy) {
+            seedOneByOne();
+        } else {
+            seedBatched();
+        }
+        System.out.println("Sample data initialization complete (" + (legacy ? "legacy" : "batched") + ", "
+                + (System.nanoTime() - started) / 1_000_000 + " ms).");
+    }
+
+    // Generate history for the rooms seeded above without holding up startup
+    @EventListener(ApplicationReadyEvent.class)
+    public void generateHistoryInBackground() {
+        if (legacy) return;
+        List<Room> rooms = pendingHistory;
+        if (rooms.isEmpty()) {
+            AvailabilityChangeEvent.publish(context, SeedingState.COMPLETE);
+            return;
+        }
+        AvailabilityChangeEvent.publish(context, SeedingState.IN_PROGRESS);
+        Thread.ofVirtual().name("seed-history").start(() -> {
             try {
-                singleType = new RoomTypeEntity("room-type-single", RoomType.SINGLE, 5000.0, "/Upload/Single.jpg");
-                typeRepo.saveAndFlush(singleType);
-            } catch (DataIntegrityViolationException | ObjectOptimisticLockingFailureException e) {
-                // already exists, fetch it again
-                singleType = typeRepo.findByRoomType(RoomType.SINGLE);
+                long started = System.nanoTime();
+                int written = roomService.generateHistoryForRooms(rooms, RoomAvailabilityIndex.WINDOW_DAYS);
+                roomService.rebuildAvailabilityIndex();
+                System.out.println("Generated " + written + " history rows for " + rooms.size() + " seeded rooms in "
+                        + (System.nanoTime() - started) / 1_000_000 + " ms");
+            } catch (RuntimeException e) {
+                // the nightly refresh fills any gap left here
+                System.out.println("Background history seeding failed: " + e.getMessage());
+            } finally {
+                pendingHistory = List.of();
+                AvailabilityChangeEvent.publish(context, SeedingState.COMPLETE);
             }
-        }
+        });
+    }
+
+    // ---------- batched ----------
 
-        // DOUBLE room type
-        RoomTypeEntity doubleType = typeRepo.findByRoomType(RoomType.DOUBLE);
-        if (doubleType == null) {
+    private void seedBatched() {
+        Map<RoomType, RoomTypeEntity> existingTypes = new EnumMap<>(RoomType.class);
+        for (RoomTypeEntity type : typeRepo.findAll()) {
+            existingTypes.put(type.getRoomType(), type);
+        }
+        List<RoomTypeEntity> missingTypes = new ArrayList<>();
+        for (RoomTypeEntity type : defaultRoomTypes()) {
+            if (!existingTypes.containsKey(type.getRoomType())) missingTypes.add(type);
+        }
+        if (!missingTypes.isEmpty()) {
             try {
-                doubleType = new RoomTypeEntity("room-type-double", RoomType.DOUBLE, 8000.0, "/Upload/Double.jpg");
-                typeRepo.saveAndFlush(doubleType);
+                typeRepo.saveAllAndFlush(missingTypes);
             } catch (DataIntegrityViolationException | ObjectOptimisticLockingFailureException e) {
-                // already exists, fetch it again
-                doubleType = typeRepo.findByRoomType(RoomType.DOUBLE);
+                // another instance seeded them concurrently
             }
         }
 
-        // DELUXE room type
-        RoomTypeEntity deluxeType = typeRepo.findByRoomType(RoomType.DELUXE);
-        if (deluxeType == null) {
+        List<Room> rooms = defaultRooms();
+        Set<String> existingNumbers = new HashSet<>();
+        List<String> numbers = rooms.stream().map(Room::getRoomNumber).toList();
+        for (Room room : roomRepository.findByRoomNumberIn(numbers)) {
+            existingNumbers.add(room.getRoomNumber());
+        }
+        List<Room> missing = new ArrayList<>();
+        for (Room room : rooms) {
+            if (!existingNumbers.contains(room.getRoomNumber())) missing.add(room);
+        }
+        if (!missing.isEmpty()) {
             try {
-                deluxeType = new RoomTypeEntity("room-type-deluxe", RoomType.DELUXE, 12000.0, "/Upload/Deluxe.jpg");
-                typeRepo.saveAndFlush(deluxeType);
-            } catch (DataIntegrityViolationException | ObjectOptimisticLockingFailureException e) {
-                // already exists, fetch it again
-                deluxeType = typeRepo.findByRoomType(RoomType.DELUXE);
+                pendingHistory = roomService.insertRooms(missing);
+            } catch (DataIntegrityViolationException e) {
+                // another instance seeded them concurrently; it also owns their history
             }
         }
+    }
 
-        // Generate 10 rooms of each type if they don't already exist
+    // ---------- legacy ----------
+
+    private void seedOneByOne() {
+        for (RoomTypeEntity defaults : defaultRoomTypes()) {
+            RoomTypeEntity type = typeRepo.findByRoomType(defaults.getRoomType());
+            if (type == null) {
+                try {
+                    typeRepo.saveAndFlush(defaults);
+                } catch (DataIntegrityViolationException | ObjectOptimisticLockingFailureException e) {
+                    // already exists
+                }
+            }
+        }
+        for (Room room : defaultRooms()) {
+            // Skip if room already exists
+            if (roomService.getRoomByNumber(room.getRoomNumber()) != null) {
+                continue;
+            }
+            roomService.createRoomWithHistory(room);
+        }
+    }
+
+    // ---------- sample data ----------
+
+    // Three room types with fixed ids for idempotency
+    private static List<RoomTypeEntity> defaultRoomTypes() {
+        return List.of(
+                new RoomTypeEntity("room-type-single", RoomType.SINGLE, 5000.0, "/Upload/Single.jpg"),
+                new RoomTypeEntity("room-type-double", RoomType.DOUBLE, 8000.0, "/Upload/Double.jpg"),
+                new RoomTypeEntity("room-type-deluxe", RoomType.DELUXE, 12000.0, "/Upload/Deluxe.jpg"));
+    }
+
+    // 10 rooms of each type: 101-110, 201-210, 301-310
+    private static List<Room> defaultRooms() {
+        List<Room> rooms = new ArrayList<>();
         for (RoomType type : RoomType.values()) {
-            for (int i = 1; i <= 10; i++) {
+            for (int i = 1; i <= ROOMS_PER_TYPE; i++) {
                 String roomNumber;
                 switch (type) {
                     case SINGLE: roomNumber = "1" + String.format("%02d", i); break;
@@ -80,11 +184,6 @@ public class DataInitializer implements CommandLineRunner {
                     default: roomNumber = "x" + i;
                 }
 
-                // Skip if room already exists
-                if (roomService.getRoomByNumber(roomNumber) != null) {
-                    continue;
-                }
-
                 Room room = new Room();
                 room.setRoomId(UUID.randomUUID().toString());
                 room.setRoomNumber(roomNumber);
@@ -93,11 +192,9 @@ public class DataInitializer implements CommandLineRunner {
                         : type == RoomType.DOUBLE ? 8000.0 : 12000.0);
                 room.setCapacity(type == RoomType.SINGLE ? 1 : 2);
                 room.setStatus(null); // will default to AVAILABLE
-
-                roomService.createRoomWithHistory(room);
+                rooms.add(room);
             }
         }
-
-        System.out.println("Sample data initialization complete.");
+        return rooms;
     }
 }
@@ -0,0 +1,14 @@
+package com.nsbm.group03.roomManagementService.Config;
+
+import org.springframework.boot.availability.AvailabilityState;
+
+/**
+ * Progress of the startup sample-data seeding, published as an
+ * AvailabilityChangeEvent and readable from ApplicationAvailability.
+ */
+public enum SeedingState implements AvailabilityState {
+    // reference data seeded, history still being generated in the background
+    IN_PROGRESS,
+    // history generated and availability index rebuilt
+    COMPLETE
+}
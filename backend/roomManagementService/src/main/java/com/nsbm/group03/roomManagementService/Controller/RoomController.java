@@ -4,11 +4,13 @@ import java.time.LocalDate;
 import java.util.List;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.io.IOException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.MediaType;
@@ -20,23 +22,38 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.nsbm.group03.roomManagementService.Dto.BulkStatusUpdateItemDTO;
+import com.nsbm.group03.roomManagementService.Dto.BulkStatusUpdateResultDTO;
+import com.nsbm.group03.roomManagementService.Dto.HistoryJobReportDTO;
+import com.nsbm.group03.roomManagementService.Dto.OccupancyDTO;
 import com.nsbm.group03.roomManagementService.Dto.RoomAvailabilityDTO;
 import com.nsbm.group03.roomManagementService.Dto.RoomCountDTO;
 import com.nsbm.group03.roomManagementService.Dto.RoomCreateDTO;
 import com.nsbm.group03.roomManagementService.Dto.RoomDTO;
 import com.nsbm.group03.roomManagementService.Dto.RoomStatusHistoryDTO;
+import com.nsbm.group03.roomManagementService.Dto.RoomStatusHistoryPageDTO;
 import com.nsbm.group03.roomManagementService.Dto.RoomStatusUpdateDTO;
 import com.nsbm.group03.roomManagementService.Dto.RoomTypeSummaryDTO;
 import com.nsbm.group03.roomManagementService.Dto.StatisticsDTO;
 import com.nsbm.group03.roomManagementService.Dto.StatisticsByTypeDTO;
 import com.nsbm.group03.roomManagementService.Entity.Room;
 import com.nsbm.group03.roomManagementService.Entity.RoomStatusHistory;
+import com.nsbm.group03.roomManagementService.Enum.OccupancyGranularity;
 import com.nsbm.group03.roomManagementService.Enum.RoomType;
 import com.nsbm.group03.roomManagementService.Mapper.RoomMapper;
+import com.nsbm.group03.roomManagementService.Service.HistoryRefreshJob;
+import com.nsbm.group03.roomManagementService.Service.OccupancyRollupService;
+import com.nsbm.group03.roomManagementService.Service.RoomImageService;
 import com.nsbm.group03.roomManagementService.Service.RoomService;
+import com.nsbm.group03.roomManagementService.Service.RoomStatusConflictException;
+import com.nsbm.group03.roomManagementService.Service.RoomStatusEventPublisher;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -44,6 +61,8 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 @Tag(
     name = "Room Management Service",
@@ -54,9 +73,29 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 @CrossOrigin(origins = "*")
 public class RoomController {
 
+    // Tomcat sendfile request attributes (see org.apache.catalina.Globals)
+    private static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    private static final int MAX_BULK_STATUS_UPDATES = 1000;
+
     @Autowired
     private RoomService roomService;
 
+    @Autowired
+    private RoomImageService roomImageService;
+
+    @Autowired
+    private RoomStatusEventPublisher roomStatusEventPublisher;
+
+    @Autowired
+    private HistoryRefreshJob historyRefreshJob;
+
+    @Autowired
+    private OccupancyRollupService occupancyRollupService;
+
     @Operation(summary = "Get all rooms",
             description = "Retrieve a complete list of all rooms in the system.")
     @ApiResponses({
@@ -127,12 +166,10 @@ public class RoomController {
             @Parameter(description = "Unique room number", example = "101")
             @PathVariable String roomNumber) {
 
-        Room room = roomService.getRoomByNumber(roomNumber);
-        if (room == null)
+        if (!roomService.deleteRoomWithHistory(roomNumber))
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body("Room not found.");
 
-        roomService.deleteRoomWithHistory(roomNumber);
         return ResponseEntity.ok("Room and its history deleted successfully.");
     }
 
@@ -140,26 +177,67 @@ public class RoomController {
             description = "Manually updates today's status of a room (AVAILABLE, OCCUPIED, MAINTENANCE).")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Status updated successfully"),
-        @ApiResponse(responseCode = "404", description = "Room not found", content = @Content)
+        @ApiResponse(responseCode = "400", description = "Status missing", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Room not found", content = @Content),
+        @ApiResponse(responseCode = "409", description = "Status changed concurrently, reload and retry", content = @Content)
     })
     @PatchMapping("/{roomNumber}/status")
     public ResponseEntity<RoomStatusHistoryDTO> updateRoomStatus(
             @PathVariable String roomNumber,
             @RequestBody RoomStatusUpdateDTO statusDTO) {
 
-        RoomStatusHistory updated = roomService.updateRoomStatus(
-                roomNumber,
-                statusDTO.getStatus(),
-                statusDTO.getChangedBy() != null ? statusDTO.getChangedBy() : "ADMIN");
+        try {
+            RoomStatusHistory updated = roomService.updateRoomStatus(
+                    roomNumber,
+                    statusDTO.getStatus(),
+                    statusDTO.getChangedBy() != null ? statusDTO.getChangedBy() : "ADMIN");
+
+            return ResponseEntity.ok(RoomMapper.toRoomStatusHistoryDTO(updated));
+        } catch (RoomStatusConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(null);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+    }
+
+    @Operation(summary = "Bulk update room status",
+            description = "Applies many status changes (e.g. housekeeping at shift change) in one transaction. "
+                    + "Each entry takes roomNumber, status, optional date (defaults to today) and changedBy. "
+                    + "Results are returned per entry; invalid entries fail individually without aborting the batch.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Batch processed, see per-entry results"),
+        @ApiResponse(responseCode = "400", description = "Empty batch or more than 1000 entries", content = @Content)
+    })
+    @PostMapping("/status/bulk")
+    public ResponseEntity<List<BulkStatusUpdateResultDTO>> bulkUpdateRoomStatus(
+            @RequestBody List<BulkStatusUpdateItemDTO> items) {
+
+        if (items == null || items.isEmpty() || items.size() > MAX_BULK_STATUS_UPDATES)
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
 
-        return ResponseEntity.ok(RoomMapper.toRoomStatusHistoryDTO(updated));
+        return ResponseEntity.ok(roomService.bulkUpdateRoomStatus(items));
+    }
+
+    @Operation(summary = "Subscribe to live room status changes",
+            description = "Server-Sent Events stream. Each committed status change (single, per-date or bulk) is pushed as a "
+                    + "'room-status' event carrying a RoomStatusEventDTO. Reconnect with the Last-Event-ID header to resume; "
+                    + "a 'resync' event means the gap could not be replayed and the client should reload its state.")
+    @ApiResponse(responseCode = "200", description = "Event stream opened", content = @Content(mediaType = "text/event-stream"))
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamRoomStatusEvents(
+            @RequestHeader(value = "Last-Event-ID", required = false)
+            @Parameter(description = "Id of the last event received, to resume after a reconnect")
+            Long lastEventId) {
+
+        return roomStatusEventPublisher.subscribe(lastEventId);
     }
 
     @Operation(summary = "Check-in room",
             description = "Marks the room as OCCUPIED for the current date.")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Room checked-in successfully"),
-        @ApiResponse(responseCode = "404", description = "Room not found", content = @Content)
+        @ApiResponse(responseCode = "404", description = "Room not found", content = @Content),
+        @ApiResponse(responseCode = "409", description = "Room is not in the required status", content = @Content)
     })
     @PostMapping("/{roomNumber}/check-in")
     public ResponseEntity<RoomStatusHistoryDTO> checkInRoom(
@@ -168,16 +246,21 @@ public class RoomController {
             @Parameter(description = "User performing the action", example = "ADMIN")
             String changedBy) {
 
-        return ResponseEntity.ok(
-                RoomMapper.toRoomStatusHistoryDTO(
-                        roomService.checkInRoom(roomNumber, changedBy)));
+        try {
+            return ResponseEntity.ok(
+                    RoomMapper.toRoomStatusHistoryDTO(
+                            roomService.checkInRoom(roomNumber, changedBy)));
+        } catch (RoomStatusConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(null);
+        }
     }
 
     @Operation(summary = "Check-out room",
             description = "Marks the room as AVAILABLE for the current date.")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Room checked-out successfully"),
-        @ApiResponse(responseCode = "404", description = "Room not found", content = @Content)
+        @ApiResponse(responseCode = "404", description = "Room not found", content = @Content),
+        @ApiResponse(responseCode = "409", description = "Room is not in the required status", content = @Content)
     })
     @PostMapping("/{roomNumber}/check-out")
     public ResponseEntity<RoomStatusHistoryDTO> checkOutRoom(
@@ -186,16 +269,21 @@ public class RoomController {
             @Parameter(description = "User performing the action", example = "ADMIN")
             String changedBy) {
 
-        return ResponseEntity.ok(
-                RoomMapper.toRoomStatusHistoryDTO(
-                        roomService.checkOutRoom(roomNumber, changedBy)));
+        try {
+            return ResponseEntity.ok(
+                    RoomMapper.toRoomStatusHistoryDTO(
+                            roomService.checkOutRoom(roomNumber, changedBy)));
+        } catch (RoomStatusConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(null);
+        }
     }
 
     @Operation(summary = "Mark room for maintenance",
             description = "Marks the room as MAINTENANCE for the current date.")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Room marked for maintenance"),
-        @ApiResponse(responseCode = "404", description = "Room not found", content = @Content)
+        @ApiResponse(responseCode = "404", description = "Room not found", content = @Content),
+        @ApiResponse(responseCode = "409", description = "Room is not in the required status", content = @Content)
     })
     @PostMapping("/{roomNumber}/maintenance")
     public ResponseEntity<RoomStatusHistoryDTO> markForMaintenance(
@@ -204,9 +292,13 @@ public class RoomController {
             @Parameter(description = "User performing the action", example = "ADMIN")
             String changedBy) {
 
-        return ResponseEntity.ok(
-                RoomMapper.toRoomStatusHistoryDTO(
-                        roomService.markRoomForMaintenance(roomNumber, changedBy)));
+        try {
+            return ResponseEntity.ok(
+                    RoomMapper.toRoomStatusHistoryDTO(
+                            roomService.markRoomForMaintenance(roomNumber, changedBy)));
+        } catch (RoomStatusConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(null);
+        }
     }
 
 
@@ -214,7 +306,8 @@ public class RoomController {
             description = "Marks the room as AVAILABLE after maintenance is completed.")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Room marked as available"),
-        @ApiResponse(responseCode = "404", description = "Room not found", content = @Content)
+        @ApiResponse(responseCode = "404", description = "Room not found", content = @Content),
+        @ApiResponse(responseCode = "409", description = "Room is not in the required status", content = @Content)
     })
     @PostMapping("/{roomNumber}/available-after-maintenance")
     public ResponseEntity<RoomStatusHistoryDTO> markAvailableAfterMaintenance(
@@ -223,9 +316,13 @@ public class RoomController {
             @Parameter(description = "User performing the action", example = "ADMIN")
             String changedBy) {
 
-        return ResponseEntity.ok(
-                RoomMapper.toRoomStatusHistoryDTO(
-                        roomService.markRoomAvailableAfterMaintenance(roomNumber, changedBy)));
+        try {
+            return ResponseEntity.ok(
+                    RoomMapper.toRoomStatusHistoryDTO(
+                            roomService.markRoomAvailableAfterMaintenance(roomNumber, changedBy)));
+        } catch (RoomStatusConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(null);
+        }
     }
 
     @Operation(summary = "Get available rooms (today)",
@@ -253,12 +350,41 @@ public class RoomController {
                         roomService.getAvailableRoomsByDate(date)));
     }
 
+    @Operation(summary = "Get available rooms for a stay",
+            description = "Returns rooms that are AVAILABLE on every night from 'from' up to (but not including) the check-out date 'to'. "
+                    + "Answered from the in-memory availability index covering the next 30 days.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Available rooms retrieved"),
+        @ApiResponse(responseCode = "400", description = "Invalid room type or date range outside the availability window", content = @Content)
+    })
+    @GetMapping("/available/range")
+    public ResponseEntity<List<RoomAvailabilityDTO>> getAvailableRoomsForRange(
+            @RequestParam
+            @Parameter(description = "Check-in date in yyyy-MM-dd format", example = "2026-03-05")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate from,
+            @RequestParam
+            @Parameter(description = "Check-out date in yyyy-MM-dd format (exclusive)", example = "2026-03-08")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate to,
+            @RequestParam(required = false)
+            @Parameter(description = "Optional room type (SINGLE, DOUBLE, DELUXE)", example = "DOUBLE")
+            String type) {
+
+        try {
+            RoomType roomType = type != null ? RoomType.valueOf(type.toUpperCase()) : null;
+            return ResponseEntity.ok(roomService.getAvailableRoomsForRange(from, to, roomType));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+    }
+
     @Operation(summary = "Get occupied rooms (today)")
     @ApiResponse(responseCode = "200", description = "Occupied rooms retrieved")
     @GetMapping("/occupied")
     public ResponseEntity<List<RoomStatusHistoryDTO>> getOccupiedRooms() {
         return ResponseEntity.ok(
-                RoomMapper.toRoomStatusHistoryDTOList(
+                RoomMapper.asRoomStatusHistoryDTOs(
                         roomService.getOccupiedRooms()));
     }
 
@@ -272,7 +398,7 @@ public class RoomController {
             LocalDate date) {
 
         return ResponseEntity.ok(
-                RoomMapper.toRoomStatusHistoryDTOList(
+                RoomMapper.asRoomStatusHistoryDTOs(
                         roomService.getOccupiedRoomsByDate(date)));
     }
 
@@ -281,7 +407,7 @@ public class RoomController {
     @GetMapping("/maintenance")
     public ResponseEntity<List<RoomStatusHistoryDTO>> getMaintenanceRooms() {
         return ResponseEntity.ok(
-                RoomMapper.toRoomStatusHistoryDTOList(
+                RoomMapper.asRoomStatusHistoryDTOs(
                         roomService.getMaintenanceRooms()));
     }
 
@@ -295,7 +421,7 @@ public class RoomController {
             LocalDate date) {
 
         return ResponseEntity.ok(
-                RoomMapper.toRoomStatusHistoryDTOList(
+                RoomMapper.asRoomStatusHistoryDTOs(
                         roomService.getMaintenanceRoomsByDate(date)));
     }
 
@@ -306,10 +432,50 @@ public class RoomController {
             @PathVariable String roomNumber) {
 
         return ResponseEntity.ok(
-                RoomMapper.toRoomStatusHistoryDTOList(
+                RoomMapper.asRoomStatusHistoryDTOs(
                         roomService.getRoomStatusHistory(roomNumber)));
     }
 
+    @Operation(summary = "Get a page of a room's status history",
+            description = "Keyset-paginated status history, newest first. Pass the returned nextCursor as 'cursor' to fetch the next page.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Room history page retrieved"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content)
+    })
+    @GetMapping("/{roomNumber}/status-history/page")
+    public ResponseEntity<RoomStatusHistoryPageDTO> getRoomStatusHistoryPage(
+            @PathVariable String roomNumber,
+            @RequestParam(required = false)
+            @Parameter(description = "Cursor from the previous page's nextCursor")
+            String cursor,
+            @RequestParam(defaultValue = "50")
+            @Parameter(description = "Page size (max 500)", example = "50")
+            int limit) {
+
+        try {
+            return ResponseEntity.ok(roomService.getRoomStatusHistoryPage(roomNumber, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+    }
+
+    @Operation(summary = "Export full status history of a room",
+            description = "Streams the complete status history as newline-delimited JSON (one RoomStatusHistoryDTO per line), newest first.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Room history stream", content = @Content(mediaType = "application/x-ndjson")),
+        @ApiResponse(responseCode = "404", description = "Room not found", content = @Content)
+    })
+    @GetMapping(value = "/{roomNumber}/status-history/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportRoomStatusHistory(
+            @PathVariable String roomNumber) {
+
+        if (roomService.getRoomByNumber(roomNumber) == null)
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+
+        StreamingResponseBody body = out -> roomService.exportRoomStatusHistory(roomNumber, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @Operation(summary = "Get room status history by date")
     @ApiResponse(responseCode = "200", description = "Room history retrieved")
     @GetMapping("/{roomNumber}/status-history/by-date")
@@ -320,7 +486,7 @@ public class RoomController {
             LocalDate date) {
 
         return ResponseEntity.ok(
-                RoomMapper.toRoomStatusHistoryDTOList(
+                RoomMapper.asRoomStatusHistoryDTOs(
                         roomService.getRoomStatusHistoryByDate(roomNumber, date)));
     }
 
@@ -333,7 +499,7 @@ public class RoomController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
 
         return ResponseEntity.ok(
-                RoomMapper.toRoomStatusHistoryDTOList(
+                RoomMapper.asRoomStatusHistoryDTOs(
                         roomService.getRoomStatusHistoryByDateRange(roomNumber, startDate, endDate)));
     }
 
@@ -358,11 +524,50 @@ public class RoomController {
             LocalDate date) {
 
         return ResponseEntity.ok(
-                RoomMapper.toRoomStatusHistoryDTOList(
+                RoomMapper.asRoomStatusHistoryDTOs(
                         roomService.getAllRoomsStatusHistoryByDate(date)));
     }
 
-    
+
+    @Operation(summary = "Get a page of all rooms status for a specific date",
+            description = "Keyset-paginated status changes on the given date, newest first. Pass the returned nextCursor as 'cursor' to fetch the next page.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Status overview page retrieved"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content)
+    })
+    @GetMapping("/history/by-date/page")
+    public ResponseEntity<RoomStatusHistoryPageDTO> getAllRoomsStatusHistoryPageByDate(
+            @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Date in yyyy-MM-dd format", example = "2026-03-05")
+            LocalDate date,
+            @RequestParam(required = false)
+            @Parameter(description = "Cursor from the previous page's nextCursor")
+            String cursor,
+            @RequestParam(defaultValue = "50")
+            @Parameter(description = "Page size (max 500)", example = "50")
+            int limit) {
+
+        try {
+            return ResponseEntity.ok(roomService.getAllRoomsStatusHistoryPageByDate(date, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+    }
+
+    @Operation(summary = "Export all rooms status for a specific date",
+            description = "Streams the status history of all rooms on the given date as newline-delimited JSON.")
+    @ApiResponse(responseCode = "200", description = "Status overview stream", content = @Content(mediaType = "application/x-ndjson"))
+    @GetMapping(value = "/history/by-date/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAllRoomsStatusHistoryByDate(
+            @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Date in yyyy-MM-dd format", example = "2026-03-05")
+            LocalDate date) {
+
+        StreamingResponseBody body = out -> roomService.exportAllRoomsStatusHistoryByDate(date, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
 
     @Operation(summary = "Get room types summary",
             description = "Retrieve summary information for all room types including pricing and capacity.")
@@ -373,41 +578,93 @@ public class RoomController {
     }
 
     @Operation(summary = "Get room type image",
-            description = "Retrieve the image file for a specific room type to display in the frontend.")
+            description = "Retrieve the image file for a specific room type to display in the frontend. "
+                    + "Supports conditional requests (ETag / Last-Modified) and byte ranges.")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Image retrieved successfully", content = @Content(mediaType = "image/jpeg")),
+        @ApiResponse(responseCode = "206", description = "Requested byte range of the image", content = @Content(mediaType = "image/jpeg")),
+        @ApiResponse(responseCode = "304", description = "Image not modified", content = @Content),
         @ApiResponse(responseCode = "404", description = "Room type or image not found", content = @Content)
     })
     @GetMapping("/room-types/{type}/image")
-    public ResponseEntity<byte[]> getRoomTypeImage(
+    public ResponseEntity<Resource> getRoomTypeImage(
             @Parameter(description = "Room type (SINGLE, DOUBLE, DELUXE)", example = "SINGLE")
-            @PathVariable String type) {
+            @PathVariable String type,
+            ServletWebRequest webRequest) {
 
         try {
             RoomType roomType = RoomType.valueOf(type.toUpperCase());
-            String imagePath = roomService.getRoomTypeImage(roomType);
-
-            if (imagePath == null || imagePath.contains("not found")) {
+            Path imagefile = roomImageService.resolveImage(roomType);
+            if (imagefile == null) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
             }
 
-            // Read image file from filesystem
-            Path imagefile = Paths.get(imagePath);
-            
-            // Check if file exists
-            if (!Files.exists(imagefile)) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+            long length = Files.size(imagefile);
+            long lastModified = Files.getLastModifiedTime(imagefile).toMillis();
+
+            // Conditional GET: answers 304 and sets ETag / Last-Modified without touching the file contents
+            if (webRequest.checkNotModified(RoomImageService.etag(length, lastModified), lastModified)) {
+                return null;
+            }
+
+            String contentType = getContentType(imagefile.toString());
+            String cacheControl = roomImageService.getCacheControl().getHeaderValue();
+            HttpServletRequest request = webRequest.getRequest();
+
+            // Zero-copy path: hand the file to the container's sendfile (FileChannel.transferTo) for full-body responses
+            if (request.getHeader(HttpHeaders.RANGE) == null
+                    && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR))) {
+                HttpServletResponse response = webRequest.getResponse();
+                response.setContentType(contentType);
+                response.setContentLengthLong(length);
+                response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+                response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+                request.setAttribute(SENDFILE_FILENAME_ATTR, imagefile.toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START_ATTR, 0L);
+                request.setAttribute(SENDFILE_END_ATTR, length);
+                return null;
             }
 
-            byte[] imageBytes = Files.readAllBytes(imagefile);
-            
-            // Determine media type based on file extension
-            String contentType = getContentType(imagePath);
-            
+            // Streaming path: Spring copies the resource in small chunks and serves Range requests as 206
             return ResponseEntity.ok()
+                    .header(HttpHeaders.CACHE_CONTROL, cacheControl)
                     .contentType(MediaType.parseMediaType(contentType))
-                    .body(imageBytes);
-                    
+                    .body(new FileSystemResource(imagefile));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @Operation(summary = "Get room type thumbnail",
+            description = "Retrieve a small JPEG thumbnail of the room type image for gallery listings.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Thumbnail retrieved successfully", content = @Content(mediaType = "image/jpeg")),
+        @ApiResponse(responseCode = "304", description = "Thumbnail not modified", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Room type or image not found", content = @Content)
+    })
+    @GetMapping("/room-types/{type}/image/thumbnail")
+    public ResponseEntity<byte[]> getRoomTypeThumbnail(
+            @Parameter(description = "Room type (SINGLE, DOUBLE, DELUXE)", example = "SINGLE")
+            @PathVariable String type) {
+
+        try {
+            RoomType roomType = RoomType.valueOf(type.toUpperCase());
+            RoomImageService.Thumbnail thumbnail = roomImageService.getThumbnail(roomType);
+            if (thumbnail == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+            }
+
+            // ETag / Last-Modified on the entity let Spring answer conditional requests with 304
+            return ResponseEntity.ok()
+                    .cacheControl(roomImageService.getCacheControl())
+                    .eTag(thumbnail.etag())
+                    .lastModified(thumbnail.lastModified())
+                    .contentType(MediaType.IMAGE_JPEG)
+                    .body(thumbnail.bytes());
+
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
         } catch (IOException e) {
@@ -447,4 +704,48 @@ public class RoomController {
         return ResponseEntity.ok(roomService.getStatisticsByType());
     }
 
+    @Operation(summary = "Get occupancy analytics",
+            description = "Occupancy per room type for each day, ISO week or month in the range, in room-nights. "
+                    + "Answered from the daily occupancy rollups, so the cost does not depend on the room count.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Occupancy retrieved"),
+        @ApiResponse(responseCode = "400", description = "Invalid granularity or date range", content = @Content)
+    })
+    @GetMapping("/analytics/occupancy")
+    public ResponseEntity<List<OccupancyDTO>> getOccupancy(
+            @RequestParam
+            @Parameter(description = "First date in yyyy-MM-dd format", example = "2025-03-01")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate from,
+            @RequestParam
+            @Parameter(description = "Last date in yyyy-MM-dd format (inclusive)", example = "2026-02-28")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate to,
+            @RequestParam(defaultValue = "day")
+            @Parameter(description = "Bucket size: day, week or month", example = "week")
+            String granularity) {
+
+        try {
+            OccupancyGranularity bucket = OccupancyGranularity.valueOf(granularity.toUpperCase());
+            return ResponseEntity.ok(occupancyRollupService.getOccupancy(from, to, bucket));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+    }
+
+    @Operation(summary = "Get last history job report",
+            description = "Report of the most recent nightly status history refresh: status, duration, rooms and chunks processed, rows written and failed chunks.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Report retrieved successfully"),
+        @ApiResponse(responseCode = "404", description = "The job has not run yet", content = @Content)
+    })
+    @GetMapping("/admin/history-jobs")
+    public ResponseEntity<HistoryJobReportDTO> getHistoryJobReport() {
+        HistoryJobReportDTO report = historyRefreshJob.getLastRunReport();
+        if (report == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(report);
+    }
+
 }
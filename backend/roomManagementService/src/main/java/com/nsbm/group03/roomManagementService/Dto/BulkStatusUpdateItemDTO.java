@@ -0,0 +1,36 @@
+package com.nsbm.group03.roomManagementService.Dto;
+
+import java.time.LocalDate;
+
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+
+// One entry of a bulk status update; date defaults to today and changedBy to ADMIN
+public class BulkStatusUpdateItemDTO {
+
+    private String roomNumber;
+    private RoomStatus status;
+    private LocalDate date;
+    private String changedBy;
+
+    public BulkStatusUpdateItemDTO() {}
+
+    public BulkStatusUpdateItemDTO(String roomNumber, RoomStatus status, LocalDate date, String changedBy) {
+        this.roomNumber = roomNumber;
+        this.status = status;
+        this.date = date;
+        this.changedBy = changedBy;
+    }
+
+    // Getters & Setters
+    public String getRoomNumber() { return roomNumber; }
+    public void setRoomNumber(String roomNumber) { this.roomNumber = roomNumber; }
+
+    public RoomStatus getStatus() { return status; }
+    public void setStatus(RoomStatus status) { this.status = status; }
+
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public String getChangedBy() { return changedBy; }
+    public void setChangedBy(String changedBy) { this.changedBy = changedBy; }
+}
@@ -0,0 +1,56 @@
+package com.nsbm.group03.roomManagementService.Dto;
+
+import java.time.LocalDate;
+
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+
+// Outcome of one entry of a bulk status update, in request order
+public class BulkStatusUpdateResultDTO {
+
+    private int index;
+    private String roomNumber;
+    private RoomStatus status;
+    private LocalDate date;
+    private boolean success;
+    private String message;
+    private String historyId;
+
+    public BulkStatusUpdateResultDTO() {}
+
+    public BulkStatusUpdateResultDTO(int index, String roomNumber, RoomStatus status, LocalDate date,
+                                     boolean success, String message, String historyId) {
+        this.index = index;
+        this.roomNumber = roomNumber;
+        this.status = status;
+        this.date = date;
+        this.success = success;
+        this.message = message;
+        this.historyId = historyId;
+    }
+
+    public static BulkStatusUpdateResultDTO failed(int index, BulkStatusUpdateItemDTO item, String message) {
+        return new BulkStatusUpdateResultDTO(index, item.getRoomNumber(), item.getStatus(), item.getDate(), false, message, null);
+    }
+
+    // Getters & Setters
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public String getRoomNumber() { return roomNumber; }
+    public void setRoomNumber(String roomNumber) { this.roomNumber = roomNumber; }
+
+    public RoomStatus getStatus() { return status; }
+    public void setStatus(RoomStatus status) { this.status = status; }
+
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public String getHistoryId() { return historyId; }
+    public void setHistoryId(String historyId) { this.historyId = historyId; }
+}
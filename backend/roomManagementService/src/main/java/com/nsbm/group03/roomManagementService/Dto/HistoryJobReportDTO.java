@@ -0,0 +1,80 @@
+package com.nsbm.group03.roomManagementService.Dto;
+
+import java.time.LocalDateTime;
+
+import com.nsbm.group03.roomManagementService.Enum.HistoryJobStatus;
+
+/**
+ * DTO for the report of a history refresh job run
+ */
+public class HistoryJobReportDTO {
+
+    private String runId;
+    private HistoryJobStatus status;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long durationMs;
+    private int totalRooms;
+    private int totalChunks;
+    private int completedChunks;
+    private int failedChunks;
+    private long rowsWritten;
+    private int resumeCount;
+    private String lastError;
+
+    public HistoryJobReportDTO() {}
+
+    public HistoryJobReportDTO(String runId, HistoryJobStatus status, LocalDateTime startedAt, LocalDateTime finishedAt,
+                               long durationMs, int totalRooms, int totalChunks, int completedChunks, int failedChunks,
+                               long rowsWritten, int resumeCount, String lastError) {
+        this.runId = runId;
+        this.status = status;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.durationMs = durationMs;
+        this.totalRooms = totalRooms;
+        this.totalChunks = totalChunks;
+        this.completedChunks = completedChunks;
+        this.failedChunks = failedChunks;
+        this.rowsWritten = rowsWritten;
+        this.resumeCount = resumeCount;
+        this.lastError = lastError;
+    }
+
+    // Getters & Setters
+    public String getRunId() { return runId; }
+    public void setRunId(String runId) { this.runId = runId; }
+
+    public HistoryJobStatus getStatus() { return status; }
+    public void setStatus(HistoryJobStatus status) { this.status = status; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+
+    public long getDurationMs() { return durationMs; }
+    public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+
+    public int getTotalRooms() { return totalRooms; }
+    public void setTotalRooms(int totalRooms) { this.totalRooms = totalRooms; }
+
+    public int getTotalChunks() { return totalChunks; }
+    public void setTotalChunks(int totalChunks) { this.totalChunks = totalChunks; }
+
+    public int getCompletedChunks() { return completedChunks; }
+    public void setCompletedChunks(int completedChunks) { this.completedChunks = completedChunks; }
+
+    public int getFailedChunks() { return failedChunks; }
+    public void setFailedChunks(int failedChunks) { this.failedChunks = failedChunks; }
+
+    public long getRowsWritten() { return rowsWritten; }
+    public void setRowsWritten(long rowsWritten) { this.rowsWritten = rowsWritten; }
+
+    public int getResumeCount() { return resumeCount; }
+    public void setResumeCount(int resumeCount) { this.resumeCount = resumeCount; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+}
@@ -0,0 +1,56 @@
+package com.nsbm.group03.roomManagementService.Dto;
+
+import java.time.LocalDate;
+
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+
+/**
+ * DTO for occupancy of one room type over one period (day, week or month).
+ * Counts are room-nights, summed from the daily rollups.
+ */
+public class OccupancyDTO {
+
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private RoomType roomType;
+    private long availableRoomNights;
+    private long occupiedRoomNights;
+    private long maintenanceRoomNights;
+    private double occupancyRate; // percentage
+
+    public OccupancyDTO() {}
+
+    public OccupancyDTO(LocalDate periodStart, LocalDate periodEnd, RoomType roomType,
+                        long availableRoomNights, long occupiedRoomNights, long maintenanceRoomNights) {
+        this.periodStart = periodStart;
+        this.periodEnd = periodEnd;
+        this.roomType = roomType;
+        this.availableRoomNights = availableRoomNights;
+        this.occupiedRoomNights = occupiedRoomNights;
+        this.maintenanceRoomNights = maintenanceRoomNights;
+        long total = availableRoomNights + occupiedRoomNights + maintenanceRoomNights;
+        this.occupancyRate = total > 0 ? (double) occupiedRoomNights / total * 100 : 0;
+    }
+
+    // Getters & Setters
+    public LocalDate getPeriodStart() { return periodStart; }
+    public void setPeriodStart(LocalDate periodStart) { this.periodStart = periodStart; }
+
+    public LocalDate getPeriodEnd() { return periodEnd; }
+    public void setPeriodEnd(LocalDate periodEnd) { this.periodEnd = periodEnd; }
+
+    public RoomType getRoomType() { return roomType; }
+    public void setRoomType(RoomType roomType) { this.roomType = roomType; }
+
+    public long getAvailableRoomNights() { return availableRoomNights; }
+    public void setAvailableRoomNights(long availableRoomNights) { this.availableRoomNights = availableRoomNights; }
+
+    public long getOccupiedRoomNights() { return occupiedRoomNights; }
+    public void setOccupiedRoomNights(long occupiedRoomNights) { this.occupiedRoomNights = occupiedRoomNights; }
+
+    public long getMaintenanceRoomNights() { return maintenanceRoomNights; }
+    public void setMaintenanceRoomNights(long maintenanceRoomNights) { this.maintenanceRoomNights = maintenanceRoomNights; }
+
+    public double getOccupancyRate() { return occupancyRate; }
+    public void setOccupancyRate(double occupancyRate) { this.occupancyRate = occupancyRate; }
+}
@@ -0,0 +1,58 @@
+package com.nsbm.group03.roomManagementService.Dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+
+// Compact delta pushed to /api/rooms/events subscribers whenever a room status change commits
+public class RoomStatusEventDTO {
+
+    private long id;
+    private String roomNumber;
+    private RoomType roomType;
+    private LocalDate date;
+    private RoomStatus status;
+    private RoomStatus previousStatus;
+    private String changedBy;
+    private LocalDateTime changedAt;
+
+    public RoomStatusEventDTO() {}
+
+    public RoomStatusEventDTO(String roomNumber, RoomType roomType, LocalDate date, RoomStatus status,
+                              RoomStatus previousStatus, String changedBy, LocalDateTime changedAt) {
+        this.roomNumber = roomNumber;
+        this.roomType = roomType;
+        this.date = date;
+        this.status = status;
+        this.previousStatus = previousStatus;
+        this.changedBy = changedBy;
+        this.changedAt = changedAt;
+    }
+
+    // Getters & Setters
+    public long getId() { return id; }
+    public void setId(long id) { this.id = id; }
+
+    public String getRoomNumber() { return roomNumber; }
+    public void setRoomNumber(String roomNumber) { this.roomNumber = roomNumber; }
+
+    public RoomType getRoomType() { return roomType; }
+    public void setRoomType(RoomType roomType) { this.roomType = roomType; }
+
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public RoomStatus getStatus() { return status; }
+    public void setStatus(RoomStatus status) { this.status = status; }
+
+    public RoomStatus getPreviousStatus() { return previousStatus; }
+    public void setPreviousStatus(RoomStatus previousStatus) { this.previousStatus = previousStatus; }
+
+    public String getChangedBy() { return changedBy; }
+    public void setChangedBy(String changedBy) { this.changedBy = changedBy; }
+
+    public LocalDateTime getChangedAt() { return changedAt; }
+    public void setChangedAt(LocalDateTime changedAt) { this.changedAt = changedAt; }
+}
@@ -0,0 +1,28 @@
+package com.nsbm.group03.roomManagementService.Dto;
+
+import java.util.List;
+
+/**
+ * One page of status history in (date, changedAt, id) descending order.
+ * Pass nextCursor back as the cursor parameter to fetch the following page;
+ * it is null on the last page.
+ */
+public class RoomStatusHistoryPageDTO {
+
+    private List<RoomStatusHistoryDTO> items;
+    private String nextCursor;
+
+    public RoomStatusHistoryPageDTO() {}
+
+    public RoomStatusHistoryPageDTO(List<RoomStatusHistoryDTO> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters & Setters
+    public List<RoomStatusHistoryDTO> getItems() { return items; }
+    public void setItems(List<RoomStatusHistoryDTO> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,73 @@
+package com.nsbm.group03.roomManagementService.Entity;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+/**
+ * A room whose chunk of a HistoryJobRun has committed. The row is written in the
+ * chunk's own transaction, so after a crash it exists exactly for the rooms whose
+ * history is in the database, and a resumed run skips just those.
+ */
+@Entity
+@Table(name = "history_job_completed_room")
+@IdClass(HistoryJobCompletedRoom.Key.class)
+public class HistoryJobCompletedRoom {
+
+    @Id
+    @Column(name = "run_id")
+    private String runId;
+
+    @Id
+    @Column(name = "room_id")
+    private String roomId;
+
+    public HistoryJobCompletedRoom() {
+    }
+
+    public HistoryJobCompletedRoom(String runId, String roomId) {
+        this.runId = runId;
+        this.roomId = roomId;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+
+    public static class Key implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private String runId;
+        private String roomId;
+
+        public Key() {
+        }
+
+        public Key(String runId, String roomId) {
+            this.runId = runId;
+            this.roomId = roomId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key other)) return false;
+            return Objects.equals(runId, other.runId) && Objects.equals(roomId, other.roomId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(runId, roomId);
+        }
+    }
+}
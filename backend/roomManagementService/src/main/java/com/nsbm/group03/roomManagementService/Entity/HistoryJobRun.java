@@ -0,0 +1,145 @@
+package com.nsbm.group03.roomManagementService.Entity;
+
+import java.time.LocalDateTime;
+
+import com.nsbm.group03.roomManagementService.Enum.HistoryJobStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+
+/**
+ * One run of the nightly history refresh job. The rooms whose chunk has been committed
+ * are stored as HistoryJobCompletedRoom rows, so a run interrupted by a crash can be
+ * resumed without redoing them even if rooms were added or removed in between.
+ */
+@Entity
+public class HistoryJobRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private HistoryJobStatus status;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    private int totalRooms;
+    private int totalChunks;
+    private int completedChunkCount;
+    private int failedChunks;
+    private long rowsWritten;
+    private long durationMs;
+    private int resumeCount;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    public HistoryJobRun() {
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public HistoryJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(HistoryJobStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public int getTotalRooms() {
+        return totalRooms;
+    }
+
+    public void setTotalRooms(int totalRooms) {
+        this.totalRooms = totalRooms;
+    }
+
+    public int getTotalChunks() {
+        return totalChunks;
+    }
+
+    public void setTotalChunks(int totalChunks) {
+        this.totalChunks = totalChunks;
+    }
+
+    public int getCompletedChunkCount() {
+        return completedChunkCount;
+    }
+
+    public void setCompletedChunkCount(int completedChunkCount) {
+        this.completedChunkCount = completedChunkCount;
+    }
+
+    public int getFailedChunks() {
+        return failedChunks;
+    }
+
+    public void setFailedChunks(int failedChunks) {
+        this.failedChunks = failedChunks;
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    public void setRowsWritten(long rowsWritten) {
+        this.rowsWritten = rowsWritten;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public int getResumeCount() {
+        return resumeCount;
+    }
+
+    public void setResumeCount(int resumeCount) {
+        this.resumeCount = resumeCount;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
@@ -1,5 +1,6 @@
 package com.nsbm.group03.roomManagementService.Entity;
 
+import java.io.Serializable;
 import java.util.UUID;
 
 import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
@@ -10,12 +11,18 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 
 @Entity
-public class Room {
+@Table(indexes = @Index(name = "idx_room_status_type", columnList = "status, room_type"))
+public class Room implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     @Id    
     private String roomId;
@@ -29,10 +36,16 @@ public class Room {
     private double pricePerNight;
     private int capacity;
     
+    // current status, the read model for "today" statistics (history keeps the per-date record)
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private RoomStatus status;   
 
+    // optimistic lock; existing rows start at 0 when the column is added
+    @Version
+    @Column(columnDefinition = "bigint default 0")
+    private Long version;
+
     // historical statuses, cascade operations ensure they follow the room lifecycle
     @OneToMany(mappedBy = "room", cascade = jakarta.persistence.CascadeType.ALL, orphanRemoval = true)
     private java.util.List<RoomStatusHistory> statusHistory = new java.util.ArrayList<>();
@@ -95,6 +108,14 @@ public class Room {
         this.status = status;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public java.util.List<RoomStatusHistory> getStatusHistory() {
         return statusHistory;
     }
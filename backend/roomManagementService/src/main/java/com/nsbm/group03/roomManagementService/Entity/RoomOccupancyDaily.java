@@ -0,0 +1,98 @@
+package com.nsbm.group03.roomManagementService.Entity;
+
+import java.time.LocalDate;
+
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Daily occupancy rollup: how many rooms of a type were in each status on a date,
+ * counting the latest status history entry of every room for that date.
+ * Rows are maintained incrementally (see RoomOccupancyDailyBatchRepository).
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_occupancy_date_type", columnNames = {"date", "room_type"}))
+public class RoomOccupancyDaily {
+
+    @Id
+    private String id;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RoomType roomType;
+
+    private long available;
+    private long occupied;
+    private long maintenance;
+
+    public RoomOccupancyDaily() {
+    }
+
+    public RoomOccupancyDaily(String id, LocalDate date, RoomType roomType, long available, long occupied,
+            long maintenance) {
+        this.id = id;
+        this.date = date;
+        this.roomType = roomType;
+        this.available = available;
+        this.occupied = occupied;
+        this.maintenance = maintenance;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public RoomType getRoomType() {
+        return roomType;
+    }
+
+    public void setRoomType(RoomType roomType) {
+        this.roomType = roomType;
+    }
+
+    public long getAvailable() {
+        return available;
+    }
+
+    public void setAvailable(long available) {
+        this.available = available;
+    }
+
+    public long getOccupied() {
+        return occupied;
+    }
+
+    public void setOccupied(long occupied) {
+        this.occupied = occupied;
+    }
+
+    public long getMaintenance() {
+        return maintenance;
+    }
+
+    public void setMaintenance(long maintenance) {
+        this.maintenance = maintenance;
+    }
+}
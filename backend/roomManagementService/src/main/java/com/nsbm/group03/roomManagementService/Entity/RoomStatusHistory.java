@@ -1,5 +1,6 @@
 package com.nsbm.group03.roomManagementService.Entity;
 
+import java.io.Serializable;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
@@ -12,12 +13,22 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
 
 @Entity
-public class RoomStatusHistory {
+@Table(indexes = {
+    // per-room history pages and exports, newest first
+    @Index(name = "idx_history_room_date_changed", columnList = "room_id, date, changed_at"),
+    // all-rooms history for one date
+    @Index(name = "idx_history_date_changed", columnList = "date, changed_at")
+})
+public class RoomStatusHistory implements Serializable {
+
+    private static final long serialVersionUID = 1L;
     
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -40,6 +51,10 @@ public class RoomStatusHistory {
     @Column(nullable = false)
     private LocalDateTime changedAt;
 
+    // Insertion order, assigned by the database; decides between rows of a room that share a changedAt
+    @Column(insertable = false, updatable = false, columnDefinition = "BIGINT NOT NULL AUTO_INCREMENT UNIQUE")
+    private Long seq;
+
     public RoomStatusHistory() {
     }
 
@@ -101,6 +116,10 @@ public class RoomStatusHistory {
         this.changedAt = changedAt;
     }
 
+    public Long getSeq() {
+        return seq;
+    }
+
     @PrePersist
     public void prePersist() {
         if (this.changedAt == null) {
@@ -0,0 +1,7 @@
+package com.nsbm.group03.roomManagementService.Enum;
+
+public enum HistoryJobStatus {
+    RUNNING,
+    COMPLETED,
+    COMPLETED_WITH_FAILURES
+}
@@ -0,0 +1,7 @@
+package com.nsbm.group03.roomManagementService.Enum;
+
+public enum OccupancyGranularity {
+    DAY,
+    WEEK,
+    MONTH
+}
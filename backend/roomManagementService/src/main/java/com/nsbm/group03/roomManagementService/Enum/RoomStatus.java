@@ -3,5 +3,14 @@ package com.nsbm.group03.roomManagementService.Enum;
 public enum RoomStatus {
     AVAILABLE,
     OCCUPIED,
-    MAINTENANCE
+    MAINTENANCE;
+
+    // Moves allowed by the check-in / check-out / maintenance operations
+    public boolean canTransitionTo(RoomStatus next) {
+        return switch (this) {
+            case AVAILABLE -> next == OCCUPIED || next == MAINTENANCE;
+            case OCCUPIED -> next == AVAILABLE || next == MAINTENANCE;
+            case MAINTENANCE -> next == AVAILABLE;
+        };
+    }
 }
@@ -1,7 +1,9 @@
 package com.nsbm.group03.roomManagementService.Mapper;
 
+import java.util.AbstractList;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.RandomAccess;
 
 import com.nsbm.group03.roomManagementService.Dto.RoomAvailabilityDTO;
 import com.nsbm.group03.roomManagementService.Dto.RoomCreateDTO;
@@ -112,26 +114,63 @@ public class RoomMapper {
     }
 
     // ========== BATCH MAPPINGS ==========
+    // Plain presized loops: a stream + Collectors.toList() grows its backing array
+    // several times on large inputs and these run on every list endpoint.
 
     // Batch mapping: List<Room> → List<RoomDTO>
     public static List<RoomDTO> toRoomDTOList(List<Room> rooms) {
-        return rooms.stream()
-            .map(RoomMapper::toRoomDTO)
-            .collect(Collectors.toList());
+        List<RoomDTO> result = new ArrayList<>(rooms.size());
+        for (Room room : rooms) {
+            result.add(toRoomDTO(room));
+        }
+        return result;
     }
 
     // Batch mapping: List<RoomStatusHistory> → List<RoomAvailabilityDTO>
     public static List<RoomAvailabilityDTO> toRoomAvailabilityDTOListFromHistory(List<RoomStatusHistory> statusHistories) {
-        return statusHistories.stream()
-            .map(RoomMapper::toRoomAvailabilityDTO)
-            .collect(Collectors.toList());
+        List<RoomAvailabilityDTO> result = new ArrayList<>(statusHistories.size());
+        for (RoomStatusHistory statusHistory : statusHistories) {
+            result.add(toRoomAvailabilityDTO(statusHistory));
+        }
+        return result;
     }
 
     // Batch mapping: List<RoomStatusHistory> → List<RoomStatusHistoryDTO>
     public static List<RoomStatusHistoryDTO> toRoomStatusHistoryDTOList(List<RoomStatusHistory> statusHistories) {
-        return statusHistories.stream()
-            .map(RoomMapper::toRoomStatusHistoryDTO)
-            .collect(Collectors.toList());
+        List<RoomStatusHistoryDTO> result = new ArrayList<>(statusHistories.size());
+        for (RoomStatusHistory statusHistory : statusHistories) {
+            result.add(toRoomStatusHistoryDTO(statusHistory));
+        }
+        return result;
+    }
+
+    /**
+     * Read-only view of the history as DTOs, mapping each element when it is read.
+     * Jackson serializes it in one pass, so no intermediate DTO list is built and
+     * each DTO becomes garbage as soon as it has been written.
+     */
+    public static List<RoomStatusHistoryDTO> asRoomStatusHistoryDTOs(List<RoomStatusHistory> statusHistories) {
+        return new RoomStatusHistoryDTOView(statusHistories);
+    }
+
+    private static final class RoomStatusHistoryDTOView extends AbstractList<RoomStatusHistoryDTO> implements RandomAccess {
+
+        private final List<RoomStatusHistory> source;
+
+        private RoomStatusHistoryDTOView(List<RoomStatusHistory> source) {
+            // indexed access must be O(1) for the view to be a single pass
+            this.source = source instanceof RandomAccess ? source : new ArrayList<>(source);
+        }
+
+        @Override
+        public RoomStatusHistoryDTO get(int index) {
+            return toRoomStatusHistoryDTO(source.get(index));
+        }
+
+        @Override
+        public int size() {
+            return source.size();
+        }
     }
 
 }
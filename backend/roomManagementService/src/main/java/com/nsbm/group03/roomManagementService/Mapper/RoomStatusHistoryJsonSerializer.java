@@ -0,0 +1,35 @@
+package com.nsbm.group03.roomManagementService.Mapper;
+
+import java.time.format.DateTimeFormatter;
+
+import com.nsbm.group03.roomManagementService.Entity.RoomStatusHistory;
+
+import tools.jackson.core.JsonGenerator;
+
+/**
+ * Writes a RoomStatusHistory entity straight to JSON in the same shape as
+ * RoomStatusHistoryDTO, without building the DTO or going through bean
+ * introspection. Used by the NDJSON exports, which write one object per row.
+ */
+public final class RoomStatusHistoryJsonSerializer {
+
+    // Jackson's default LocalDateTime format (always includes seconds, unlike toString())
+    private static final DateTimeFormatter CHANGED_AT_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private RoomStatusHistoryJsonSerializer() {
+    }
+
+    // Field order and names follow RoomStatusHistoryDTO
+    public static void write(JsonGenerator gen, RoomStatusHistory history) {
+        gen.writeStartObject();
+        gen.writeStringProperty("id", history.getId());
+        gen.writeStringProperty("roomNumber", history.getRoom().getRoomNumber());
+        gen.writeStringProperty("roomId", history.getRoom().getRoomId());
+        gen.writeStringProperty("date", history.getDate() != null ? history.getDate().toString() : null);
+        gen.writeStringProperty("status", history.getStatus() != null ? history.getStatus().name() : null);
+        gen.writeStringProperty("changedBy", history.getChangedBy());
+        gen.writeStringProperty("changedAt",
+                history.getChangedAt() != null ? CHANGED_AT_FORMAT.format(history.getChangedAt()) : null);
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,56 @@
+package com.nsbm.group03.roomManagementService.Repository;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC writer for the progress of a history job run.
+ * A committed chunk inserts one history_job_completed_room row per room and bumps
+ * the run's counters with a relative UPDATE, so concurrent chunks never rewrite
+ * the run row from a stale copy and no work grows with the rooms already done.
+ */
+@Repository
+public class HistoryJobProgressRepository {
+
+    private static final String INSERT_ROOM_SQL =
+            "INSERT INTO history_job_completed_room (run_id, room_id) VALUES (?, ?)";
+    private static final String CHUNK_COMPLETED_SQL =
+            "UPDATE history_job_run SET completed_chunk_count = completed_chunk_count + 1, "
+            + "rows_written = rows_written + ? WHERE id = ?";
+    private static final String CHUNK_FAILED_SQL =
+            "UPDATE history_job_run SET failed_chunks = failed_chunks + 1, last_error = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public HistoryJobProgressRepository(JdbcTemplate jdbcTemplate,
+            @Value("${room.history.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    // Record a committed chunk; call inside the chunk's transaction so it commits with the history
+    public void chunkCompleted(String runId, List<String> roomIds, long rowsWritten) {
+        jdbcTemplate.batchUpdate(INSERT_ROOM_SQL, roomIds, batchSize, (ps, roomId) -> {
+            ps.setString(1, runId);
+            ps.setString(2, roomId);
+        });
+        jdbcTemplate.update(CHUNK_COMPLETED_SQL, rowsWritten, runId);
+    }
+
+    public void chunkFailed(String runId, String error) {
+        jdbcTemplate.update(CHUNK_FAILED_SQL, error, runId);
+    }
+
+    // roomId of every room whose chunk of the run has committed
+    public Set<String> findCompletedRooms(String runId) {
+        if (runId == null) return Set.of();
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT room_id FROM history_job_completed_room WHERE run_id = ?", String.class, runId));
+    }
+}
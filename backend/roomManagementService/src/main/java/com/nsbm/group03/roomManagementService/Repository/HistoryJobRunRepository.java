@@ -0,0 +1,17 @@
+package com.nsbm.group03.roomManagementService.Repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.nsbm.group03.roomManagementService.Entity.HistoryJobRun;
+import com.nsbm.group03.roomManagementService.Enum.HistoryJobStatus;
+
+@Repository
+public interface HistoryJobRunRepository extends JpaRepository<HistoryJobRun, String> {
+
+    // Most recent run, for the admin report
+    HistoryJobRun findFirstByOrderByStartedAtDesc();
+
+    // Most recent run left in a given state (RUNNING after a crash)
+    HistoryJobRun findFirstByStatusOrderByStartedAtDesc(HistoryJobStatus status);
+}
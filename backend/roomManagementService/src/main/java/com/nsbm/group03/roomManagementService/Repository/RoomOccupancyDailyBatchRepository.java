@@ -0,0 +1,67 @@
+package com.nsbm.group03.roomManagementService.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.nsbm.group03.roomManagementService.Entity.RoomOccupancyDaily;
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+
+/**
+ * JDBC writer for the daily occupancy rollups.
+ * Counters are moved with relative UPDATEs so concurrent status changes never
+ * overwrite each other; the row for a (date, type) is created on first use.
+ */
+@Repository
+public class RoomOccupancyDailyBatchRepository {
+
+    private static final String INCREMENT_SQL =
+            "UPDATE room_occupancy_daily SET available = available + ?, occupied = occupied + ?, "
+            + "maintenance = maintenance + ? WHERE date = ? AND room_type = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO room_occupancy_daily (id, date, room_type, available, occupied, maintenance) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public RoomOccupancyDailyBatchRepository(JdbcTemplate jdbcTemplate,
+            @Value("${room.history.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    // Add the given deltas to the (date, type) rollup, creating it when missing
+    public void increment(LocalDate date, RoomType roomType, long available, long occupied, long maintenance) {
+        if (update(date, roomType, available, occupied, maintenance) > 0) return;
+        try {
+            jdbcTemplate.update(INSERT_SQL, UUID.randomUUID().toString(), Date.valueOf(date), roomType.name(),
+                    available, occupied, maintenance);
+        } catch (DuplicateKeyException e) {
+            // another writer created the row first
+            update(date, roomType, available, occupied, maintenance);
+        }
+    }
+
+    private int update(LocalDate date, RoomType roomType, long available, long occupied, long maintenance) {
+        return jdbcTemplate.update(INCREMENT_SQL, available, occupied, maintenance, Date.valueOf(date), roomType.name());
+    }
+
+    // Replace every rollup with the given rows
+    public void replaceAll(List<RoomOccupancyDaily> rows) {
+        jdbcTemplate.update("DELETE FROM room_occupancy_daily");
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, batchSize, (ps, row) -> {
+            ps.setString(1, UUID.randomUUID().toString());
+            ps.setDate(2, Date.valueOf(row.getDate()));
+            ps.setString(3, row.getRoomType().name());
+            ps.setLong(4, row.getAvailable());
+            ps.setLong(5, row.getOccupied());
+            ps.setLong(6, row.getMaintenance());
+        });
+    }
+}
@@ -0,0 +1,16 @@
+package com.nsbm.group03.roomManagementService.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.nsbm.group03.roomManagementService.Entity.RoomOccupancyDaily;
+
+@Repository
+public interface RoomOccupancyDailyRepository extends JpaRepository<RoomOccupancyDaily, String> {
+
+    // Rollups for a date range, oldest first (at most one row per room type per day)
+    List<RoomOccupancyDaily> findByDateBetweenOrderByDateAsc(LocalDate startDate, LocalDate endDate);
+}
@@ -1,11 +1,20 @@
 package com.nsbm.group03.roomManagementService.Repository;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.nsbm.group03.roomManagementService.Entity.Room;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
 import com.nsbm.group03.roomManagementService.Enum.RoomType;
 
+import jakarta.persistence.LockModeType;
+
 
 @Repository
 public interface RoomRepository extends JpaRepository<Room, String> {
@@ -13,7 +22,39 @@ public interface RoomRepository extends JpaRepository<Room, String> {
     // Find room by room number
     Room findByRoomNumber(String roomNumber);
 
+    // Find all rooms with the given room numbers in one query
+    List<Room> findByRoomNumberIn(java.util.Collection<String> roomNumbers);
+
+    // Same, with the rows locked until commit; taken in room number order so two batches cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Room r WHERE r.roomNumber IN :roomNumbers ORDER BY r.roomNumber")
+    List<Room> lockByRoomNumberIn(@Param("roomNumbers") java.util.Collection<String> roomNumbers);
+
+    // Lock one room row until commit
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Room r WHERE r.roomNumber = :roomNumber")
+    Room lockByRoomNumber(@Param("roomNumber") String roomNumber);
+
     long countByRoomType(RoomType type);
 
+    /**
+     * Move a room from one status to another in a single statement; returns 0 when the
+     * room is missing or no longer in the expected status. The row lock taken here
+     * serialises concurrent transitions of the same room until the caller commits.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Room r SET r.status = :to, r.version = COALESCE(r.version, 0) + 1 "
+            + "WHERE r.roomNumber = :roomNumber AND r.status = :from")
+    int compareAndSetStatus(@Param("roomNumber") String roomNumber, @Param("from") RoomStatus from,
+            @Param("to") RoomStatus to);
+
+    // Count rooms grouped by type as [RoomType, Long] rows
+    @Query("SELECT r.roomType, COUNT(r) FROM Room r GROUP BY r.roomType")
+    List<Object[]> countRoomsGroupedByType();
+
+    // Count rooms grouped by type and current status as [RoomType, RoomStatus, Long] rows
+    @Query("SELECT r.roomType, r.status, COUNT(r) FROM Room r GROUP BY r.roomType, r.status")
+    List<Object[]> countRoomsGroupedByTypeAndStatus();
+
 }
 
@@ -0,0 +1,56 @@
+package com.nsbm.group03.roomManagementService.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.nsbm.group03.roomManagementService.Entity.RoomStatusHistory;
+
+/**
+ * JDBC batch writer for bulk status history inserts.
+ * Used by history generation, where thousands of rows are written at once
+ * and a per-row JPA save would cost one round trip each.
+ */
+@Repository
+public class RoomStatusHistoryBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO room_status_history (id, room_id, date, status, changed_by, changed_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public RoomStatusHistoryBatchRepository(JdbcTemplate jdbcTemplate,
+            @Value("${room.history.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    // Insert all rows in batches of the configured size, assigning ids that are still null
+    public int insertAll(List<RoomStatusHistory> rows) {
+        if (rows.isEmpty()) return 0;
+        for (RoomStatusHistory row : rows) {
+            if (row.getId() == null) {
+                row.setId(UUID.randomUUID().toString());
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, batchSize, (ps, row) -> {
+            ps.setString(1, row.getId());
+            ps.setString(2, row.getRoom().getRoomId());
+            ps.setDate(3, Date.valueOf(row.getDate()));
+            ps.setString(4, row.getStatus().name());
+            ps.setString(5, row.getChangedBy());
+            ps.setTimestamp(6, Timestamp.valueOf(row.getChangedAt()));
+        });
+        return rows.size();
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+}
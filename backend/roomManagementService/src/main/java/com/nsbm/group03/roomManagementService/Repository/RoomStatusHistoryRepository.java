@@ -1,13 +1,21 @@
 package com.nsbm.group03.roomManagementService.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 import com.nsbm.group03.roomManagementService.Entity.Room;
 import com.nsbm.group03.roomManagementService.Entity.RoomStatusHistory;
 import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
@@ -37,8 +45,8 @@ public interface RoomStatusHistoryRepository extends JpaRepository<RoomStatusHis
     // Find all status history for a specific status on a specific date
     List<RoomStatusHistory> findByStatusAndDateOrderByChangedAtDesc(RoomStatus status, LocalDate date);
 
-    // Find the latest status history for a specific room
-    @Query("SELECT rsh FROM RoomStatusHistory rsh WHERE rsh.room = :room ORDER BY rsh.changedAt DESC LIMIT 1")
+    // Find the latest status history for a specific room (ties on changedAt go to the last row inserted)
+    @Query("SELECT rsh FROM RoomStatusHistory rsh WHERE rsh.room = :room ORDER BY rsh.changedAt DESC, rsh.seq DESC LIMIT 1")
     RoomStatusHistory findLatestStatusByRoom(@Param("room") Room room);
 
     // Find all occupied rooms for a specific date
@@ -56,4 +64,100 @@ public interface RoomStatusHistoryRepository extends JpaRepository<RoomStatusHis
     // Find all rooms in maintenance
     List<RoomStatusHistory> findByStatusOrderByDateDesc(RoomStatus status);
 
+    // Count rooms per (room type, latest status) in one statement instead of one latest-status lookup per room.
+    // Rows sharing the latest changedAt (generated history uses one timestamp) are resolved to the last one
+    // inserted, so every room is counted under exactly one status.
+    @Query("SELECT r.roomType AS roomType, rsh.status AS status, COUNT(r.roomId) AS roomCount "
+            + "FROM RoomStatusHistory rsh JOIN rsh.room r "
+            + "WHERE rsh.seq = (SELECT MAX(h.seq) FROM RoomStatusHistory h WHERE h.room = r "
+            + "AND h.changedAt = (SELECT MAX(l.changedAt) FROM RoomStatusHistory l WHERE l.room = r)) "
+            + "GROUP BY r.roomType, rsh.status")
+    List<TypeStatusCount> countLatestStatusByRoomType();
+
+    // Existing (roomId, date) pairs for the given rooms within a date window, used to find missing history days
+    @Query("SELECT rsh.room.roomId, rsh.date FROM RoomStatusHistory rsh WHERE rsh.room IN :rooms AND rsh.date BETWEEN :startDate AND :endDate")
+    List<Object[]> findRoomDatesInWindow(@Param("rooms") List<Room> rooms, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // ---------- keyset pagination, newest first by (date, changedAt, id) ----------
+
+    @Query("SELECT rsh FROM RoomStatusHistory rsh JOIN FETCH rsh.room WHERE rsh.room = :room "
+            + "ORDER BY rsh.date DESC, rsh.changedAt DESC, rsh.id DESC")
+    List<RoomStatusHistory> findFirstPageByRoom(@Param("room") Room room, Pageable pageable);
+
+    @Query("SELECT rsh FROM RoomStatusHistory rsh JOIN FETCH rsh.room WHERE rsh.room = :room "
+            + "AND (rsh.date < :date OR (rsh.date = :date AND (rsh.changedAt < :changedAt "
+            + "OR (rsh.changedAt = :changedAt AND rsh.id < :id)))) "
+            + "ORDER BY rsh.date DESC, rsh.changedAt DESC, rsh.id DESC")
+    List<RoomStatusHistory> findPageByRoomAfter(@Param("room") Room room, @Param("date") LocalDate date,
+            @Param("changedAt") LocalDateTime changedAt, @Param("id") String id, Pageable pageable);
+
+    @Query("SELECT rsh FROM RoomStatusHistory rsh JOIN FETCH rsh.room WHERE rsh.date = :date "
+            + "ORDER BY rsh.changedAt DESC, rsh.id DESC")
+    List<RoomStatusHistory> findFirstPageByDate(@Param("date") LocalDate date, Pageable pageable);
+
+    @Query("SELECT rsh FROM RoomStatusHistory rsh JOIN FETCH rsh.room WHERE rsh.date = :date "
+            + "AND (rsh.changedAt < :changedAt OR (rsh.changedAt = :changedAt AND rsh.id < :id)) "
+            + "ORDER BY rsh.changedAt DESC, rsh.id DESC")
+    List<RoomStatusHistory> findPageByDateAfter(@Param("date") LocalDate date,
+            @Param("changedAt") LocalDateTime changedAt, @Param("id") String id, Pageable pageable);
+
+    // ---------- streaming exports (must be consumed inside a transaction and closed) ----------
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT rsh FROM RoomStatusHistory rsh JOIN FETCH rsh.room WHERE rsh.room = :room "
+            + "ORDER BY rsh.date DESC, rsh.changedAt DESC, rsh.id DESC")
+    Stream<RoomStatusHistory> streamByRoom(@Param("room") Room room);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT rsh FROM RoomStatusHistory rsh JOIN FETCH rsh.room WHERE rsh.date = :date "
+            + "ORDER BY rsh.changedAt DESC, rsh.id DESC")
+    Stream<RoomStatusHistory> streamByDate(@Param("date") LocalDate date);
+
+    // ---------- occupancy rollups ----------
+
+    // Status a room had on a date before a new change (latest entry for that date, ties to the last inserted)
+    @Query("SELECT rsh.status FROM RoomStatusHistory rsh WHERE rsh.room = :room AND rsh.date = :date "
+            + "ORDER BY rsh.changedAt DESC, rsh.seq DESC LIMIT 1")
+    RoomStatus findLatestStatusByRoomAndDate(@Param("room") Room room, @Param("date") LocalDate date);
+
+    // (roomId, date, status, changedAt) of the given rooms on the given dates, oldest first, for bulk changes
+    @Query("SELECT rsh.room.roomId, rsh.date, rsh.status, rsh.changedAt FROM RoomStatusHistory rsh "
+            + "WHERE rsh.room IN :rooms AND rsh.date IN :dates ORDER BY rsh.changedAt, rsh.seq")
+    List<Object[]> findStatusesByRoomsAndDates(@Param("rooms") java.util.Collection<Room> rooms,
+            @Param("dates") java.util.Collection<LocalDate> dates);
+
+    // (date, status) of the latest entry per date for a room from a date onward; ties on changedAt go to the last inserted
+    @Query("SELECT rsh.date, rsh.status FROM RoomStatusHistory rsh WHERE rsh.room = :room AND rsh.date >= :fromDate "
+            + "AND rsh.seq = (SELECT MAX(h.seq) FROM RoomStatusHistory h WHERE h.room = rsh.room AND h.date = rsh.date "
+            + "AND h.changedAt = (SELECT MAX(l.changedAt) FROM RoomStatusHistory l WHERE l.room = rsh.room AND l.date = rsh.date))")
+    List<Object[]> findLatestStatusPerDateFrom(@Param("room") Room room, @Param("fromDate") LocalDate fromDate);
+
+    // (date, roomType, status, rooms) counting each room's latest entry per date; rebuilds the rollups.
+    // Ties on changedAt go to the last row inserted, as in countLatestStatusByRoomType, so a room counts once per date.
+    @Query("SELECT rsh.date, r.roomType, rsh.status, COUNT(r.roomId) FROM RoomStatusHistory rsh JOIN rsh.room r "
+            + "WHERE rsh.seq = (SELECT MAX(h.seq) FROM RoomStatusHistory h WHERE h.room = r AND h.date = rsh.date "
+            + "AND h.changedAt = (SELECT MAX(l.changedAt) FROM RoomStatusHistory l WHERE l.room = r AND l.date = rsh.date)) "
+            + "GROUP BY rsh.date, r.roomType, rsh.status")
+    List<Object[]> countLatestStatusByDateAndRoomType();
+
+    // ---------- archiving ----------
+
+    // Oldest date still held in the table
+    @Query("SELECT MIN(rsh.date) FROM RoomStatusHistory rsh")
+    LocalDate findOldestDate();
+
+    // Rows of a date range to move into the archive, with their rooms
+    @Query("SELECT rsh FROM RoomStatusHistory rsh JOIN FETCH rsh.room WHERE rsh.date BETWEEN :startDate AND :endDate")
+    List<RoomStatusHistory> findForArchive(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // Find all status history within a date window, oldest change first (used to rebuild the availability index)
+    @Query("SELECT rsh FROM RoomStatusHistory rsh JOIN FETCH rsh.room WHERE rsh.date BETWEEN :startDate AND :endDate ORDER BY rsh.changedAt ASC, rsh.seq ASC")
+    List<RoomStatusHistory> findByDateBetweenOrderByChangedAtAsc(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
 }
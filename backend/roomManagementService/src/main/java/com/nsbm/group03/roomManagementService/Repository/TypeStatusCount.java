@@ -0,0 +1,16 @@
+package com.nsbm.group03.roomManagementService.Repository;
+
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+
+/**
+ * Projection for aggregate room counts grouped by room type and latest status
+ */
+public interface TypeStatusCount {
+
+    RoomType getRoomType();
+
+    RoomStatus getStatus();
+
+    long getRoomCount();
+}
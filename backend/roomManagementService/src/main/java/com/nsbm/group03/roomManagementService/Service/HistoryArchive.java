@@ -0,0 +1,237 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.nsbm.group03.roomManagementService.Entity.RoomStatusHistory;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Repository.RoomStatusHistoryRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Cold tier for room status history. Whole months older than the configured
+ * horizon are moved out of the room_status_history table into one
+ * HistorySegment file per month, so the table only holds the recent window.
+ *
+ * A month is written to a temporary file, forced to disk and atomically
+ * renamed before its rows are deleted; if the service dies in between, the
+ * next run merges the same rows into the segment again (duplicates are
+ * dropped) and then deletes them.
+ */
+@Component
+public class HistoryArchive {
+
+    private static final int DELETE_BATCH = 1000;
+
+    @Autowired
+    private RoomStatusHistoryRepository statusHistoryRepository;
+
+    private final Path directory;
+    private final int horizonDays;
+    private final TransactionTemplate transaction;
+    private final NavigableSet<YearMonth> months = new ConcurrentSkipListSet<>();
+    private final Map<YearMonth, HistorySegment> segments = new ConcurrentHashMap<>();
+
+    public HistoryArchive(PlatformTransactionManager transactionManager,
+            @Value("${room.history.archive.dir:history-archive}") String directory,
+            @Value("${room.history.archive.horizon-days:365}") int horizonDays) {
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.directory = Paths.get(directory);
+        this.horizonDays = Math.max(1, horizonDays);
+    }
+
+    // Pick up the segments already on disk
+    @PostConstruct
+    public void loadSegments() throws IOException {
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(p -> p.getFileName().toString())
+                    .filter(name -> name.startsWith("history-") && name.endsWith(".seg"))
+                    .map(name -> YearMonth.parse(name.substring("history-".length(), name.length() - ".seg".length())))
+                    .forEach(months::add);
+        }
+        System.out.println("[HistoryArchive] " + months.size() + " archived months in " + directory.toAbsolutePath());
+    }
+
+    /**
+     * Months strictly before this one are archived; it always lies before the horizon
+     */
+    public YearMonth getCutoffMonth() {
+        return YearMonth.from(LocalDate.now().minusDays(horizonDays));
+    }
+
+    // True when some archived month overlaps [from, to]
+    public boolean covers(LocalDate from, LocalDate to) {
+        return !months.subSet(YearMonth.from(from), true, YearMonth.from(to), true).isEmpty();
+    }
+
+    // ---------- archiving ----------
+
+    @Scheduled(cron = "${room.history.archive.cron:0 30 1 * * ?}") // nightly, after the history refresh
+    public void archiveOldHistory() {
+        LocalDate oldest = statusHistoryRepository.findOldestDate();
+        YearMonth cutoff = getCutoffMonth();
+        if (oldest == null || !YearMonth.from(oldest).isBefore(cutoff)) return;
+
+        int archived = 0;
+        for (YearMonth month = YearMonth.from(oldest); month.isBefore(cutoff); month = month.plusMonths(1)) {
+            archived += archiveMonth(month);
+        }
+        System.out.println("[Scheduled] archived " + archived + " status history rows older than " + cutoff);
+    }
+
+    /**
+     * Move every hot row of the month into its segment file and delete them from the table.
+     * Returns the number of rows moved.
+     */
+    public synchronized int archiveMonth(YearMonth month) {
+        List<RoomStatusHistory> hot = statusHistoryRepository.findForArchive(month.atDay(1), month.atEndOfMonth());
+        if (hot.isEmpty()) return 0;
+
+        List<HistorySegment.Row> rows = new ArrayList<>(segment(month).map(HistorySegment::readAll).orElse(List.of()));
+        List<String> ids = new ArrayList<>(hot.size());
+        for (RoomStatusHistory h : hot) {
+            rows.add(new HistorySegment.Row(h.getId(), h.getRoom().getRoomId(), h.getRoom().getRoomNumber(),
+                    h.getDate(), h.getStatus(), h.getChangedBy(), h.getChangedAt()));
+            ids.add(h.getId());
+        }
+
+        Path target = segmentFile(month);
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        try {
+            HistorySegment.write(month, rows, temp);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write history segment for " + month, e);
+        }
+        // Rename and evict inside compute, which holds the same per-month lock segment() opens under:
+        // no reader can map the old file after the rename and leave it cached
+        segments.compute(month, (m, cached) -> {
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write history segment for " + m, e);
+            }
+            return null;
+        });
+        months.add(month);
+
+        transaction.executeWithoutResult(status -> {
+            for (int i = 0; i < ids.size(); i += DELETE_BATCH) {
+                statusHistoryRepository.deleteAllByIdInBatch(ids.subList(i, Math.min(i + DELETE_BATCH, ids.size())));
+            }
+        });
+        return hot.size();
+    }
+
+    // ---------- reads ----------
+
+    // Archived rows of a room between two dates (inclusive), newest first
+    public List<HistorySegment.Row> findByRoom(String roomId, LocalDate from, LocalDate to) {
+        List<HistorySegment.Row> result = new ArrayList<>();
+        for (YearMonth month : monthsBetween(from, to)) {
+            for (HistorySegment.Row row : segment(month).map(s -> s.readRoom(roomId)).orElse(List.of())) {
+                if (!row.date().isBefore(from) && !row.date().isAfter(to)) {
+                    result.add(row);
+                }
+            }
+        }
+        result.sort(HistorySegment.NEWEST_FIRST);
+        return result;
+    }
+
+    // Every archived row of a room, newest first
+    public List<HistorySegment.Row> findByRoom(String roomId) {
+        if (months.isEmpty()) return List.of();
+        return findByRoom(roomId, months.first().atDay(1), months.last().atEndOfMonth());
+    }
+
+    /**
+     * Archived rows of a room older than {@code before} (a keyset position), newest first,
+     * reading months newest first and stopping once {@code limit} rows are collected
+     */
+    public List<HistorySegment.Row> findByRoomBefore(String roomId, Predicate<HistorySegment.Row> before,
+            LocalDate upTo, int limit) {
+        List<HistorySegment.Row> result = new ArrayList<>();
+        for (YearMonth month : months.headSet(YearMonth.from(upTo), true).descendingSet()) {
+            List<HistorySegment.Row> rows = new ArrayList<>(
+                    segment(month).map(s -> s.readRoom(roomId)).orElse(List.of()));
+            rows.removeIf(before.negate());
+            rows.sort(HistorySegment.NEWEST_FIRST);
+            result.addAll(rows);
+            // months never overlap, so older months cannot rank ahead of what we already have
+            if (result.size() >= limit) break;
+        }
+        return result.size() > limit ? result.subList(0, limit) : result;
+    }
+
+    // Archived rows of all rooms on a date, newest change first
+    public List<HistorySegment.Row> findByDate(LocalDate date, RoomStatus status) {
+        List<HistorySegment.Row> rows = segment(YearMonth.from(date))
+                .map(s -> s.readAll(status, row -> row.date().equals(date)))
+                .orElse(new ArrayList<>());
+        rows.sort(HistorySegment.NEWEST_FIRST);
+        return rows;
+    }
+
+    // Archived rows with a status across every month, newest first
+    public List<HistorySegment.Row> findByStatus(RoomStatus status) {
+        List<HistorySegment.Row> result = new ArrayList<>();
+        for (YearMonth month : months.descendingSet()) {
+            segment(month).ifPresent(s -> result.addAll(s.readAll(status, row -> true)));
+        }
+        result.sort(HistorySegment.NEWEST_FIRST);
+        return result;
+    }
+
+    public List<YearMonth> getArchivedMonths() {
+        return new ArrayList<>(months);
+    }
+
+    // Every archived row of a month
+    public List<HistorySegment.Row> findByMonth(YearMonth month) {
+        return segment(month).map(HistorySegment::readAll).orElse(List.of());
+    }
+
+    private List<YearMonth> monthsBetween(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) return List.of();
+        return new ArrayList<>(months.subSet(YearMonth.from(from), true, YearMonth.from(to), true));
+    }
+
+    // Mapped segment for a month, opened on first use
+    private java.util.Optional<HistorySegment> segment(YearMonth month) {
+        if (!months.contains(month)) return java.util.Optional.empty();
+        return java.util.Optional.of(segments.computeIfAbsent(month, m -> {
+            try {
+                return HistorySegment.open(m, segmentFile(m));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to open history segment for " + m, e);
+            }
+        }));
+    }
+
+    private Path segmentFile(YearMonth month) {
+        return directory.resolve("history-" + month + ".seg");
+    }
+}
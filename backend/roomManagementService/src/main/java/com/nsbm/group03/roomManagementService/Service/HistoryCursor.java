@@ -0,0 +1,37 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import com.nsbm.group03.roomManagementService.Entity.RoomStatusHistory;
+
+/**
+ * Opaque keyset cursor over (date, changedAt, id), encoded as URL-safe Base64
+ */
+public record HistoryCursor(LocalDate date, LocalDateTime changedAt, String id) {
+
+    public static HistoryCursor of(RoomStatusHistory history) {
+        return new HistoryCursor(history.getDate(), history.getChangedAt(), history.getId());
+    }
+
+    public String encode() {
+        String raw = date + "|" + changedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Decode a cursor token; throws IllegalArgumentException for malformed tokens
+    public static HistoryCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+            return new HistoryCursor(LocalDate.parse(parts[0]), LocalDateTime.parse(parts[1]), parts[2]);
+        } catch (java.time.format.DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.nsbm.group03.roomManagementService.Dto.HistoryJobReportDTO;
+import com.nsbm.group03.roomManagementService.Entity.HistoryJobRun;
+import com.nsbm.group03.roomManagementService.Entity.Room;
+import com.nsbm.group03.roomManagementService.Enum.HistoryJobStatus;
+import com.nsbm.group03.roomManagementService.Repository.HistoryJobProgressRepository;
+import com.nsbm.group03.roomManagementService.Repository.HistoryJobRunRepository;
+
+/**
+ * Nightly job keeping WINDOW_DAYS of status history ahead for every room.
+ * Rooms are split into chunks ordered by roomId; chunks run on a bounded pool of
+ * virtual threads and each chunk commits in its own transaction. That transaction also
+ * records the chunk's rooms and bumps the run's counters (HistoryJobProgressRepository),
+ * so a run left RUNNING by a crash is picked up again on startup and exactly the rooms
+ * not yet done are re-chunked and redone. Completion is kept per room rather than per
+ * chunk because chunk boundaries move when rooms are added or removed between the
+ * crash and the resume. Chunks share no in-memory state, so they take no lock.
+ */
+@Service
+public class HistoryRefreshJob implements DisposableBean {
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private HistoryJobRunRepository runRepository;
+
+    @Autowired
+    private HistoryJobProgressRepository progressRepository;
+
+    private final TransactionTemplate chunkTransaction;
+    private final ExecutorService executor;
+    private final int chunkSize;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public HistoryRefreshJob(PlatformTransactionManager transactionManager,
+            @Value("${room.history.job.chunk-size:200}") int chunkSize,
+            @Value("${room.history.job.parallelism:4}") int parallelism) {
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+        // parallelism bounds concurrent chunks, and so the number of pooled connections the job holds
+        this.executor = Executors.newFixedThreadPool(Math.max(1, parallelism),
+                Thread.ofVirtual().name("history-job-", 0).factory());
+    }
+
+    @Scheduled(cron = "${room.history.job.cron:0 0 0 * * ?}") // every midnight
+    public void refreshHistory() {
+        HistoryJobRun run = new HistoryJobRun();
+        run.setStatus(HistoryJobStatus.RUNNING);
+        run.setStartedAt(LocalDateTime.now());
+        execute(run);
+    }
+
+    // Resume a run that was still RUNNING when the service went down
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedRun() {
+        HistoryJobRun run = runRepository.findFirstByStatusOrderByStartedAtDesc(HistoryJobStatus.RUNNING);
+        if (run == null) return;
+        run.setResumeCount(run.getResumeCount() + 1);
+        System.out.println("[HistoryJob] resuming run " + run.getId() + " with "
+                + progressRepository.findCompletedRooms(run.getId()).size() + " rooms already committed");
+        Thread.ofVirtual().name("history-job-resume").start(() -> execute(run));
+    }
+
+    /**
+     * Get the report of the most recent run, or null when the job has never run
+     */
+    public HistoryJobReportDTO getLastRunReport() {
+        HistoryJobRun run = runRepository.findFirstByOrderByStartedAtDesc();
+        if (run == null) return null;
+        return new HistoryJobReportDTO(run.getId(), run.getStatus(), run.getStartedAt(), run.getFinishedAt(),
+                run.getDurationMs(), run.getTotalRooms(), run.getTotalChunks(), run.getCompletedChunkCount(),
+                run.getFailedChunks(), run.getRowsWritten(), run.getResumeCount(), run.getLastError());
+    }
+
+    private void execute(HistoryJobRun run) {
+        if (!running.compareAndSet(false, true)) {
+            System.out.println("[HistoryJob] previous run still in progress, skipping");
+            return;
+        }
+        try {
+            long started = System.nanoTime();
+            List<Room> rooms = new ArrayList<>(roomService.getAllRooms());
+            rooms.sort(Comparator.comparing(Room::getRoomId));
+            Set<String> completed = progressRepository.findCompletedRooms(run.getId());
+            List<Room> remaining = new ArrayList<>();
+            for (Room room : rooms) {
+                if (!completed.contains(room.getRoomId())) remaining.add(room);
+            }
+
+            List<List<Room>> chunks = new ArrayList<>();
+            for (int i = 0; i < remaining.size(); i += chunkSize) {
+                chunks.add(remaining.subList(i, Math.min(i + chunkSize, remaining.size())));
+            }
+            run.setTotalRooms(rooms.size());
+            run.setTotalChunks(run.getCompletedChunkCount() + chunks.size());
+            run.setFailedChunks(0);
+            HistoryJobRun saved = runRepository.save(run);
+
+            List<Future<?>> pending = new ArrayList<>();
+            for (List<Room> chunk : chunks) {
+                pending.add(executor.submit(() -> processChunk(saved, chunk)));
+            }
+            for (Future<?> f : pending) {
+                try {
+                    f.get();
+                } catch (Exception e) {
+                    // processChunk records its own failures
+                }
+            }
+
+            // the counters were moved in the database by the chunks, so finish from a fresh copy
+            HistoryJobRun finished = runRepository.findById(saved.getId()).orElse(saved);
+            finished.setStatus(finished.getFailedChunks() == 0
+                    ? HistoryJobStatus.COMPLETED : HistoryJobStatus.COMPLETED_WITH_FAILURES);
+            finished.setFinishedAt(LocalDateTime.now());
+            finished.setDurationMs(finished.getDurationMs() + (System.nanoTime() - started) / 1_000_000);
+            runRepository.save(finished);
+            roomService.rebuildAvailabilityIndex();
+            System.out.println("[Scheduled] room status history refreshed for " + rooms.size() + " rooms in "
+                    + chunks.size() + " chunks, " + finished.getRowsWritten() + " rows, "
+                    + finished.getFailedChunks() + " failed chunks");
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // Generate one chunk and record it on the run, committing both together
+    private void processChunk(HistoryJobRun run, List<Room> chunk) {
+        String key = chunk.get(0).getRoomId();
+        try {
+            chunkTransaction.executeWithoutResult(status -> {
+                int written = roomService.generateHistoryForRooms(chunk, RoomAvailabilityIndex.WINDOW_DAYS);
+                progressRepository.chunkCompleted(run.getId(), chunk.stream().map(Room::getRoomId).toList(), written);
+            });
+        } catch (RuntimeException e) {
+            System.out.println("[HistoryJob] chunk starting at room " + key + " failed: " + e.getMessage());
+            String error = "Chunk " + key + ": " + e.getMessage();
+            progressRepository.chunkFailed(run.getId(), error.length() > 1000 ? error.substring(0, 1000) : error);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,384 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+
+/**
+ * One month of archived status history, stored column-wise per room.
+ *
+ * <pre>
+ * header     magic "RSHA", version, year, month
+ * dictionary status names, changedBy values
+ * directory  per room: roomId, roomNumber, status bitmask, row count, block offset/length
+ * blocks     per room, deflated: day, status and changedBy columns run-length encoded,
+ *            changedAt as zigzag varint millisecond deltas
+ * </pre>
+ *
+ * The file is memory-mapped read-only; only the directory is parsed up front
+ * and a room's block is inflated when that room is read.
+ */
+public final class HistorySegment {
+
+    private static final int MAGIC = 0x52534841; // "RSHA"
+    private static final short VERSION = 1;
+
+    // One archived history row; ids are synthetic since the hot-table UUIDs are not kept
+    public record Row(String id, String roomId, String roomNumber, LocalDate date, RoomStatus status,
+            String changedBy, LocalDateTime changedAt) {
+
+        // Identity used to de-duplicate when a month is archived again; changedAt is cut to the
+        // milliseconds a segment stores, so a hot row matches its already archived copy
+        String key() {
+            return roomId + "|" + date + "|" + changedAt.truncatedTo(ChronoUnit.MILLIS) + "|" + status + "|" + changedBy;
+        }
+    }
+
+    public static final Comparator<Row> NEWEST_FIRST = Comparator.comparing(Row::date)
+            .thenComparing(Row::changedAt)
+            .thenComparing(Row::id)
+            .reversed();
+
+    private record RoomEntry(String roomId, String roomNumber, int statusMask, int rowCount, int offset, int length) {
+    }
+
+    private final YearMonth month;
+    private final MappedByteBuffer buffer;
+    private final String[] statuses;
+    private final String[] changedBy;
+    private final Map<String, RoomEntry> rooms = new LinkedHashMap<>();
+    private final int dataStart;
+
+    private HistorySegment(YearMonth month, MappedByteBuffer buffer) {
+        this.month = month;
+        this.buffer = buffer;
+        ByteBuffer in = buffer.duplicate();
+        if (in.getInt() != MAGIC) {
+            throw new IllegalStateException("Not a history segment: " + month);
+        }
+        short version = in.getShort();
+        if (version != VERSION) {
+            throw new IllegalStateException("Unsupported history segment version " + version + " for " + month);
+        }
+        in.getShort(); // year
+        in.get();      // month
+        this.statuses = readDictionary(in);
+        this.changedBy = readDictionary(in);
+        int roomCount = readVarint(in);
+        for (int i = 0; i < roomCount; i++) {
+            RoomEntry entry = new RoomEntry(readString(in), readString(in), in.get() & 0xFF,
+                    readVarint(in), readVarint(in), readVarint(in));
+            rooms.put(entry.roomId(), entry);
+        }
+        this.dataStart = in.position();
+    }
+
+    /**
+     * Map an existing segment file
+     */
+    public static HistorySegment open(YearMonth month, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new HistorySegment(month, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    public int getRoomCount() {
+        return rooms.size();
+    }
+
+    // Rows of one room, oldest first; empty when the room has no history this month
+    public List<Row> readRoom(String roomId) {
+        RoomEntry entry = rooms.get(roomId);
+        return entry == null ? List.of() : decode(entry);
+    }
+
+    // Rows of every room matching the filter; blocks of rooms that never had the status are skipped
+    public List<Row> readAll(RoomStatus status, Predicate<Row> filter) {
+        List<Row> result = new ArrayList<>();
+        for (RoomEntry entry : rooms.values()) {
+            if (status != null && (entry.statusMask() & (1 << status.ordinal())) == 0) continue;
+            for (Row row : decode(entry)) {
+                if ((status == null || row.status() == status) && filter.test(row)) {
+                    result.add(row);
+                }
+            }
+        }
+        return result;
+    }
+
+    public List<Row> readAll() {
+        return readAll(null, row -> true);
+    }
+
+    private List<Row> decode(RoomEntry entry) {
+        byte[] compressed = new byte[entry.length()];
+        buffer.slice(dataStart + entry.offset(), entry.length()).get(compressed);
+        ByteBuffer in = ByteBuffer.wrap(inflate(compressed));
+
+        int n = entry.rowCount();
+        int[] days = readRuns(in, n, true);
+        int[] statusCodes = readRuns(in, n, false);
+        int[] changedByCodes = readRuns(in, n, false);
+
+        long base = month.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+        List<Row> rows = new ArrayList<>(n);
+        long millis = base;
+        for (int i = 0; i < n; i++) {
+            millis += unzigzag(readVarlong(in));
+            LocalDate date = month.atDay(days[i]);
+            LocalDateTime changedAt = LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000L),
+                    (int) Math.floorMod(millis, 1000L) * 1_000_000, ZoneOffset.UTC);
+            String id = "archived-" + entry.roomId() + "-" + date + "-" + i;
+            rows.add(new Row(id, entry.roomId(), entry.roomNumber(), date,
+                    RoomStatus.valueOf(statuses[statusCodes[i]]), changedBy[changedByCodes[i]], changedAt));
+        }
+        return rows;
+    }
+
+    // ---------- writing ----------
+
+    /**
+     * Write a segment for the given month to {@code file}, replacing it.
+     * Rows outside the month are rejected; duplicates (same key) are written once.
+     */
+    public static void write(YearMonth month, Iterable<Row> rows, Path file) throws IOException {
+        Map<String, List<Row>> byRoom = new TreeMap<>();
+        Map<String, String> roomNumbers = new TreeMap<>();
+        Map<String, Integer> statusCodes = new LinkedHashMap<>();
+        Map<String, Integer> changedByCodes = new LinkedHashMap<>();
+        java.util.Set<String> seen = new java.util.HashSet<>();
+
+        for (Row row : rows) {
+            if (!YearMonth.from(row.date()).equals(month)) {
+                throw new IllegalArgumentException("Row dated " + row.date() + " does not belong to segment " + month);
+            }
+            if (!seen.add(row.key())) continue;
+            byRoom.computeIfAbsent(row.roomId(), k -> new ArrayList<>()).add(row);
+            roomNumbers.putIfAbsent(row.roomId(), row.roomNumber());
+            statusCodes.putIfAbsent(row.status().name(), statusCodes.size());
+            changedByCodes.putIfAbsent(row.changedBy(), changedByCodes.size());
+        }
+
+        ByteArrayOutputStream directory = new ByteArrayOutputStream();
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        long base = month.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+
+        writeVarint(directory, byRoom.size());
+        for (Map.Entry<String, List<Row>> e : byRoom.entrySet()) {
+            List<Row> roomRows = e.getValue();
+            roomRows.sort(NEWEST_FIRST.reversed());
+
+            int n = roomRows.size();
+            int[] days = new int[n];
+            int[] statusColumn = new int[n];
+            int[] changedByColumn = new int[n];
+            int statusMask = 0;
+            ByteArrayOutputStream changedAtColumn = new ByteArrayOutputStream();
+            long previous = base;
+            for (int i = 0; i < n; i++) {
+                Row row = roomRows.get(i);
+                days[i] = row.date().getDayOfMonth();
+                statusColumn[i] = statusCodes.get(row.status().name());
+                changedByColumn[i] = changedByCodes.get(row.changedBy());
+                statusMask |= 1 << row.status().ordinal();
+                long millis = row.changedAt().truncatedTo(ChronoUnit.MILLIS).toInstant(ZoneOffset.UTC).toEpochMilli();
+                writeVarlong(changedAtColumn, zigzag(millis - previous));
+                previous = millis;
+            }
+
+            ByteArrayOutputStream block = new ByteArrayOutputStream();
+            writeRuns(block, days, true);
+            writeRuns(block, statusColumn, false);
+            writeRuns(block, changedByColumn, false);
+            changedAtColumn.writeTo(block);
+            byte[] compressed = deflate(block.toByteArray());
+
+            writeString(directory, e.getKey());
+            writeString(directory, roomNumbers.get(e.getKey()));
+            directory.write(statusMask);
+            writeVarint(directory, n);
+            writeVarint(directory, data.size());
+            writeVarint(directory, compressed.length);
+            data.write(compressed);
+        }
+
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        ByteBuffer fixed = ByteBuffer.allocate(9);
+        fixed.putInt(MAGIC).putShort(VERSION).putShort((short) month.getYear()).put((byte) month.getMonthValue());
+        header.write(fixed.array());
+        writeDictionary(header, statusCodes);
+        writeDictionary(header, changedByCodes);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.wrap(header.toByteArray()));
+            channel.write(ByteBuffer.wrap(directory.toByteArray()));
+            channel.write(ByteBuffer.wrap(data.toByteArray()));
+            channel.force(true);
+        }
+    }
+
+    // ---------- run-length columns ----------
+
+    // Runs of (value, length); day columns store the delta to the previous day so a daily series is one run
+    private static void writeRuns(OutputStream out, int[] values, boolean delta) throws IOException {
+        int i = 0;
+        int previous = 0;
+        while (i < values.length) {
+            int value = delta ? values[i] - previous : values[i];
+            int run = 1;
+            while (i + run < values.length
+                    && (delta ? values[i + run] - values[i + run - 1] : values[i + run]) == value) {
+                run++;
+            }
+            writeVarint(out, value);
+            writeVarint(out, run);
+            previous = values[i + run - 1];
+            i += run;
+        }
+    }
+
+    private static int[] readRuns(ByteBuffer in, int count, boolean delta) {
+        int[] values = new int[count];
+        int i = 0;
+        int previous = 0;
+        while (i < count) {
+            int value = readVarint(in);
+            int run = readVarint(in);
+            for (int r = 0; r < run; r++) {
+                previous = delta ? previous + value : value;
+                values[i++] = previous;
+            }
+        }
+        return values;
+    }
+
+    // ---------- primitives ----------
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 16);
+            byte[] chunk = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] compressed) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 4);
+            byte[] chunk = new byte[4096];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(chunk);
+                if (n == 0 && inflater.needsInput()) {
+                    throw new IllegalStateException("Truncated history segment block");
+                }
+                out.write(chunk, 0, n);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt history segment block", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void writeDictionary(OutputStream out, Map<String, Integer> codes) throws IOException {
+        writeVarint(out, codes.size());
+        for (String value : codes.keySet()) {
+            writeString(out, value);
+        }
+    }
+
+    private static String[] readDictionary(ByteBuffer in) {
+        String[] values = new String[readVarint(in)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = readString(in);
+        }
+        return values;
+    }
+
+    private static void writeString(OutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[readVarint(in)];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeVarint(OutputStream out, int value) throws IOException {
+        writeVarlong(out, value & 0xFFFFFFFFL);
+    }
+
+    private static int readVarint(ByteBuffer in) {
+        return (int) readVarlong(in);
+    }
+
+    private static void writeVarlong(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarlong(ByteBuffer in) {
+        long result = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            result |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return result;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
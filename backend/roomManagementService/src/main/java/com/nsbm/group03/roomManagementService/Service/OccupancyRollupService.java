@@ -0,0 +1,205 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.nsbm.group03.roomManagementService.Dto.OccupancyDTO;
+import com.nsbm.group03.roomManagementService.Entity.Room;
+import com.nsbm.group03.roomManagementService.Entity.RoomOccupancyDaily;
+import com.nsbm.group03.roomManagementService.Enum.OccupancyGranularity;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+import com.nsbm.group03.roomManagementService.Repository.RoomOccupancyDailyBatchRepository;
+import com.nsbm.group03.roomManagementService.Repository.RoomOccupancyDailyRepository;
+import com.nsbm.group03.roomManagementService.Repository.RoomRepository;
+import com.nsbm.group03.roomManagementService.Repository.RoomStatusHistoryRepository;
+
+/**
+ * Maintains the RoomOccupancyDaily rollups and answers occupancy analytics from them.
+ * RoomService reports every history change as a (date, type, from, to) move;
+ * a query then reads at most one row per type per day instead of the history.
+ */
+@Service
+public class OccupancyRollupService {
+
+    // ten years of daily buckets is still only ~11k rollup rows
+    private static final long MAX_RANGE_DAYS = 3660;
+
+    @Autowired
+    private RoomOccupancyDailyRepository dailyRepository;
+
+    @Autowired
+    private RoomOccupancyDailyBatchRepository dailyBatchRepository;
+
+    @Autowired
+    private RoomStatusHistoryRepository statusHistoryRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private HistoryArchive historyArchive;
+
+    /**
+     * Status moves collected for one change set, so each (date, type) is written once
+     */
+    public static final class Delta {
+
+        private final Map<LocalDate, Map<RoomType, long[]>> counts = new TreeMap<>();
+
+        // A room of the type moved from one status to another on the date; from is null for a new day
+        public Delta move(LocalDate date, RoomType type, RoomStatus from, RoomStatus to) {
+            if (from == to) return this;
+            long[] c = counts.computeIfAbsent(date, d -> new EnumMap<>(RoomType.class))
+                    .computeIfAbsent(type, t -> new long[RoomStatus.values().length]);
+            if (from != null) c[from.ordinal()]--;
+            if (to != null) c[to.ordinal()]++;
+            return this;
+        }
+
+        public boolean isEmpty() {
+            return counts.isEmpty();
+        }
+    }
+
+    // Apply a single change immediately
+    public void statusChanged(LocalDate date, RoomType type, RoomStatus from, RoomStatus to) {
+        apply(new Delta().move(date, type, from, to));
+    }
+
+    // Write a change set; joins the caller's transaction when there is one
+    public void apply(Delta delta) {
+        delta.counts.forEach((date, byType) -> byType.forEach((type, c) -> {
+            if (c[0] != 0 || c[1] != 0 || c[2] != 0) {
+                dailyBatchRepository.increment(date, type, c[RoomStatus.AVAILABLE.ordinal()],
+                        c[RoomStatus.OCCUPIED.ordinal()], c[RoomStatus.MAINTENANCE.ordinal()]);
+            }
+        }));
+    }
+
+    /**
+     * Remove a room from the rollups from a date onward (used before the room is deleted;
+     * earlier days keep counting it, as the room did exist then)
+     */
+    public void roomRemoved(Room room, LocalDate fromDate) {
+        Delta delta = new Delta();
+        for (Object[] row : statusHistoryRepository.findLatestStatusPerDateFrom(room, fromDate)) {
+            delta.move((LocalDate) row[0], room.getRoomType(), (RoomStatus) row[1], null);
+        }
+        apply(delta);
+    }
+
+    // ---------- rebuild ----------
+
+    // Seed the rollups from existing history the first time the service starts with this table
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (dailyRepository.count() == 0 && statusHistoryRepository.count() > 0) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Recompute every rollup from the history table and the archive.
+     * Archived rows of rooms that no longer exist are skipped, as their type is unknown.
+     */
+    @Transactional
+    public void rebuild() {
+        Map<LocalDate, Map<RoomType, long[]>> totals = new TreeMap<>();
+        for (Object[] row : statusHistoryRepository.countLatestStatusByDateAndRoomType()) {
+            totals.computeIfAbsent((LocalDate) row[0], d -> new EnumMap<>(RoomType.class))
+                    .computeIfAbsent((RoomType) row[1], t -> new long[RoomStatus.values().length])
+                    [((RoomStatus) row[2]).ordinal()] += ((Number) row[3]).longValue();
+        }
+
+        Map<String, RoomType> roomTypes = new HashMap<>();
+        for (Room room : roomRepository.findAll()) {
+            roomTypes.put(room.getRoomId(), room.getRoomType());
+        }
+        for (YearMonth month : historyArchive.getArchivedMonths()) {
+            // latest archived entry per (room, date)
+            Map<String, HistorySegment.Row> latest = new HashMap<>();
+            for (HistorySegment.Row row : historyArchive.findByMonth(month)) {
+                latest.merge(row.roomId() + "|" + row.date(), row,
+                        (a, b) -> b.changedAt().isAfter(a.changedAt()) ? b : a);
+            }
+            for (HistorySegment.Row row : latest.values()) {
+                RoomType type = roomTypes.get(row.roomId());
+                if (type == null) continue;
+                totals.computeIfAbsent(row.date(), d -> new EnumMap<>(RoomType.class))
+                        .computeIfAbsent(type, t -> new long[RoomStatus.values().length])
+                        [row.status().ordinal()]++;
+            }
+        }
+
+        List<RoomOccupancyDaily> rows = new ArrayList<>();
+        totals.forEach((date, byType) -> byType.forEach((type, c) -> rows.add(new RoomOccupancyDaily(null, date, type,
+                c[RoomStatus.AVAILABLE.ordinal()], c[RoomStatus.OCCUPIED.ordinal()], c[RoomStatus.MAINTENANCE.ordinal()]))));
+        dailyBatchRepository.replaceAll(rows);
+        System.out.println("[Occupancy] rebuilt " + rows.size() + " daily rollups at " + LocalDateTime.now());
+    }
+
+    // ---------- analytics ----------
+
+    /**
+     * Occupancy per room type for each day, ISO week or month between from and to (inclusive).
+     * Periods are clipped to the requested range.
+     */
+    public List<OccupancyDTO> getOccupancy(LocalDate from, LocalDate to, OccupancyGranularity granularity) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from " + from + " is after to " + to);
+        }
+        if (ChronoUnit.DAYS.between(from, to) > MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Range longer than " + MAX_RANGE_DAYS + " days");
+        }
+
+        Map<LocalDate, Map<RoomType, long[]>> buckets = new TreeMap<>();
+        for (RoomOccupancyDaily day : dailyRepository.findByDateBetweenOrderByDateAsc(from, to)) {
+            long[] c = buckets.computeIfAbsent(periodStart(day.getDate(), granularity, from),
+                    d -> new EnumMap<>(RoomType.class)).computeIfAbsent(day.getRoomType(), t -> new long[3]);
+            c[0] += day.getAvailable();
+            c[1] += day.getOccupied();
+            c[2] += day.getMaintenance();
+        }
+
+        List<OccupancyDTO> result = new ArrayList<>();
+        buckets.forEach((start, byType) -> {
+            LocalDate end = periodEnd(start, granularity);
+            LocalDate clippedEnd = end.isAfter(to) ? to : end;
+            byType.forEach((type, c) -> result.add(new OccupancyDTO(start, clippedEnd, type, c[0], c[1], c[2])));
+        });
+        return result;
+    }
+
+    private static LocalDate periodStart(LocalDate date, OccupancyGranularity granularity, LocalDate from) {
+        LocalDate start = switch (granularity) {
+            case DAY -> date;
+            case WEEK -> date.with(DayOfWeek.MONDAY);
+            case MONTH -> date.withDayOfMonth(1);
+        };
+        return start.isBefore(from) ? from : start;
+    }
+
+    private static LocalDate periodEnd(LocalDate start, OccupancyGranularity granularity) {
+        return switch (granularity) {
+            case DAY -> start;
+            case WEEK -> start.with(DayOfWeek.SUNDAY);
+            case MONTH -> YearMonth.from(start).atEndOfMonth();
+        };
+    }
+}
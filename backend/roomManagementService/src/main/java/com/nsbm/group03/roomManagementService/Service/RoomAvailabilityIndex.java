@@ -0,0 +1,175 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+import com.nsbm.group03.roomManagementService.Dto.RoomAvailabilityDTO;
+import com.nsbm.group03.roomManagementService.Entity.Room;
+import com.nsbm.group03.roomManagementService.Entity.RoomStatusHistory;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+
+/**
+ * In-memory availability index over the rolling history window.
+ * Each room keeps one bitset where bit i is set when the room is AVAILABLE
+ * on (windowStart + i), so a date-range search is a word-wise AND per room
+ * instead of one history query per night.
+ */
+@Component
+public class RoomAvailabilityIndex {
+
+    public static final int WINDOW_DAYS = 30;
+    private static final int WORDS = (WINDOW_DAYS + 63) / 64;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Entry> entries = new HashMap<>();
+    private LocalDate windowStart = LocalDate.now();
+
+    // Per-room bitset plus the fields needed to answer a search without a database hit
+    private static final class Entry {
+        private final String roomNumber;
+        private final RoomType roomType;
+        private final double pricePerNight;
+        private final long[] available = new long[WORDS];
+
+        private Entry(Room room) {
+            this.roomNumber = room.getRoomNumber();
+            this.roomType = room.getRoomType();
+            this.pricePerNight = room.getPricePerNight();
+        }
+    }
+
+    /**
+     * Replace the whole index with the given history rows.
+     * Rows must be ordered by changedAt ascending so the latest change for a date wins.
+     */
+    public void rebuild(LocalDate start, List<Room> rooms, List<RoomStatusHistory> history) {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            windowStart = start;
+            for (Room room : rooms) {
+                entries.put(room.getRoomNumber(), new Entry(room));
+            }
+            for (RoomStatusHistory h : history) {
+                applyLocked(h.getRoom(), h.getDate(), h.getStatus());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Record a status change for a room on a date; dates outside the window are ignored
+    public void apply(Room room, LocalDate date, RoomStatus status) {
+        lock.writeLock().lock();
+        try {
+            applyLocked(room, date, status);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Drop a room from the index (e.g. after it has been deleted)
+    public void remove(String roomNumber) {
+        lock.writeLock().lock();
+        try {
+            entries.remove(roomNumber);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public LocalDate getWindowStart() {
+        lock.readLock().lock();
+        try {
+            return windowStart;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // True when every night in [from, to) falls inside the indexed window
+    public boolean covers(LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            return coversLocked(from, to);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rooms that are AVAILABLE on every night from {@code from} (inclusive)
+     * to {@code to} (exclusive, i.e. the check-out date), optionally filtered by type.
+     */
+    public List<RoomAvailabilityDTO> findAvailable(LocalDate from, LocalDate to, RoomType type) {
+        lock.readLock().lock();
+        try {
+            if (!coversLocked(from, to)) {
+                throw new IllegalArgumentException("Date range " + from + " to " + to
+                        + " is outside the availability window starting " + windowStart);
+            }
+            long[] mask = rangeMask((int) ChronoUnit.DAYS.between(windowStart, from),
+                    (int) ChronoUnit.DAYS.between(windowStart, to));
+
+            List<RoomAvailabilityDTO> result = new ArrayList<>();
+            for (Entry e : entries.values()) {
+                if (type != null && e.roomType != type) continue;
+                if (containsAll(e.available, mask)) {
+                    result.add(new RoomAvailabilityDTO(e.roomNumber, e.roomType, e.pricePerNight));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean coversLocked(LocalDate from, LocalDate to) {
+        return from.isBefore(to)
+                && !from.isBefore(windowStart)
+                && !to.isAfter(windowStart.plusDays(WINDOW_DAYS));
+    }
+
+    private void applyLocked(Room room, LocalDate date, RoomStatus status) {
+        long offset = ChronoUnit.DAYS.between(windowStart, date);
+        if (offset < 0 || offset >= WINDOW_DAYS) return;
+
+        Entry entry = entries.computeIfAbsent(room.getRoomNumber(), k -> new Entry(room));
+        int word = (int) offset >>> 6;
+        long bit = 1L << (offset & 63);
+        if (status == RoomStatus.AVAILABLE) {
+            entry.available[word] |= bit;
+        } else {
+            entry.available[word] &= ~bit;
+        }
+    }
+
+    // Mask with bits [fromBit, toBit) set
+    private static long[] rangeMask(int fromBit, int toBit) {
+        long[] mask = new long[WORDS];
+        for (int w = 0; w < WORDS; w++) {
+            int lo = Math.max(fromBit, w << 6);
+            int hi = Math.min(toBit, (w + 1) << 6);
+            if (lo >= hi) continue;
+            long upper = (hi - (w << 6)) == 64 ? -1L : (1L << (hi - (w << 6))) - 1;
+            long lower = (1L << (lo - (w << 6))) - 1;
+            mask[w] = upper & ~lower;
+        }
+        return mask;
+    }
+
+    private static boolean containsAll(long[] bits, long[] mask) {
+        for (int w = 0; w < WORDS; w++) {
+            if ((bits[w] & mask[w]) != mask[w]) return false;
+        }
+        return true;
+    }
+}
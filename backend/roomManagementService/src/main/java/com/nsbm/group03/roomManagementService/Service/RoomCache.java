@@ -0,0 +1,87 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import java.util.function.Function;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.nsbm.group03.roomManagementService.Entity.Room;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+
+/**
+ * Near-cache of rooms keyed by room number, for reads only.
+ * Backed by whichever CacheManager is configured (Caffeine by default, see
+ * spring.cache.* in application.yaml), so it can be swapped for a distributed cache.
+ * Used programmatically because most lookups are internal calls within RoomService,
+ * which annotation-driven caching would not intercept.
+ * <p>
+ * Entries are immutable snapshots and every hit returns a fresh detached Room, so callers
+ * never share an instance. Writes and deletes load the managed entity from the repository
+ * instead. Misses are not cached, so a room created elsewhere is seen on the next lookup.
+ */
+@Component
+public class RoomCache {
+
+    public static final String ROOMS_BY_NUMBER = "roomsByNumber";
+
+    // What is cached for a room; the status history is never part of it
+    record Snapshot(String roomId, String roomNumber, RoomType roomType, double pricePerNight, int capacity,
+            RoomStatus status, Long version) {
+
+        static Snapshot of(Room room) {
+            return new Snapshot(room.getRoomId(), room.getRoomNumber(), room.getRoomType(), room.getPricePerNight(),
+                    room.getCapacity(), room.getStatus(), room.getVersion());
+        }
+
+        Room toRoom() {
+            Room room = new Room(roomId, roomNumber, roomType, pricePerNight, capacity, status);
+            room.setVersion(version);
+            return room;
+        }
+    }
+
+    private final Cache cache;
+
+    public RoomCache(ObjectProvider<CacheManager> cacheManager) {
+        Cache configured = cacheManager.getIfAvailable(NoOpCacheManager::new).getCache(ROOMS_BY_NUMBER);
+        this.cache = configured != null ? configured : new NoOpCacheManager().getCache(ROOMS_BY_NUMBER);
+    }
+
+    // Get a copy of a room from the cache, loading and caching it through the loader on a miss
+    public Room get(String roomNumber, Function<String, Room> loader) {
+        if (roomNumber == null) return null;
+        Snapshot cached = cache.get(roomNumber, Snapshot.class);
+        if (cached != null) {
+            return cached.toRoom();
+        }
+        Room loaded = loader.apply(roomNumber);
+        if (loaded != null) {
+            cache.put(roomNumber, Snapshot.of(loaded));
+        }
+        return loaded;
+    }
+
+    // Cache a room once the surrounding transaction commits (right away outside one)
+    public void putAfterCommit(Room room) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.put(room.getRoomNumber(), Snapshot.of(room));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.put(room.getRoomNumber(), Snapshot.of(room));
+            }
+        });
+    }
+
+    public void evict(String roomNumber) {
+        cache.evict(roomNumber);
+    }
+}
@@ -0,0 +1,155 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.imageio.ImageIO;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Service;
+
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+
+/**
+ * Resolves room type images on disk and produces the validators (ETag, Last-Modified)
+ * and Cache-Control used to serve them. Optionally keeps a small LRU of
+ * pre-encoded JPEG thumbnails keyed by room type.
+ */
+@Service
+public class RoomImageService {
+
+    private final RoomService roomService;
+    private final CacheControl cacheControl;
+    private final boolean thumbnailCacheEnabled;
+    private final int thumbnailWidth;
+    private final Map<RoomType, Thumbnail> thumbnails;
+    private final long pathCacheTtlNanos;
+    // room type -> image path, so revalidations do not go to the database
+    private final Map<RoomType, CachedPath> imagePaths = new ConcurrentHashMap<>();
+
+    public RoomImageService(RoomService roomService,
+            @Value("${room.images.cache-max-age:1h}") Duration cacheMaxAge,
+            @Value("${room.images.thumbnail-cache.enabled:true}") boolean thumbnailCacheEnabled,
+            @Value("${room.images.thumbnail-cache.max-entries:16}") int thumbnailCacheMaxEntries,
+            @Value("${room.images.thumbnail-width:320}") int thumbnailWidth,
+            @Value("${room.images.path-cache-ttl:5m}") Duration pathCacheTtl) {
+        this.roomService = roomService;
+        this.cacheControl = CacheControl.maxAge(cacheMaxAge).cachePublic();
+        this.thumbnailCacheEnabled = thumbnailCacheEnabled;
+        this.thumbnailWidth = thumbnailWidth;
+        this.pathCacheTtlNanos = pathCacheTtl.toNanos();
+        this.thumbnails = new LinkedHashMap<>(thumbnailCacheMaxEntries, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<RoomType, Thumbnail> eldest) {
+                return size() > thumbnailCacheMaxEntries;
+            }
+        };
+    }
+
+    // Encoded thumbnail bytes plus the validators of the source image they were built from
+    public record Thumbnail(byte[] bytes, String etag, long lastModified) {
+    }
+
+    private record CachedPath(String path, long loadedAt) {
+    }
+
+    public CacheControl getCacheControl() {
+        return cacheControl;
+    }
+
+    /**
+     * Get the image file for a room type, or null when the type has no image on disk
+     */
+    public Path resolveImage(RoomType roomType) {
+        String imagePath = imagePath(roomType);
+        if (imagePath == null) {
+            return null;
+        }
+        Path imageFile = Paths.get(imagePath);
+        return Files.isRegularFile(imageFile) ? imageFile : null;
+    }
+
+    // The type's image path from the room type table, looked up at most once per path-cache-ttl
+    private String imagePath(RoomType roomType) {
+        long now = System.nanoTime();
+        CachedPath cached = imagePaths.get(roomType);
+        if (cached != null && now - cached.loadedAt() < pathCacheTtlNanos) {
+            return cached.path();
+        }
+        String imagePath = roomService.getRoomTypeImage(roomType);
+        if (imagePath == null || imagePath.contains("not found")) {
+            imagePaths.remove(roomType);
+            return null;
+        }
+        imagePaths.put(roomType, new CachedPath(imagePath, now));
+        return imagePath;
+    }
+
+    // Strong ETag derived from file size and modification time, so no file content is read
+    public static String etag(long length, long lastModified) {
+        return "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+    }
+
+    /**
+     * Get a JPEG thumbnail of the room type image, served from the LRU when
+     * enabled and the source file has not changed since it was encoded.
+     */
+    public Thumbnail getThumbnail(RoomType roomType) throws IOException {
+        Path imageFile = resolveImage(roomType);
+        if (imageFile == null) {
+            return null;
+        }
+        long lastModified = Files.getLastModifiedTime(imageFile).toMillis();
+
+        if (thumbnailCacheEnabled) {
+            synchronized (thumbnails) {
+                Thumbnail cached = thumbnails.get(roomType);
+                if (cached != null && cached.lastModified() == lastModified) {
+                    return cached;
+                }
+            }
+        }
+
+        byte[] bytes = encodeThumbnail(imageFile);
+        Thumbnail thumbnail = new Thumbnail(bytes, etag(bytes.length, lastModified), lastModified);
+        if (thumbnailCacheEnabled) {
+            synchronized (thumbnails) {
+                thumbnails.put(roomType, thumbnail);
+            }
+        }
+        return thumbnail;
+    }
+
+    private byte[] encodeThumbnail(Path imageFile) throws IOException {
+        BufferedImage source = ImageIO.read(imageFile.toFile());
+        if (source == null) {
+            throw new IOException("Unsupported image format: " + imageFile);
+        }
+        int width = Math.min(thumbnailWidth, source.getWidth());
+        int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(scaled, "jpg", out);
+        return out.toByteArray();
+    }
+}
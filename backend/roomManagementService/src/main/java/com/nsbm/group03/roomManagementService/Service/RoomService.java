@@ -1,27 +1,63 @@
 package com.nsbm.group03.roomManagementService.Service;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.nsbm.group03.roomManagementService.Entity.Room;
 import com.nsbm.group03.roomManagementService.Entity.RoomStatusHistory;
 import com.nsbm.group03.roomManagementService.Entity.RoomTypeEntity;
 import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
 import com.nsbm.group03.roomManagementService.Enum.RoomType;
+import com.nsbm.group03.roomManagementService.Dto.BulkStatusUpdateItemDTO;
+import com.nsbm.group03.roomManagementService.Dto.BulkStatusUpdateResultDTO;
+import com.nsbm.group03.roomManagementService.Dto.RoomAvailabilityDTO;
 import com.nsbm.group03.roomManagementService.Dto.RoomCountDTO;
+import com.nsbm.group03.roomManagementService.Dto.RoomStatusEventDTO;
+import com.nsbm.group03.roomManagementService.Dto.RoomStatusHistoryPageDTO;
 import com.nsbm.group03.roomManagementService.Dto.RoomTypeSummaryDTO;
 import com.nsbm.group03.roomManagementService.Dto.StatisticsDTO;
 import com.nsbm.group03.roomManagementService.Dto.StatisticsByTypeDTO;
+import com.nsbm.group03.roomManagementService.Mapper.RoomMapper;
+import com.nsbm.group03.roomManagementService.Mapper.RoomStatusHistoryJsonSerializer;
 import com.nsbm.group03.roomManagementService.Repository.RoomRepository;
+import com.nsbm.group03.roomManagementService.Repository.RoomStatusHistoryBatchRepository;
 import com.nsbm.group03.roomManagementService.Repository.RoomStatusHistoryRepository;
 import com.nsbm.group03.roomManagementService.Repository.RoomTypeRepository;
+import com.nsbm.group03.roomManagementService.Repository.TypeStatusCount;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
 
 @Service
 public class RoomService {
+    private static final int MAX_HISTORY_PAGE_SIZE = 500;
+
     @Autowired
     private RoomRepository roomRepository;
 
@@ -31,7 +67,37 @@ public class RoomService {
     @Autowired
     private RoomTypeRepository roomTypeRepository;
 
-    
+    @Autowired
+    private RoomStatusHistoryBatchRepository historyBatchRepository;
+
+    @Autowired
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private RoomStatusCounters statusCounters;
+
+    @Autowired
+    private RoomCache roomCache;
+
+    @Autowired
+    private RoomStatusEventPublisher eventPublisher;
+
+    @Autowired
+    private HistoryArchive historyArchive;
+
+    @Autowired
+    private OccupancyRollupService occupancyRollups;
+
+    // Boot's configured mapper when present (falls back to defaults in slice tests)
+    @Autowired
+    private ObjectProvider<ObjectMapper> objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // held while the availability index moves to a new day, so only one thread reloads it
+    private final ReentrantLock indexRolloverLock = new ReentrantLock();
+
 
     // ========== ROOM MANAGEMENT ==========
 
@@ -40,15 +106,34 @@ public class RoomService {
         return roomRepository.findAll();
     }
 
+    // Insert many rooms with one batched saveAll (no history generation)
+    public List<Room> insertRooms(List<Room> rooms) {
+        for (Room room : rooms) {
+            if (room.getStatus() == null) {
+                room.setStatus(RoomStatus.AVAILABLE);
+            }
+        }
+        List<Room> saved = roomRepository.saveAll(rooms);
+        for (Room room : saved) {
+            roomCache.putAfterCommit(room);
+            statusCounters.roomAdded(room.getRoomType(), room.getStatus());
+        }
+        return saved;
+    }
+
     // Basic create (no history generation)
     public Room insertRoom(Room room) {
         if (room.getStatus() == null) {
             room.setStatus(RoomStatus.AVAILABLE);
         }
-        return roomRepository.save(room);        
+        Room saved = roomRepository.save(room);
+        roomCache.putAfterCommit(saved);
+        statusCounters.roomAdded(saved.getRoomType(), saved.getStatus());
+        return saved;
     }
 
     // Create a room and automatically populate 30 days of random status history
+    @Transactional
     public Room createRoomWithHistory(Room room) {
         // avoid duplicates by roomNumber
         Room existing = getRoomByNumber(room.getRoomNumber());
@@ -59,23 +144,31 @@ public class RoomService {
             room.setStatus(RoomStatus.AVAILABLE);
         }
         Room saved = roomRepository.save(room);
+        roomCache.putAfterCommit(saved);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                statusCounters.roomAdded(saved.getRoomType(), saved.getStatus());
+            }
+        });
         generateHistoryForRoom(saved, 30);
         System.out.println("Generated history for room " + saved.getRoomNumber());
         return saved;
     }
 
-    // Delete a room along with its history (cascade handles history removal)
-    public void deleteRoomWithHistory(String roomNumber) {
-        Room room = getRoomByNumber(roomNumber);
-        if (room != null) {
-            roomRepository.delete(room);
-            System.out.println("Deleted room " + roomNumber + " and its history");
+    // Delete a room along with its history (cascade handles history removal); returns false if not found
+    @Transactional
+    public boolean deleteRoomWithHistory(String roomNumber) {
+        if (!removeRoom(roomNumber)) {
+            return false;
         }
+        System.out.println("Deleted room " + roomNumber + " and its history");
+        return true;
     }
 
-    // Get a room by room number  
+    // Get a room by room number (served from the room cache when present)
     public Room getRoomByNumber(String roomNumber) {
-        return roomRepository.findByRoomNumber(roomNumber);
+        return roomCache.get(roomNumber, roomRepository::findByRoomNumber);
     }
 
     // Get room count statistics by type
@@ -88,40 +181,118 @@ public class RoomService {
     }
 
     // Delete a room by room number
+    @Transactional
     public void deleteRoom(String roomNumber) {
-        Room room = getRoomByNumber(roomNumber);
-        if (room != null) {
-            roomRepository.delete(room);
+        removeRoom(roomNumber);
+    }
+
+    // Delete the managed room, locked so no status change lands in between; the counters
+    // are moved by the status it had when deleted, and in-memory views follow on commit
+    private boolean removeRoom(String roomNumber) {
+        Room room = roomRepository.lockByRoomNumber(roomNumber);
+        if (room == null) {
+            return false;
         }
+        occupancyRollups.roomRemoved(room, LocalDate.now());
+        roomRepository.delete(room);
+        RoomType type = room.getRoomType();
+        RoomStatus lastStatus = room.getStatus();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                statusCounters.roomRemoved(type, lastStatus);
+                availabilityIndex.remove(roomNumber);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                roomCache.evict(roomNumber);
+            }
+        });
+        return true;
     }
 
     // ========== ROOM STATUS MANAGEMENT ==========
 
-    // Update room status and create status history
+    // Update room status and create status history; fails with a conflict if another
+    // change lands between reading the current status and writing the new one
+    @Transactional
     public RoomStatusHistory updateRoomStatus(String roomNumber, RoomStatus newStatus, String changedBy) {
-        Room room = getRoomByNumber(roomNumber);
+        if (newStatus == null) {
+            throw new IllegalArgumentException("Status is required");
+        }
+        Room room = roomRepository.findByRoomNumber(roomNumber);
         if (room == null) {
             throw new RuntimeException("Room with number " + roomNumber + " not found");
         }
+        return applyStatusChange(roomNumber, room.getStatus(), newStatus, changedBy);
+    }
 
-        // Update the room status
-        room.setStatus(newStatus);
-        roomRepository.save(room);
+    /**
+     * Move a room from an expected status to a new one if the transition is allowed.
+     * The check and the write are one conditional UPDATE, so of two concurrent
+     * check-ins exactly one succeeds and the other gets a RoomStatusConflictException.
+     */
+    @Transactional
+    public RoomStatusHistory transitionRoomStatus(String roomNumber, RoomStatus from, RoomStatus to, String changedBy) {
+        if (!from.canTransitionTo(to)) {
+            throw new IllegalArgumentException("Transition " + from + " -> " + to + " is not allowed");
+        }
+        return applyStatusChange(roomNumber, from, to, changedBy);
+    }
+
+    // Conditional status write plus today's history row; in-memory views follow on commit
+    private RoomStatusHistory applyStatusChange(String roomNumber, RoomStatus from, RoomStatus to, String changedBy) {
+        if (roomRepository.compareAndSetStatus(roomNumber, from, to) == 0) {
+            Room current = roomRepository.findByRoomNumber(roomNumber);
+            if (current == null) {
+                throw new RuntimeException("Room with number " + roomNumber + " not found");
+            }
+            throw new RoomStatusConflictException(roomNumber, from, current.getStatus(), to);
+        }
+        Room room = roomRepository.findByRoomNumber(roomNumber);
 
-        // Create status history record
         RoomStatusHistory statusHistory = new RoomStatusHistory();
         statusHistory.setRoom(room);
-        statusHistory.setStatus(newStatus);
+        statusHistory.setStatus(to);
         statusHistory.setDate(LocalDate.now());
         statusHistory.setChangedBy(changedBy);
         statusHistory.setChangedAt(LocalDateTime.now());
 
-        return statusHistoryRepository.save(statusHistory);
+        // the conditional UPDATE above holds the room's row lock until commit, so no other
+        // change to this room can read the same previousForDate and move the rollups twice
+        RoomStatus previousForDate = statusHistoryRepository.findLatestStatusByRoomAndDate(room, statusHistory.getDate());
+        RoomStatusHistory saved = statusHistoryRepository.save(statusHistory);
+        occupancyRollups.statusChanged(saved.getDate(), room.getRoomType(), previousForDate, to);
+
+        RoomStatusEventDTO event = new RoomStatusEventDTO(room.getRoomNumber(), room.getRoomType(), saved.getDate(),
+                to, from, changedBy, saved.getChangedAt());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                statusCounters.statusChanged(room.getRoomType(), from, to);
+                availabilityIndex.apply(room, saved.getDate(), to);
+                eventPublisher.publish(event);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                roomCache.evict(roomNumber);
+            }
+        });
+        return saved;
     }
 
     // Update room status for a specific date
+    @Transactional
     public RoomStatusHistory updateRoomStatusForDate(String roomNumber, RoomStatus newStatus, LocalDate date, String changedBy) {
-        Room room = getRoomByNumber(roomNumber);
+        // A change for today also moves the current status
+        if (date.equals(LocalDate.now())) {
+            return updateRoomStatus(roomNumber, newStatus, changedBy);
+        }
+
+        // locked until commit, so concurrent changes to this room read previousForDate one after another
+        Room room = roomRepository.lockByRoomNumber(roomNumber);
         if (room == null) {
             throw new RuntimeException("Room with number " + roomNumber + " not found");
         }
@@ -133,27 +304,158 @@ public class RoomService {
         statusHistory.setChangedBy(changedBy);
         statusHistory.setChangedAt(LocalDateTime.now());
 
-        return statusHistoryRepository.save(statusHistory);
+        RoomStatus previousForDate = statusHistoryRepository.findLatestStatusByRoomAndDate(room, date);
+        RoomStatusHistory saved = statusHistoryRepository.save(statusHistory);
+        occupancyRollups.statusChanged(date, room.getRoomType(), previousForDate, newStatus);
+
+        // like applyStatusChange: the index and subscribers only see the change once it is committed
+        RoomStatusEventDTO event = new RoomStatusEventDTO(room.getRoomNumber(), room.getRoomType(), date,
+                newStatus, null, changedBy, saved.getChangedAt());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                availabilityIndex.apply(room, date, newStatus);
+                eventPublisher.publish(event);
+            }
+        });
+        return saved;
     }
 
-    // Mark room as occupied (when guest checks in)
+    /**
+     * Apply many status changes in one transaction. Rooms are resolved with a single
+     * IN query that locks them, and history rows are written with one JDBC batch. Invalid
+     * entries (unknown room, missing status) are reported per row and do not abort the rest.
+     */
+    @Transactional
+    public List<BulkStatusUpdateResultDTO> bulkUpdateRoomStatus(List<BulkStatusUpdateItemDTO> items) {
+        Set<String> roomNumbers = new HashSet<>();
+        for (BulkStatusUpdateItemDTO item : items) {
+            if (item.getRoomNumber() != null) roomNumbers.add(item.getRoomNumber());
+        }
+        Map<String, Room> rooms = new HashMap<>();
+        // locked until commit: no other change to these rooms can land between reading their
+        // status and writing the batch, so no entry can fail on an optimistic-lock conflict
+        for (Room room : roomRepository.lockByRoomNumberIn(roomNumbers)) {
+            rooms.put(room.getRoomNumber(), room);
+        }
+
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+
+        // status each (room, date) had before this batch, for the occupancy rollups
+        Set<LocalDate> dates = new HashSet<>();
+        for (BulkStatusUpdateItemDTO item : items) {
+            dates.add(item.getDate() != null ? item.getDate() : today);
+        }
+        Map<String, RoomStatus> statusForDate = new HashMap<>();
+        if (!rooms.isEmpty()) {
+            // oldest first, so the latest entry (last inserted among tied changedAt) is the one kept
+            for (Object[] row : statusHistoryRepository.findStatusesByRoomsAndDates(rooms.values(), dates)) {
+                statusForDate.put(row[0] + "|" + row[1], (RoomStatus) row[2]);
+            }
+        }
+        OccupancyRollupService.Delta occupancy = new OccupancyRollupService.Delta();
+
+        List<BulkStatusUpdateResultDTO> results = new ArrayList<>(items.size());
+        List<RoomStatusHistory> histories = new ArrayList<>();
+        List<Runnable> afterCommit = new ArrayList<>();
+        List<RoomStatusEventDTO> events = new ArrayList<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            BulkStatusUpdateItemDTO item = items.get(i);
+            Room room = rooms.get(item.getRoomNumber());
+            if (item.getStatus() == null) {
+                results.add(BulkStatusUpdateResultDTO.failed(i, item, "Status is required"));
+                continue;
+            }
+            if (room == null) {
+                results.add(BulkStatusUpdateResultDTO.failed(i, item, "Room with number " + item.getRoomNumber() + " not found"));
+                continue;
+            }
+
+            LocalDate date = item.getDate() != null ? item.getDate() : today;
+            RoomStatus newStatus = item.getStatus();
+            String changedBy = item.getChangedBy() != null ? item.getChangedBy() : "ADMIN";
+            RoomStatus previousStatus = null;
+            if (date.equals(today)) {
+                // managed entity, flushed with the transaction
+                previousStatus = room.getStatus();
+                room.setStatus(newStatus);
+                RoomStatus from = previousStatus;
+                afterCommit.add(() -> statusCounters.statusChanged(room.getRoomType(), from, newStatus));
+            }
+            // a microsecond apart (the column's precision), so when an entry repeats a (room, date)
+            // the database sees the later entry as latest, as Room.status, the rollups and the index do
+            LocalDateTime changedAt = now.plus(i, ChronoUnit.MICROS);
+            RoomStatusHistory history = new RoomStatusHistory(null, room, date, newStatus, changedBy, changedAt);
+            histories.add(history);
+            occupancy.move(date, room.getRoomType(), statusForDate.put(room.getRoomId() + "|" + date, newStatus), newStatus);
+            afterCommit.add(() -> availabilityIndex.apply(room, date, newStatus));
+            events.add(new RoomStatusEventDTO(room.getRoomNumber(), room.getRoomType(), date,
+                    newStatus, previousStatus, changedBy, changedAt));
+            results.add(new BulkStatusUpdateResultDTO(i, room.getRoomNumber(), newStatus, date, true, "Status updated", null));
+        }
+
+        historyBatchRepository.insertAll(histories);
+        occupancyRollups.apply(occupancy);
+        int h = 0;
+        for (BulkStatusUpdateResultDTO result : results) {
+            if (result.isSuccess()) result.setHistoryId(histories.get(h++).getId());
+        }
+
+        // in-memory views only change once the batch is durable; cached rooms are dropped either way
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                afterCommit.forEach(Runnable::run);
+                eventPublisher.publish(events);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                rooms.keySet().forEach(roomCache::evict);
+            }
+        });
+        return results;
+    }
+
+    // Mark room as occupied (when guest checks in); only an AVAILABLE room can be checked in
+    @Transactional
     public RoomStatusHistory checkInRoom(String roomNumber, String changedBy) {
-        return updateRoomStatus(roomNumber, RoomStatus.OCCUPIED, changedBy);
+        return transitionRoomStatus(roomNumber, RoomStatus.AVAILABLE, RoomStatus.OCCUPIED, changedBy);
     }
 
-    // Mark room as available (when guest checks out)
+    // Mark room as available (when guest checks out); only an OCCUPIED room can be checked out
+    @Transactional
     public RoomStatusHistory checkOutRoom(String roomNumber, String changedBy) {
-        return updateRoomStatus(roomNumber, RoomStatus.AVAILABLE, changedBy);
+        return transitionRoomStatus(roomNumber, RoomStatus.OCCUPIED, RoomStatus.AVAILABLE, changedBy);
     }
 
-    // Mark room for maintenance
+    // Mark room for maintenance (from AVAILABLE or OCCUPIED)
+    @Transactional
     public RoomStatusHistory markRoomForMaintenance(String roomNumber, String changedBy) {
-        return updateRoomStatus(roomNumber, RoomStatus.MAINTENANCE, changedBy);
+        Room room = roomRepository.findByRoomNumber(roomNumber);
+        if (room == null) {
+            throw new RuntimeException("Room with number " + roomNumber + " not found");
+        }
+        if (room.getStatus() == RoomStatus.MAINTENANCE) {
+            throw new RoomStatusConflictException(roomNumber, MAINTENANCE_FROM, room.getStatus(), RoomStatus.MAINTENANCE);
+        }
+        try {
+            return transitionRoomStatus(roomNumber, room.getStatus(), RoomStatus.MAINTENANCE, changedBy);
+        } catch (RoomStatusConflictException e) {
+            // lost a race; report every status the operation accepts, not just the one read above
+            throw new RoomStatusConflictException(roomNumber, MAINTENANCE_FROM, e.getActual(), RoomStatus.MAINTENANCE);
+        }
     }
 
+    // Statuses a room can be sent to maintenance from
+    private static final Set<RoomStatus> MAINTENANCE_FROM = java.util.EnumSet.of(RoomStatus.AVAILABLE, RoomStatus.OCCUPIED);
+
     // Mark room as available after maintenance
+    @Transactional
     public RoomStatusHistory markRoomAvailableAfterMaintenance(String roomNumber, String changedBy) {
-        return updateRoomStatus(roomNumber, RoomStatus.AVAILABLE, changedBy);
+        return transitionRoomStatus(roomNumber, RoomStatus.MAINTENANCE, RoomStatus.AVAILABLE, changedBy);
     }
 
     // ========== ROOM STATUS QUERIES ==========
@@ -166,7 +468,19 @@ public class RoomService {
 
     // Get available rooms for a specific date
     public List<RoomStatusHistory> getAvailableRoomsByDate(LocalDate date) {
-        return statusHistoryRepository.findAvailableRoomsByDate(date);
+        return withArchived(statusHistoryRepository.findAvailableRoomsByDate(date),
+                historyArchive.findByDate(date, RoomStatus.AVAILABLE), null, BY_CHANGED_AT_DESC);
+    }
+
+    /**
+     * Get rooms that are available on every night of a stay, answered from the
+     * in-memory availability index. {@code to} is the check-out date (exclusive).
+     */
+    public List<RoomAvailabilityDTO> getAvailableRoomsForRange(LocalDate from, LocalDate to, RoomType type) {
+        if (!availabilityIndex.getWindowStart().equals(LocalDate.now())) {
+            rollOverAvailabilityIndex();
+        }
+        return availabilityIndex.findAvailable(from, to, type);
     }
 
     // Get occupied rooms for today
@@ -177,7 +491,8 @@ public class RoomService {
 
     // Get occupied rooms for a specific date
     public List<RoomStatusHistory> getOccupiedRoomsByDate(LocalDate date) {
-        return statusHistoryRepository.findOccupiedRoomsByDate(date);
+        return withArchived(statusHistoryRepository.findOccupiedRoomsByDate(date),
+                historyArchive.findByDate(date, RoomStatus.OCCUPIED), null, BY_CHANGED_AT_DESC);
     }
 
     // Get maintenance rooms for today
@@ -188,7 +503,8 @@ public class RoomService {
 
     // Get maintenance rooms for a specific date
     public List<RoomStatusHistory> getMaintenanceRoomsByDate(LocalDate date) {
-        return statusHistoryRepository.findMaintenanceRoomsByDate(date);
+        return withArchived(statusHistoryRepository.findMaintenanceRoomsByDate(date),
+                historyArchive.findByDate(date, RoomStatus.MAINTENANCE), null, BY_CHANGED_AT_DESC);
     }
 
     // ========== ROOM STATUS HISTORY QUERIES ==========
@@ -199,7 +515,8 @@ public class RoomService {
         if (room == null) {
             throw new RuntimeException("Room with number " + roomNumber + " not found");
         }
-        return statusHistoryRepository.findByRoomOrderByDateDesc(room);
+        return withArchived(statusHistoryRepository.findByRoomOrderByDateDesc(room),
+                historyArchive.findByRoom(room.getRoomId()), room, BY_DATE_DESC);
     }
 
     // Get status history for a room on a specific date
@@ -208,7 +525,8 @@ public class RoomService {
         if (room == null) {
             throw new RuntimeException("Room with number " + roomNumber + " not found");
         }
-        return statusHistoryRepository.findByRoomAndDate(room, date);
+        return withArchived(statusHistoryRepository.findByRoomAndDate(room, date),
+                historyArchive.findByRoom(room.getRoomId(), date, date), room, BY_DATE_DESC);
     }
 
     // Get status history for a room within a date range
@@ -217,7 +535,8 @@ public class RoomService {
         if (room == null) {
             throw new RuntimeException("Room with number " + roomNumber + " not found");
         }
-        return statusHistoryRepository.findByRoomAndDateBetweenOrderByDateDesc(room, startDate, endDate);
+        return withArchived(statusHistoryRepository.findByRoomAndDateBetweenOrderByDateDesc(room, startDate, endDate),
+                historyArchive.findByRoom(room.getRoomId(), startDate, endDate), room, BY_DATE_DESC);
     }
 
     // Get latest status for a room
@@ -226,17 +545,189 @@ public class RoomService {
         if (room == null) {
             throw new RuntimeException("Room with number " + roomNumber + " not found");
         }
-        return statusHistoryRepository.findLatestStatusByRoom(room);
+        RoomStatusHistory latest = statusHistoryRepository.findLatestStatusByRoom(room);
+        if (latest != null) {
+            return latest;
+        }
+        // every row of the room has been archived
+        return historyArchive.findByRoom(room.getRoomId()).stream()
+                .max(Comparator.comparing(HistorySegment.Row::changedAt))
+                .map(row -> toHistory(row, room))
+                .orElse(null);
     }
 
     // Get status history for all rooms on a specific date
     public List<RoomStatusHistory> getAllRoomsStatusHistoryByDate(LocalDate date) {
-        return statusHistoryRepository.findByDateOrderByChangedAtDesc(date);
+        return withArchived(statusHistoryRepository.findByDateOrderByChangedAtDesc(date),
+                historyArchive.findByDate(date, null), null, BY_CHANGED_AT_DESC);
+    }
+
+    // ---------- paginated / streaming history ----------
+
+    /**
+     * Get one page of a room's status history, newest first.
+     * Pass the previous page's nextCursor to continue; null starts from the newest entry.
+     */
+    public RoomStatusHistoryPageDTO getRoomStatusHistoryPage(String roomNumber, String cursor, int limit) {
+        Room room = getRoomByNumber(roomNumber);
+        if (room == null) {
+            throw new RuntimeException("Room with number " + roomNumber + " not found");
+        }
+        int pageSize = clampPageSize(limit);
+        PageRequest fetch = PageRequest.of(0, pageSize + 1);
+        List<RoomStatusHistory> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = statusHistoryRepository.findFirstPageByRoom(room, fetch);
+            rows = withArchived(rows, historyArchive.findByRoomBefore(room.getRoomId(), r -> true,
+                    LocalDate.MAX, pageSize + 1), room, BY_KEYSET_DESC);
+        } else {
+            HistoryCursor after = HistoryCursor.decode(cursor);
+            rows = statusHistoryRepository.findPageByRoomAfter(room, after.date(), after.changedAt(), after.id(), fetch);
+            rows = withArchived(rows, historyArchive.findByRoomBefore(room.getRoomId(), r -> isBefore(r, after),
+                    after.date(), pageSize + 1), room, BY_KEYSET_DESC);
+        }
+        return toPage(rows, pageSize);
+    }
+
+    /**
+     * Get one page of the status history of all rooms on a date, newest change first
+     */
+    public RoomStatusHistoryPageDTO getAllRoomsStatusHistoryPageByDate(LocalDate date, String cursor, int limit) {
+        int pageSize = clampPageSize(limit);
+        PageRequest fetch = PageRequest.of(0, pageSize + 1);
+        List<RoomStatusHistory> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = statusHistoryRepository.findFirstPageByDate(date, fetch);
+            rows = withArchived(rows, historyArchive.findByDate(date, null), null, BY_KEYSET_DESC);
+        } else {
+            HistoryCursor after = HistoryCursor.decode(cursor);
+            rows = statusHistoryRepository.findPageByDateAfter(date, after.changedAt(), after.id(), fetch);
+            List<HistorySegment.Row> archived = new ArrayList<>(historyArchive.findByDate(date, null));
+            archived.removeIf(r -> !isBefore(r, after));
+            rows = withArchived(rows, archived, null, BY_KEYSET_DESC);
+        }
+        return toPage(rows, pageSize);
+    }
+
+    /**
+     * Write a room's full status history as newline-delimited JSON, reading it
+     * through a database cursor so the result set is never held in memory.
+     */
+    @Transactional(readOnly = true)
+    public void exportRoomStatusHistory(String roomNumber, OutputStream out) throws IOException {
+        Room room = getRoomByNumber(roomNumber);
+        if (room == null) {
+            throw new RuntimeException("Room with number " + roomNumber + " not found");
+        }
+        // hot rows first, then the archived months (all older than the archive horizon)
+        try (Stream<RoomStatusHistory> rows = statusHistoryRepository.streamByRoom(room)) {
+            writeNdjson(Stream.concat(rows, historyArchive.findByRoom(room.getRoomId()).stream()
+                    .map(row -> toHistory(row, room))), out);
+        }
+    }
+
+    /**
+     * Write the status history of all rooms on a date as newline-delimited JSON
+     */
+    @Transactional(readOnly = true)
+    public void exportAllRoomsStatusHistoryByDate(LocalDate date, OutputStream out) throws IOException {
+        try (Stream<RoomStatusHistory> rows = statusHistoryRepository.streamByDate(date)) {
+            List<RoomStatusHistory> archived = toHistory(historyArchive.findByDate(date, null), null);
+            writeNdjson(Stream.concat(rows, archived.stream()), out);
+        }
+    }
+
+    private void writeNdjson(Stream<RoomStatusHistory> rows, OutputStream out) throws IOException {
+        ObjectMapper mapper = objectMapper.getIfAvailable(() -> JsonMapper.builder().build());
+        // one generator for the whole export; rows are written straight from the entities
+        try (JsonGenerator gen = mapper.writer()
+                .without(StreamWriteFeature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("")
+                .createGenerator(out)) {
+            java.util.Iterator<RoomStatusHistory> it = rows.iterator();
+            while (it.hasNext()) {
+                RoomStatusHistory history = it.next();
+                RoomStatusHistoryJsonSerializer.write(gen, history);
+                gen.writeRaw('\n');
+                // keep the persistence context from growing with every streamed row
+                if (entityManager.contains(history)) {
+                    entityManager.detach(history);
+                }
+            }
+        }
+        out.flush();
+    }
+
+    private static int clampPageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_HISTORY_PAGE_SIZE));
+    }
+
+    private static RoomStatusHistoryPageDTO toPage(List<RoomStatusHistory> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<RoomStatusHistory> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? HistoryCursor.of(page.get(page.size() - 1)).encode() : null;
+        return new RoomStatusHistoryPageDTO(RoomMapper.toRoomStatusHistoryDTOList(page), nextCursor);
+    }
+
+    // ---------- archived history ----------
+
+    private static final Comparator<RoomStatusHistory> BY_DATE_DESC =
+            Comparator.comparing(RoomStatusHistory::getDate).reversed();
+    private static final Comparator<RoomStatusHistory> BY_CHANGED_AT_DESC =
+            Comparator.comparing(RoomStatusHistory::getChangedAt).reversed();
+    private static final Comparator<RoomStatusHistory> BY_KEYSET_DESC = Comparator
+            .comparing(RoomStatusHistory::getDate)
+            .thenComparing(RoomStatusHistory::getChangedAt)
+            .thenComparing(RoomStatusHistory::getId)
+            .reversed();
+
+    // True when an archived row sorts after the cursor in (date, changedAt, id) descending order
+    private static boolean isBefore(HistorySegment.Row row, HistoryCursor cursor) {
+        int c = row.date().compareTo(cursor.date());
+        if (c == 0) c = row.changedAt().compareTo(cursor.changedAt());
+        if (c == 0) c = row.id().compareTo(cursor.id());
+        return c < 0;
+    }
+
+    /**
+     * Combine rows from the table with rows from the archive, in the order the table query returned.
+     * When room is null the rooms of archived rows are looked up (or rebuilt for rooms since deleted).
+     */
+    private List<RoomStatusHistory> withArchived(List<RoomStatusHistory> hot, List<HistorySegment.Row> archived,
+            Room room, Comparator<RoomStatusHistory> order) {
+        if (archived.isEmpty()) return hot;
+        List<RoomStatusHistory> combined = new ArrayList<>(hot.size() + archived.size());
+        combined.addAll(hot);
+        combined.addAll(toHistory(archived, room));
+        combined.sort(order);
+        return combined;
+    }
+
+    private List<RoomStatusHistory> toHistory(List<HistorySegment.Row> rows, Room room) {
+        Map<String, Room> rooms = new HashMap<>();
+        if (room == null && !rows.isEmpty()) {
+            List<String> ids = rows.stream().map(HistorySegment.Row::roomId).distinct().toList();
+            for (Room r : roomRepository.findAllById(ids)) {
+                rooms.put(r.getRoomId(), r);
+            }
+        }
+        List<RoomStatusHistory> result = new ArrayList<>(rows.size());
+        for (HistorySegment.Row row : rows) {
+            Room owner = room != null ? room : rooms.computeIfAbsent(row.roomId(),
+                    id -> new Room(id, row.roomNumber(), null, 0, 0, null));
+            result.add(toHistory(row, owner));
+        }
+        return result;
+    }
+
+    private static RoomStatusHistory toHistory(HistorySegment.Row row, Room room) {
+        return new RoomStatusHistory(row.id(), room, row.date(), row.status(), row.changedBy(), row.changedAt());
     }
 
     // Get all rooms with a specific status
     public List<RoomStatusHistory> getRoomsByStatus(RoomStatus status) {
-        return statusHistoryRepository.findByStatusOrderByDateDesc(status);
+        return withArchived(statusHistoryRepository.findByStatusOrderByDateDesc(status),
+                historyArchive.findByStatus(status), null, BY_DATE_DESC);
     }
 
     // ----------------------- history assistance -----------------------
@@ -246,23 +737,57 @@ public class RoomService {
      * If an entry already exists for a date it will be skipped (idempotent).
      * History is added with random status based on configured probabilities.
      */
+    @Transactional
     public void generateHistoryForRoom(Room room, int daysAhead) {
+        generateHistoryForRooms(List.of(room), daysAhead);
+    }
+
+    /**
+     * Bulk variant of generateHistoryForRoom: finds the missing (room, date) pairs
+     * with a single query, builds the rows in memory and writes them with JDBC batch inserts.
+     * The rooms stay locked until commit, so a status change made meanwhile either lands
+     * before the missing dates are read or waits and sees the generated row as its previous
+     * status. Returns the number of rows written.
+     */
+    @Transactional
+    public int generateHistoryForRooms(List<Room> requested, int daysAhead) {
+        if (requested.isEmpty() || daysAhead <= 0) return 0;
         LocalDate today = LocalDate.now();
-        for (int i = 0; i < daysAhead; i++) {
-            LocalDate date = today.plusDays(i);
-            // skip if already present
-            List<RoomStatusHistory> existing = statusHistoryRepository.findByRoomAndDate(room, date);
-            if (!existing.isEmpty()) continue;
+        LocalDate lastDay = today.plusDays(daysAhead - 1);
+        // rooms deleted since the caller loaded them drop out here
+        List<Room> rooms = roomRepository.lockByRoomNumberIn(requested.stream().map(Room::getRoomNumber).toList());
+        if (rooms.isEmpty()) return 0;
+
+        java.util.Set<String> existing = new java.util.HashSet<>();
+        for (Object[] row : statusHistoryRepository.findRoomDatesInWindow(rooms, today, lastDay)) {
+            existing.add(row[0] + "|" + row[1]);
+        }
 
-            RoomStatus randomStatus = pickRandomStatus();
-            RoomStatusHistory history = new RoomStatusHistory();
-            history.setRoom(room);
-            history.setDate(date);
-            history.setStatus(randomStatus);
-            history.setChangedBy("SYSTEM");
-            history.setChangedAt(LocalDateTime.now());
-            statusHistoryRepository.save(history);
+        List<RoomStatusHistory> missing = new java.util.ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (Room room : rooms) {
+            for (int i = 0; i < daysAhead; i++) {
+                LocalDate date = today.plusDays(i);
+                if (existing.contains(room.getRoomId() + "|" + date)) continue;
+                missing.add(new RoomStatusHistory(null, room, date, pickRandomStatus(), "SYSTEM", now));
+            }
+        }
+
+        int written = historyBatchRepository.insertAll(missing);
+        OccupancyRollupService.Delta occupancy = new OccupancyRollupService.Delta();
+        for (RoomStatusHistory history : missing) {
+            occupancy.move(history.getDate(), history.getRoom().getRoomType(), null, history.getStatus());
         }
+        occupancyRollups.apply(occupancy);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                for (RoomStatusHistory history : missing) {
+                    availabilityIndex.apply(history.getRoom(), history.getDate(), history.getStatus());
+                }
+            }
+        });
+        return written;
     }
 
     private RoomStatus pickRandomStatus() {
@@ -272,14 +797,32 @@ public class RoomService {
         return RoomStatus.MAINTENANCE;
     }
 
-    // scheduled job ensures each room always has at least 30 days of history ahead
-    @Scheduled(cron = "0 0 0 * * ?") // every midnight
-    public void refreshHistory() {
-        List<Room> rooms = getAllRooms();
-        for (Room r : rooms) {
-            generateHistoryForRoom(r, 30);
+    // The nightly refresh that keeps WINDOW_DAYS of history ahead lives in HistoryRefreshJob
+
+    /**
+     * Move the availability index to a window starting today, if it does not start today
+     * already. Runs at midnight; a request arriving before that does it instead. Only one
+     * thread reloads: the others wait for it and then find the window current.
+     */
+    @Scheduled(cron = "${room.availability.rollover-cron:0 0 0 * * ?}")
+    public void rollOverAvailabilityIndex() {
+        indexRolloverLock.lock();
+        try {
+            if (!availabilityIndex.getWindowStart().equals(LocalDate.now())) {
+                rebuildAvailabilityIndex();
+            }
+        } finally {
+            indexRolloverLock.unlock();
         }
-        System.out.println("[Scheduled] room status history refreshed for " + rooms.size() + " rooms");
+    }
+
+    // Reload the availability index from the database for the window starting today
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildAvailabilityIndex() {
+        LocalDate today = LocalDate.now();
+        availabilityIndex.rebuild(today, getAllRooms(),
+                statusHistoryRepository.findByDateBetweenOrderByChangedAtAsc(
+                        today, today.plusDays(RoomAvailabilityIndex.WINDOW_DAYS - 1)));
     }
 
     // ========== ADDITIONAL ENDPOINTS ==========
@@ -346,52 +889,70 @@ public class RoomService {
     }
 
     /**
-     * Get overall room statistics
+     * Get overall room statistics from the in-memory status counters (no database access)
      */
     public StatisticsDTO getStatistics() {
-        int totalRooms = (int) roomRepository.count();
-        int availableRooms = getAvailableRooms().size();
-        int occupiedRooms = getOccupiedRooms().size();
-        int maintenanceRooms = getMaintenanceRooms().size();
+        return new StatisticsDTO(
+                (int) statusCounters.total(),
+                (int) statusCounters.total(RoomStatus.AVAILABLE),
+                (int) statusCounters.total(RoomStatus.OCCUPIED),
+                (int) statusCounters.total(RoomStatus.MAINTENANCE));
+    }
 
-        return new StatisticsDTO(totalRooms, availableRooms, occupiedRooms, maintenanceRooms);
+    /**
+     * Check the status counters against Room.status in the database, report drift
+     * through the rooms.status.counters.drift metric and correct the counters.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${room.counters.reconcile-interval-ms:300000}",
+            initialDelayString = "${room.counters.reconcile-interval-ms:300000}")
+    public void reconcileStatusCounters() {
+        long stamp = statusCounters.updateStamp();
+        java.util.Map<RoomType, java.util.Map<RoomStatus, Long>> actual = new java.util.EnumMap<>(RoomType.class);
+        for (Object[] row : roomRepository.countRoomsGroupedByTypeAndStatus()) {
+            actual.computeIfAbsent((RoomType) row[0], t -> new java.util.EnumMap<>(RoomStatus.class))
+                    .put((RoomStatus) row[1], ((Number) row[2]).longValue());
+        }
+        long drift = statusCounters.reconcile(actual, stamp);
+        if (drift < 0) {
+            System.out.println("[Scheduled] room status counters changed while reconciling, retrying next run");
+        } else if (drift > 0) {
+            System.out.println("[Scheduled] room status counters corrected, drift " + drift);
+        }
     }
 
     /**
-     * Get statistics broken down by room type
+     * Get statistics broken down by room type.
+     * Uses a fixed number of queries (room types, room totals, latest-status counts)
+     * regardless of how many rooms exist.
      */
     public StatisticsByTypeDTO getStatisticsByType() {
-        List<Room> allRooms = getAllRooms();
-        java.util.Map<String, StatisticsByTypeDTO.TypeStatistics> statsMap = new java.util.HashMap<>();
+        java.util.Map<RoomType, Double> prices = new java.util.EnumMap<>(RoomType.class);
+        for (RoomTypeEntity typeEntity : roomTypeRepository.findAll()) {
+            prices.put(typeEntity.getRoomType(), typeEntity.getPricePerNight());
+        }
+
+        java.util.Map<RoomType, Integer> totals = new java.util.EnumMap<>(RoomType.class);
+        for (Object[] row : roomRepository.countRoomsGroupedByType()) {
+            totals.put((RoomType) row[0], ((Number) row[1]).intValue());
+        }
 
-        // Initialize stats for each room type
+        java.util.Map<RoomType, int[]> statusCounts = new java.util.EnumMap<>(RoomType.class);
+        for (TypeStatusCount row : statusHistoryRepository.countLatestStatusByRoomType()) {
+            statusCounts.computeIfAbsent(row.getRoomType(), t -> new int[RoomStatus.values().length])
+                    [row.getStatus().ordinal()] += (int) row.getRoomCount();
+        }
+
+        java.util.Map<String, StatisticsByTypeDTO.TypeStatistics> statsMap = new java.util.HashMap<>();
         for (RoomType type : RoomType.values()) {
-            RoomTypeEntity typeEntity = roomTypeRepository.findByRoomType(type);
-            double price = typeEntity != null ? typeEntity.getPricePerNight() : 0.0;
-            statsMap.put(type.toString(), new StatisticsByTypeDTO.TypeStatistics(type.toString(), 0, 0, 0, 0, price));
-        }
-
-        // Count rooms by type and status
-        for (Room room : allRooms) {
-            String typeKey = room.getRoomType().toString();
-            StatisticsByTypeDTO.TypeStatistics stats = statsMap.get(typeKey);
-
-            if (stats != null) {
-                stats.setTotal(stats.getTotal() + 1);
-
-                // Get latest status for this room
-                RoomStatusHistory latestStatus = statusHistoryRepository.findLatestStatusByRoom(room);
-                if (latestStatus != null) {
-                    RoomStatus status = latestStatus.getStatus();
-                    if (status == RoomStatus.AVAILABLE) {
-                        stats.setAvailable(stats.getAvailable() + 1);
-                    } else if (status == RoomStatus.OCCUPIED) {
-                        stats.setOccupied(stats.getOccupied() + 1);
-                    } else if (status == RoomStatus.MAINTENANCE) {
-                        stats.setMaintenance(stats.getMaintenance() + 1);
-                    }
-                }
-            }
+            int[] counts = statusCounts.getOrDefault(type, new int[RoomStatus.values().length]);
+            statsMap.put(type.toString(), new StatisticsByTypeDTO.TypeStatistics(
+                    type.toString(),
+                    totals.getOrDefault(type, 0),
+                    counts[RoomStatus.AVAILABLE.ordinal()],
+                    counts[RoomStatus.OCCUPIED.ordinal()],
+                    counts[RoomStatus.MAINTENANCE.ordinal()],
+                    prices.getOrDefault(type, 0.0)));
         }
 
         return new StatisticsByTypeDTO(statsMap);
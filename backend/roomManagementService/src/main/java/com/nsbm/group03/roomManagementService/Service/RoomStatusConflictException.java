@@ -0,0 +1,45 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+
+/**
+ * A status transition lost a race: the room was no longer in the status the
+ * caller expected when the update ran. Controllers answer it with 409.
+ */
+public class RoomStatusConflictException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String roomNumber;
+    private final Set<RoomStatus> expected;
+    private final RoomStatus actual;
+
+    public RoomStatusConflictException(String roomNumber, RoomStatus expected, RoomStatus actual, RoomStatus requested) {
+        this(roomNumber, EnumSet.of(expected), actual, requested);
+    }
+
+    // For operations that accept more than one starting status
+    public RoomStatusConflictException(String roomNumber, Set<RoomStatus> expected, RoomStatus actual, RoomStatus requested) {
+        super("Room " + roomNumber + " is " + actual + ", expected "
+                + expected.stream().map(RoomStatus::name).collect(Collectors.joining(" or ")) + " to move to " + requested);
+        this.roomNumber = roomNumber;
+        this.expected = Set.copyOf(expected);
+        this.actual = actual;
+    }
+
+    public String getRoomNumber() {
+        return roomNumber;
+    }
+
+    public Set<RoomStatus> getExpected() {
+        return expected;
+    }
+
+    public RoomStatus getActual() {
+        return actual;
+    }
+}
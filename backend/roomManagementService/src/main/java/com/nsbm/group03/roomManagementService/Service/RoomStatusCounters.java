@@ -0,0 +1,144 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Per-type, per-status room counts mirroring the Room.status column.
+ * Kept in step by RoomService on create, delete and status change so that
+ * overall statistics can be answered without querying the database.
+ */
+@Component
+public class RoomStatusCounters implements MeterBinder {
+
+    private final Map<RoomType, LongAdder[]> counts = new EnumMap<>(RoomType.class);
+    // bumped on every update, so reconcile can tell whether the counters moved while the database was read
+    private final AtomicLong updates = new AtomicLong();
+    private final AtomicLong lastDrift = new AtomicLong();
+    private final AtomicLong reconciliations = new AtomicLong();
+
+    public RoomStatusCounters() {
+        for (RoomType type : RoomType.values()) {
+            LongAdder[] byStatus = new LongAdder[RoomStatus.values().length];
+            for (int i = 0; i < byStatus.length; i++) {
+                byStatus[i] = new LongAdder();
+            }
+            counts.put(type, byStatus);
+        }
+    }
+
+    public void roomAdded(RoomType type, RoomStatus status) {
+        counts.get(type)[status.ordinal()].increment();
+        updates.incrementAndGet();
+    }
+
+    public void roomRemoved(RoomType type, RoomStatus status) {
+        counts.get(type)[status.ordinal()].decrement();
+        updates.incrementAndGet();
+    }
+
+    public void statusChanged(RoomType type, RoomStatus from, RoomStatus to) {
+        if (from == to) return;
+        if (from != null) {
+            counts.get(type)[from.ordinal()].decrement();
+        }
+        counts.get(type)[to.ordinal()].increment();
+        updates.incrementAndGet();
+    }
+
+    // Taken before the database counts are read and handed back to reconcile
+    public long updateStamp() {
+        return updates.get();
+    }
+
+    public long get(RoomType type, RoomStatus status) {
+        return counts.get(type)[status.ordinal()].sum();
+    }
+
+    public long total(RoomStatus status) {
+        long sum = 0;
+        for (RoomType type : RoomType.values()) {
+            sum += get(type, status);
+        }
+        return sum;
+    }
+
+    public long total() {
+        long sum = 0;
+        for (RoomStatus status : RoomStatus.values()) {
+            sum += total(status);
+        }
+        return sum;
+    }
+
+    /**
+     * Compare the counters against counts loaded from the database, record the
+     * absolute drift and correct the counters by it. Returns the drift found, or -1
+     * when the counters were updated after {@code stamp} was taken: such an update
+     * may be missing from the database counts, and correcting would reverse it, so
+     * nothing is changed and the next run tries again.
+     * <p>
+     * The correction is added rather than the counters being reset, so an update
+     * landing after the check is kept. Not covered: a change the database counts
+     * already include but whose after-commit update has not run yet. It is applied
+     * twice, and that drift stays until the next reconcile.
+     */
+    public long reconcile(Map<RoomType, Map<RoomStatus, Long>> actual, long stamp) {
+        long[][] corrections = new long[RoomType.values().length][RoomStatus.values().length];
+        long drift = 0;
+        for (RoomType type : RoomType.values()) {
+            Map<RoomStatus, Long> byStatus = actual.getOrDefault(type, Map.of());
+            for (RoomStatus status : RoomStatus.values()) {
+                long expected = byStatus.getOrDefault(status, 0L);
+                long correction = expected - counts.get(type)[status.ordinal()].sum();
+                corrections[type.ordinal()][status.ordinal()] = correction;
+                drift += Math.abs(correction);
+            }
+        }
+        if (updates.get() != stamp) {
+            return -1;
+        }
+        for (RoomType type : RoomType.values()) {
+            for (RoomStatus status : RoomStatus.values()) {
+                counts.get(type)[status.ordinal()].add(corrections[type.ordinal()][status.ordinal()]);
+            }
+        }
+        lastDrift.set(drift);
+        reconciliations.incrementAndGet();
+        return drift;
+    }
+
+    public long getLastDrift() {
+        return lastDrift.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (RoomType type : RoomType.values()) {
+            for (RoomStatus status : RoomStatus.values()) {
+                Gauge.builder("rooms.status.count", this, c -> c.get(type, status))
+                        .description("Rooms by type and current status")
+                        .tag("type", type.name())
+                        .tag("status", status.name())
+                        .register(registry);
+            }
+        }
+        Gauge.builder("rooms.status.counters.drift", lastDrift, AtomicLong::get)
+                .description("Absolute difference between in-memory counters and the database at the last reconciliation")
+                .register(registry);
+        Gauge.builder("rooms.status.counters.reconciliations", reconciliations, AtomicLong::get)
+                .description("Number of counter reconciliations run")
+                .register(registry);
+    }
+}
@@ -0,0 +1,192 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.nsbm.group03.roomManagementService.Dto.RoomStatusEventDTO;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Fan-out of room status changes to Server-Sent Events subscribers.
+ * Publishing never blocks: each subscriber has a bounded queue drained on a
+ * separate executor, and a subscriber whose queue is full is disconnected
+ * (it can reconnect and resume with Last-Event-ID). Recent events are kept in
+ * a ring buffer for that replay.
+ */
+@Component
+public class RoomStatusEventPublisher implements MeterBinder, DisposableBean {
+
+    public static final String EVENT_NAME = "room-status";
+    public static final String RESYNC_EVENT_NAME = "resync";
+
+    private final int bufferSize;
+    private final int replaySize;
+    private final long timeoutMillis;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final ArrayDeque<RoomStatusEventDTO> replay = new ArrayDeque<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong droppedSubscribers = new AtomicLong();
+
+    public RoomStatusEventPublisher(
+            @Value("${room.events.buffer-size:256}") int bufferSize,
+            @Value("${room.events.replay-size:1024}") int replaySize,
+            @Value("${room.events.timeout:30m}") Duration timeout) {
+        this.bufferSize = bufferSize;
+        this.replaySize = replaySize;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    // One connected client: its emitter, bounded outbound queue and a flag so only one drain runs at a time
+    private final class Subscriber {
+        private final SseEmitter emitter = new SseEmitter(timeoutMillis);
+        private final BlockingQueue<RoomStatusEventDTO> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private void drain() {
+            try {
+                RoomStatusEventDTO event;
+                while ((event = queue.poll()) != null) {
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(event.getId()))
+                            .name(EVENT_NAME)
+                            .data(event, MediaType.APPLICATION_JSON));
+                }
+            } catch (IOException | IllegalStateException e) {
+                // client went away
+                disconnect(this);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // an event may have arrived between the last poll and clearing the flag
+            if (!queue.isEmpty()) schedule(this);
+        }
+    }
+
+    /**
+     * Register a new subscriber, replaying buffered events newer than lastEventId.
+     * If lastEventId is older than the replay buffer a "resync" event is sent first
+     * so the client knows to reload its full state.
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        Subscriber subscriber = new Subscriber();
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(() -> disconnect(subscriber));
+        subscriber.emitter.onError(e -> disconnect(subscriber));
+
+        synchronized (replay) {
+            if (lastEventId != null) {
+                RoomStatusEventDTO oldest = replay.peekFirst();
+                long oldestId = oldest != null ? oldest.getId() : sequence.get() + 1;
+                // ids from before a restart, or older than the buffer, cannot be resumed exactly
+                if (lastEventId < oldestId - 1 || lastEventId > sequence.get()) {
+                    sendResync(subscriber);
+                }
+                for (RoomStatusEventDTO event : replay) {
+                    if (event.getId() > lastEventId && !subscriber.queue.offer(event)) {
+                        // more missed events than the client buffer holds, ask for a full reload instead
+                        subscriber.queue.clear();
+                        sendResync(subscriber);
+                        break;
+                    }
+                }
+            }
+            // registered under the replay lock so no event is both replayed and missed
+            subscribers.add(subscriber);
+        }
+        schedule(subscriber);
+        return subscriber.emitter;
+    }
+
+    // Publish committed status changes to every subscriber without blocking the caller
+    public void publish(List<RoomStatusEventDTO> events) {
+        if (events.isEmpty()) return;
+        // offers never block, so fanning out under the replay lock is cheap and keeps
+        // a concurrently subscribing client from receiving an event twice
+        synchronized (replay) {
+            for (RoomStatusEventDTO event : events) {
+                event.setId(sequence.incrementAndGet());
+                replay.addLast(event);
+                if (replay.size() > replaySize) replay.removeFirst();
+            }
+            for (Subscriber subscriber : subscribers) {
+                for (RoomStatusEventDTO event : events) {
+                    if (!subscriber.queue.offer(event)) {
+                        // slow consumer: drop it rather than block or buffer without limit
+                        droppedSubscribers.incrementAndGet();
+                        disconnect(subscriber);
+                        break;
+                    }
+                }
+            }
+        }
+        subscribers.forEach(this::schedule);
+    }
+
+    public void publish(RoomStatusEventDTO event) {
+        publish(List.of(event));
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscribers.contains(subscriber) && subscriber.draining.compareAndSet(false, true)) {
+            sender.execute(subscriber::drain);
+        }
+    }
+
+    private void sendResync(Subscriber subscriber) {
+        try {
+            subscriber.emitter.send(SseEmitter.event().name(RESYNC_EVENT_NAME).data("resync"));
+        } catch (IOException e) {
+            disconnect(subscriber);
+        }
+    }
+
+    private void disconnect(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriber.queue.clear();
+            subscriber.emitter.complete();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("rooms.events.subscribers", subscribers, Set::size)
+                .description("Connected room status event subscribers")
+                .register(registry);
+        FunctionCounter.builder("rooms.events.dropped.subscribers", droppedSubscribers, AtomicLong::get)
+                .description("Subscribers disconnected because their event buffer was full")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        subscribers.forEach(this::disconnect);
+        sender.shutdownNow();
+    }
+}
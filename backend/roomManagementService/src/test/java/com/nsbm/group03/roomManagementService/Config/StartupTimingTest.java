@@ -0,0 +1,105 @@
+package com.nsbm.group03.roomManagementService.Config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.nsbm.group03.roomManagementService.RoomManagementServiceApplication;
+import com.nsbm.group03.roomManagementService.Repository.RoomRepository;
+import com.nsbm.group03.roomManagementService.Repository.RoomStatusHistoryRepository;
+
+/**
+ * Starts the whole service on an in-memory database and measures the time from
+ * launch to the first answered request, with batched and with legacy seeding.
+ * Every run checks batched startup against a generous bound (-Dstartup.max-ms,
+ * default 20 s); the legacy comparison is opt-in:
+ * mvn test -Dtest=StartupTimingTest -Dbenchmark=true
+ */
+class StartupTimingTest {
+
+    private static final HttpClient http = HttpClient.newHttpClient();
+    private static final long MAX_STARTUP_MS = Long.getLong("startup.max-ms", 20_000);
+
+    @Test
+    void batchedSeedingServesRequestsBeforeHistoryIsReady() throws Exception {
+        long started = System.nanoTime();
+        try (ConfigurableApplicationContext context = start("batched", "seed-functional")) {
+            HttpResponse<String> response = get(context, "/api/rooms/count");
+            long millis = (System.nanoTime() - started) / 1_000_000;
+            assertTrue(millis < MAX_STARTUP_MS, "first request answered after " + millis + " ms");
+            assertEquals(200, response.statusCode());
+            assertTrue(response.body().contains("\"totalRooms\":30"), response.body());
+
+            ApplicationAvailability availability = context.getBean(ApplicationAvailability.class);
+            long deadline = System.currentTimeMillis() + 30_000;
+            while (availability.getState(SeedingState.class) != SeedingState.COMPLETE
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertEquals(SeedingState.COMPLETE, availability.getState(SeedingState.class));
+            assertTrue(context.getBean(RoomStatusHistoryRepository.class).count() > 0);
+        }
+    }
+
+    @Test
+    void seedingCanBeTurnedOff() throws Exception {
+        try (ConfigurableApplicationContext context = start("batched", "seed-off", "--room.seed.enabled=false")) {
+            assertEquals(0, context.getBean(RoomRepository.class).count());
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkTimeToFirstRequest() throws Exception {
+        // warm the JVM so the first run is not charged for class loading
+        timeToFirstRequest("batched", "seed-warmup");
+        long legacy = timeToFirstRequest("legacy", "seed-legacy");
+        long batched = timeToFirstRequest("batched", "seed-batched");
+        System.out.printf("[benchmark] time to first request: legacy %d ms, batched %d ms (%.1fx)%n",
+                legacy, batched, (double) legacy / Math.max(1, batched));
+        // batched seeding leaves history generation off the startup path, so it must not be slower
+        assertTrue(batched <= legacy, "batched " + batched + " ms, legacy " + legacy + " ms");
+    }
+
+    private static long timeToFirstRequest(String mode, String database) throws Exception {
+        long started = System.nanoTime();
+        try (ConfigurableApplicationContext context = start(mode, database)) {
+            assertEquals(200, get(context, "/api/rooms/count").statusCode());
+            return (System.nanoTime() - started) / 1_000_000;
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String mode, String database, String... extra) {
+        String[] args = {
+                "--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--spring.devtools.restart.enabled=false",
+                "--server.port=0",
+                "--room.history.archive.dir=target/test-history-archive",
+                "--room.seed.mode=" + mode };
+        String[] all = new String[args.length + extra.length];
+        System.arraycopy(args, 0, all, 0, args.length);
+        System.arraycopy(extra, 0, all, args.length, extra.length);
+        return new SpringApplicationBuilder(RoomManagementServiceApplication.class).run(all);
+    }
+
+    private static HttpResponse<String> get(ConfigurableApplicationContext context, String path) throws Exception {
+        String port = context.getEnvironment().getProperty("local.server.port");
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,90 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.nsbm.group03.roomManagementService.Entity.Room;
+import com.nsbm.group03.roomManagementService.Entity.RoomStatusHistory;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+import com.nsbm.group03.roomManagementService.Repository.RoomRepository;
+import com.nsbm.group03.roomManagementService.Repository.RoomStatusHistoryRepository;
+
+/**
+ * Seeds 1,000 rooms x 30 days of history with the old per-row probe-and-save loop
+ * and with the bulk generator, and prints both timings.
+ * Opt-in: mvn test -Dtest=HistoryGenerationBenchmarkTest -Dbenchmark=true
+ */
+@RoomServiceJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class HistoryGenerationBenchmarkTest {
+
+    private static final int ROOMS = 1000;
+    private static final int DAYS = 30;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomStatusHistoryRepository statusHistoryRepository;
+
+    @AfterEach
+    void tearDown() {
+        statusHistoryRepository.deleteAllInBatch();
+        roomRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void benchmarkSeedingHistory() {
+        List<Room> legacyRooms = roomRepository.saveAll(buildRooms("L"));
+        long legacyStart = System.nanoTime();
+        for (Room room : legacyRooms) {
+            legacyGenerateHistoryForRoom(room, DAYS);
+        }
+        long legacyMillis = (System.nanoTime() - legacyStart) / 1_000_000;
+
+        List<Room> bulkRooms = roomRepository.saveAll(buildRooms("B"));
+        long bulkStart = System.nanoTime();
+        int written = roomService.generateHistoryForRooms(bulkRooms, DAYS);
+        long bulkMillis = (System.nanoTime() - bulkStart) / 1_000_000;
+
+        assertEquals(ROOMS * DAYS, written);
+        assertEquals(2L * ROOMS * DAYS, statusHistoryRepository.count());
+
+        System.out.printf("[benchmark] seeding %d rooms x %d days: per-row %d ms, bulk %d ms (%.1fx)%n",
+                ROOMS, DAYS, legacyMillis, bulkMillis, (double) legacyMillis / Math.max(1, bulkMillis));
+    }
+
+    // The pre-bulk algorithm: one existence probe and one single-row save per room per day
+    private void legacyGenerateHistoryForRoom(Room room, int daysAhead) {
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < daysAhead; i++) {
+            LocalDate date = today.plusDays(i);
+            if (!statusHistoryRepository.findByRoomAndDate(room, date).isEmpty()) continue;
+            statusHistoryRepository.save(new RoomStatusHistory(null, room, date, RoomStatus.AVAILABLE, "SYSTEM", LocalDateTime.now()));
+        }
+    }
+
+    private List<Room> buildRooms(String prefix) {
+        List<Room> rooms = new ArrayList<>(ROOMS);
+        for (int i = 0; i < ROOMS; i++) {
+            rooms.add(new Room(null, prefix + i, RoomType.values()[i % RoomType.values().length], 5000.0, 1, RoomStatus.AVAILABLE));
+        }
+        return rooms;
+    }
+}
@@ -0,0 +1,70 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.nsbm.group03.roomManagementService.Dto.OccupancyDTO;
+import com.nsbm.group03.roomManagementService.Entity.Room;
+import com.nsbm.group03.roomManagementService.Entity.RoomStatusHistory;
+import com.nsbm.group03.roomManagementService.Enum.OccupancyGranularity;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+import com.nsbm.group03.roomManagementService.Repository.RoomRepository;
+import com.nsbm.group03.roomManagementService.Repository.RoomStatusHistoryRepository;
+
+import jakarta.persistence.EntityManager;
+
+@RoomServiceJpaTest
+class OccupancyRollupServiceTest {
+
+    @Autowired
+    private OccupancyRollupService occupancyRollups;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomStatusHistoryRepository statusHistoryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void testRebuild_CountsRoomOncePerDateWhenLatestEntriesTie() {
+        Room deluxe = addRoom("R1", RoomType.DELUXE);
+        addHistory(deluxe, RoomStatus.AVAILABLE, LocalDateTime.now());
+        LocalDateTime tied = LocalDateTime.now().plusMinutes(5);
+        addHistory(deluxe, RoomStatus.OCCUPIED, tied);
+        addHistory(deluxe, RoomStatus.MAINTENANCE, tied);
+        entityManager.flush();
+        entityManager.clear();
+
+        occupancyRollups.rebuild();
+
+        OccupancyDTO day = occupancyRollups.getOccupancy(LocalDate.now(), LocalDate.now(), OccupancyGranularity.DAY).stream()
+                .filter(o -> o.getRoomType() == RoomType.DELUXE)
+                .findFirst().orElseThrow();
+        // the row written last wins the tie
+        assertEquals(1, day.getMaintenanceRoomNights());
+        assertEquals(0, day.getAvailableRoomNights() + day.getOccupiedRoomNights());
+    }
+
+    private Room addRoom(String roomNumber, RoomType type) {
+        Room room = new Room();
+        room.setRoomNumber(roomNumber);
+        room.setRoomType(type);
+        room.setPricePerNight(5000.0);
+        room.setCapacity(1);
+        room.setStatus(RoomStatus.AVAILABLE);
+        return roomRepository.save(room);
+    }
+
+    private void addHistory(Room room, RoomStatus status, LocalDateTime changedAt) {
+        statusHistoryRepository.save(new RoomStatusHistory(null, room, LocalDate.now(), status, "TEST", changedAt));
+    }
+}
@@ -0,0 +1,34 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.annotation.AliasFor;
+import org.springframework.test.context.TestPropertySource;
+
+import com.nsbm.group03.roomManagementService.Repository.RoomOccupancyDailyBatchRepository;
+import com.nsbm.group03.roomManagementService.Repository.RoomStatusHistoryBatchRepository;
+
+/**
+ * JPA slice with RoomService and the beans it is wired to, for tests that drive the
+ * service against the in-memory database. Add a collaborator here once, not per test.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@DataJpaTest
+@TestPropertySource(properties = "room.history.archive.dir=target/test-history-archive")
+@Import({RoomService.class, RoomAvailabilityIndex.class, RoomStatusCounters.class, RoomCache.class,
+        RoomStatusEventPublisher.class, RoomStatusHistoryBatchRepository.class, HistoryArchive.class,
+        OccupancyRollupService.class, RoomOccupancyDailyBatchRepository.class})
+@interface RoomServiceJpaTest {
+
+    // Extra properties, passed on to @DataJpaTest
+    @AliasFor(annotation = DataJpaTest.class, attribute = "properties")
+    String[] properties() default {};
+}
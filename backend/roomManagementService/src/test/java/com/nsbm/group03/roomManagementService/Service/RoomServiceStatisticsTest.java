@@ -0,0 +1,155 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.nsbm.group03.roomManagementService.Dto.BulkStatusUpdateItemDTO;
+import com.nsbm.group03.roomManagementService.Dto.StatisticsByTypeDTO;
+import com.nsbm.group03.roomManagementService.Entity.Room;
+import com.nsbm.group03.roomManagementService.Entity.RoomStatusHistory;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+import com.nsbm.group03.roomManagementService.Repository.RoomRepository;
+import com.nsbm.group03.roomManagementService.Repository.RoomStatusHistoryRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+@RoomServiceJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class RoomServiceStatisticsTest {
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomStatusHistoryRepository statusHistoryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private int roomCounter;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void testStatisticsByType_CountsLatestStatusPerRoom() {
+        Room single = addRoom(RoomType.SINGLE, RoomStatus.AVAILABLE);
+        addHistory(single, RoomStatus.OCCUPIED, LocalDateTime.now().plusMinutes(1));
+        addRoom(RoomType.DOUBLE, RoomStatus.MAINTENANCE);
+        addRoom(RoomType.DOUBLE, RoomStatus.AVAILABLE);
+        entityManager.flush();
+        entityManager.clear();
+
+        StatisticsByTypeDTO result = roomService.getStatisticsByType();
+
+        StatisticsByTypeDTO.TypeStatistics singles = result.getStatisticsByType().get("SINGLE");
+        StatisticsByTypeDTO.TypeStatistics doubles = result.getStatisticsByType().get("DOUBLE");
+        assertEquals(1, singles.getTotal());
+        assertEquals(1, singles.getOccupied());
+        assertEquals(0, singles.getAvailable());
+        assertEquals(2, doubles.getTotal());
+        assertEquals(1, doubles.getAvailable());
+        assertEquals(1, doubles.getMaintenance());
+        assertEquals(0, result.getStatisticsByType().get("DELUXE").getTotal());
+        assertEquals(3, result.getTotalRooms());
+    }
+
+    @Test
+    void testStatisticsByType_CountsRoomOnceWhenLatestEntriesTie() {
+        // generated history writes several rows with the same changedAt
+        Room deluxe = addRoom(RoomType.DELUXE, RoomStatus.AVAILABLE);
+        LocalDateTime tied = LocalDateTime.now().plusMinutes(5);
+        addHistory(deluxe, RoomStatus.OCCUPIED, tied);
+        addHistory(deluxe, RoomStatus.MAINTENANCE, tied);
+        addHistory(deluxe, RoomStatus.AVAILABLE, tied);
+        entityManager.flush();
+        entityManager.clear();
+
+        StatisticsByTypeDTO.TypeStatistics deluxes = roomService.getStatisticsByType().getStatisticsByType().get("DELUXE");
+
+        assertEquals(1, deluxes.getTotal());
+        // the row written last wins the tie
+        assertEquals(1, deluxes.getAvailable());
+        assertEquals(0, deluxes.getOccupied() + deluxes.getMaintenance());
+    }
+
+    @Test
+    void testBulkUpdate_RepeatedRoomDateEndsOnLastEntryEverywhere() {
+        Room deluxe = addRoom(RoomType.DELUXE, RoomStatus.AVAILABLE);
+        entityManager.flush();
+
+        roomService.bulkUpdateRoomStatus(List.of(
+                new BulkStatusUpdateItemDTO(deluxe.getRoomNumber(), RoomStatus.OCCUPIED, null, "TEST"),
+                new BulkStatusUpdateItemDTO(deluxe.getRoomNumber(), RoomStatus.MAINTENANCE, null, "TEST")));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(RoomStatus.MAINTENANCE, roomRepository.findByRoomNumber(deluxe.getRoomNumber()).getStatus());
+        assertEquals(RoomStatus.MAINTENANCE, roomService.getLatestRoomStatus(deluxe.getRoomNumber()).getStatus());
+        StatisticsByTypeDTO.TypeStatistics deluxes = roomService.getStatisticsByType().getStatisticsByType().get("DELUXE");
+        assertEquals(1, deluxes.getMaintenance());
+    }
+
+    @Test
+    void testStatisticsByType_IssuesConstantNumberOfStatements() {
+        seedRooms(5);
+        long fewRooms = countStatements();
+
+        seedRooms(200);
+        long manyRooms = countStatements();
+
+        assertEquals(fewRooms, manyRooms);
+        assertEquals(3, manyRooms);
+    }
+
+    private long countStatements() {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        roomService.getStatisticsByType();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seedRooms(int count) {
+        RoomType[] types = RoomType.values();
+        RoomStatus[] statuses = RoomStatus.values();
+        for (int i = 0; i < count; i++) {
+            addRoom(types[i % types.length], statuses[i % statuses.length]);
+        }
+    }
+
+    private Room addRoom(RoomType type, RoomStatus status) {
+        Room room = new Room();
+        room.setRoomNumber("T" + (++roomCounter));
+        room.setRoomType(type);
+        room.setPricePerNight(5000.0);
+        room.setCapacity(1);
+        room.setStatus(status);
+        room = roomRepository.save(room);
+        addHistory(room, status, LocalDateTime.now());
+        return room;
+    }
+
+    private void addHistory(Room room, RoomStatus status, LocalDateTime changedAt) {
+        statusHistoryRepository.save(new RoomStatusHistory(null, room, LocalDate.now(), status, "TEST", changedAt));
+    }
+}
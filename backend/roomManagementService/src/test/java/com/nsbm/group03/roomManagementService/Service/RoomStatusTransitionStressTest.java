@@ -0,0 +1,140 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.nsbm.group03.roomManagementService.Entity.Room;
+import com.nsbm.group03.roomManagementService.Entity.RoomStatusHistory;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+import com.nsbm.group03.roomManagementService.Repository.RoomOccupancyDailyRepository;
+import com.nsbm.group03.roomManagementService.Repository.RoomRepository;
+import com.nsbm.group03.roomManagementService.Repository.RoomStatusHistoryRepository;
+
+/**
+ * Fires thousands of concurrent check-ins and check-outs at a handful of rooms and
+ * checks that every accepted transition left exactly one history row, that the
+ * accepted transitions alternate per room, and that the current status agrees.
+ */
+@RoomServiceJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RoomStatusTransitionStressTest {
+
+    private static final int ROOMS = 5;
+    private static final int THREADS = 8;
+    private static final int CALLS = 4000;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomStatusHistoryRepository statusHistoryRepository;
+
+    @Autowired
+    private RoomOccupancyDailyRepository occupancyRepository;
+
+    @Autowired
+    private RoomStatusCounters statusCounters;
+
+    @AfterEach
+    void tearDown() {
+        occupancyRepository.deleteAllInBatch();
+        statusHistoryRepository.deleteAllInBatch();
+        roomRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void concurrentCheckInsAndCheckOutsKeepHistoryConsistent() throws Exception {
+        long occupiedBefore = statusCounters.get(RoomType.DELUXE, RoomStatus.OCCUPIED);
+        List<String> roomNumbers = new ArrayList<>();
+        for (int i = 0; i < ROOMS; i++) {
+            Room room = new Room();
+            room.setRoomNumber("S" + i);
+            room.setRoomType(RoomType.DELUXE);
+            room.setPricePerNight(12000.0);
+            room.setCapacity(2);
+            roomNumbers.add(roomService.insertRoom(room).getRoomNumber());
+        }
+
+        ConcurrentHashMap<String, AtomicInteger> checkIns = new ConcurrentHashMap<>();
+        ConcurrentHashMap<String, AtomicInteger> checkOuts = new ConcurrentHashMap<>();
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < CALLS / THREADS; i++) {
+                    String roomNumber = roomNumbers.get(random.nextInt(ROOMS));
+                    try {
+                        if (random.nextBoolean()) {
+                            roomService.checkInRoom(roomNumber, "STRESS");
+                            checkIns.computeIfAbsent(roomNumber, k -> new AtomicInteger()).incrementAndGet();
+                        } else {
+                            roomService.checkOutRoom(roomNumber, "STRESS");
+                            checkOuts.computeIfAbsent(roomNumber, k -> new AtomicInteger()).incrementAndGet();
+                        }
+                    } catch (RoomStatusConflictException e) {
+                        conflicts.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+
+        long occupied = 0;
+        int accepted = 0;
+        for (String roomNumber : roomNumbers) {
+            Room room = roomRepository.findByRoomNumber(roomNumber);
+            int in = count(checkIns, roomNumber);
+            int out = count(checkOuts, roomNumber);
+            accepted += in + out;
+
+            // every room starts AVAILABLE, so accepted transitions must alternate
+            assertTrue(in - out == 0 || in - out == 1, roomNumber + ": " + in + " check-ins, " + out + " check-outs");
+            RoomStatus expected = in > out ? RoomStatus.OCCUPIED : RoomStatus.AVAILABLE;
+            assertEquals(expected, room.getStatus(), roomNumber);
+            if (expected == RoomStatus.OCCUPIED) occupied++;
+
+            List<RoomStatusHistory> history = statusHistoryRepository.findByRoomAndDate(room, LocalDate.now());
+            assertEquals(in, history.stream().filter(h -> h.getStatus() == RoomStatus.OCCUPIED).count(), roomNumber);
+            assertEquals(out, history.stream().filter(h -> h.getStatus() == RoomStatus.AVAILABLE).count(), roomNumber);
+            assertEquals(in + out, room.getVersion().intValue(), roomNumber);
+        }
+        assertEquals(CALLS, accepted + conflicts.get());
+        assertEquals(occupied, statusCounters.get(RoomType.DELUXE, RoomStatus.OCCUPIED) - occupiedBefore);
+    }
+
+    private static int count(ConcurrentHashMap<String, AtomicInteger> counts, String roomNumber) {
+        AtomicInteger c = counts.get(roomNumber);
+        return c == null ? 0 : c.get();
+    }
+}
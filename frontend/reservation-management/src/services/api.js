@@ -11,7 +11,7 @@ const roomApi = axios.create({
 // Reservation Service Endpoints
 export const saveGuest = (guestData) => reservationApi.post('/v1/guest/saveguest', guestData);
 export const saveReservation = (reservationData) => reservationApi.post('/reservations', reservationData);
-export const getAllReservations = () => reservationApi.get('/reservations');
+export const getAllReservations = () => reservationApi.get('/reservations?all=true');
 export const getReservationsByGuest = (guestId) => reservationApi.get(`/reservations/guest/${guestId}`);
 export const updateReservationStatus = (id, status) => reservationApi.patch(`/reservations/${id}/status?status=${status}`);
 export const deleteReservation = (id) => reservationApi.delete(`/reservations/${id}`);